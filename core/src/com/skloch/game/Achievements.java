@@ -0,0 +1,332 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Unlocks achievements when the player's stats meet their conditions, e.g. studying 5 days in a row.
+ * Achievements are defined in Text/achievements.json, and the ones unlocked are saved to achievements.json so
+ * they stay unlocked between games.
+ * <p></p>
+ * Every stat an achievement can use (energy, hours, and the streak and counts of each event) has an int index.
+ * When achievements are loaded, each condition is added to a dependency index from its stat to the achievements
+ * that use it, so a stat changing only re-checks the achievements that use that stat.
+ * <p></p>
+ * Most achievements unlock as soon as all their conditions are met. Achievements marked "keep" must have their
+ * conditions met for the whole game instead, they fail as soon as one isn't and unlock when the game ends.
+ */
+public class Achievements implements EventState.Listener {
+    public static String ACHIEVEMENTS_PATH = "Text/achievements.json";
+
+    // Stats that aren't about a single event
+    public static final int ENERGY = 0;
+    public static final int STUDY_HOURS = 1;
+    public static final int RECREATION_HOURS = 2;
+    public static final int SLEPT_HOURS = 3;
+    public static final int DAY = 4;
+    private static final String[] GAME_STATS = {"energy", "studyHours", "recreationHours", "sleptHours", "day"};
+    // Stats of each event, the index of an event's stat is GAME_STATS.length + id * EVENT_STATS.length + stat
+    private static final String[] EVENT_STATS = {"streak", "maxStreak", "total", "today"};
+
+    /**
+     * Told whenever an achievement is unlocked
+     */
+    public interface UnlockListener {
+        void unlocked(String title, String description);
+    }
+
+    private String FILENAME = "achievements.json";
+    private boolean isTest;
+
+    private final int[] values;
+    // The achievements that use each stat
+    private final int[][] dependents;
+
+    private final String[] names;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final boolean[] keep;
+    private final int[][] conditionStats;
+    private final int[][] conditionMins;
+    private final int[][] conditionMaxes;
+
+    private final boolean[] unlocked;
+    private final boolean[] failed;
+    private UnlockListener listener;
+
+    /**
+     * Loads the achievements from Text/achievements.json and which ones are unlocked from the save file
+     *
+     * @param eventTable The event definitions, conditions can use the stats of any event in it
+     */
+    public Achievements(EventTable eventTable) {
+        this(eventTable, Gdx.files.internal(ACHIEVEMENTS_PATH).readString(), false);
+    }
+
+    /**
+     * @param eventTable The event definitions, conditions can use the stats of any event in it
+     * @param json The achievements, in the same format as Text/achievements.json
+     * @param isTest true to use a separate save file that starts empty
+     */
+    public Achievements(EventTable eventTable, String json, boolean isTest) {
+        this.isTest = isTest;
+        int statCount = GAME_STATS.length + eventTable.size() * EVENT_STATS.length;
+        values = new int[statCount];
+
+        JsonValue achievements = new JsonReader().parse(json).get("achievements");
+        int size = achievements.size;
+        names = new String[size];
+        titles = new String[size];
+        descriptions = new String[size];
+        keep = new boolean[size];
+        conditionStats = new int[size][];
+        conditionMins = new int[size][];
+        conditionMaxes = new int[size][];
+        unlocked = new boolean[size];
+        failed = new boolean[size];
+
+        // Build up the dependency index as each condition is read
+        Array<IntArray> statDependents = new Array<>(statCount);
+        for (int i = 0; i < statCount; i++) {
+            statDependents.add(new IntArray());
+        }
+
+        int id = 0;
+        for (JsonValue achievement = achievements.child; achievement != null; achievement = achievement.next, id++) {
+            names[id] = achievement.getString("name");
+            titles[id] = achievement.getString("title", names[id]);
+            descriptions[id] = achievement.getString("description", "");
+            keep[id] = achievement.getBoolean("keep", false);
+
+            JsonValue conditions = achievement.get("conditions");
+            conditionStats[id] = new int[conditions.size];
+            conditionMins[id] = new int[conditions.size];
+            conditionMaxes[id] = new int[conditions.size];
+            int c = 0;
+            for (JsonValue condition = conditions.child; condition != null; condition = condition.next, c++) {
+                int stat = getStatIndex(eventTable, condition.getString("stat"), condition.getString("event", null));
+                if (stat == -1) {
+                    throw new RuntimeException("Achievement " + names[id] + " uses an unknown stat: " + condition);
+                }
+                conditionStats[id][c] = stat;
+                conditionMins[id][c] = condition.getInt("atLeast", Integer.MIN_VALUE);
+                conditionMaxes[id][c] = condition.getInt("atMost", Integer.MAX_VALUE);
+                if (!statDependents.get(stat).contains(id)) {
+                    statDependents.get(stat).add(id);
+                }
+            }
+        }
+
+        dependents = new int[statCount][];
+        for (int stat = 0; stat < statCount; stat++) {
+            dependents[stat] = statDependents.get(stat).toArray();
+        }
+
+        loadUnlocked();
+        startGame();
+    }
+
+    /**
+     * Works out the index of a stat
+     *
+     * @param eventTable The event definitions
+     * @param stat The name of the stat, e.g. "energy" or "maxStreak"
+     * @param event The name of the event for an event stat, null for other stats
+     * @return The index of the stat, or -1 if there is no such stat
+     */
+    private static int getStatIndex(EventTable eventTable, String stat, String event) {
+        if (event == null) {
+            for (int i = 0; i < GAME_STATS.length; i++) {
+                if (GAME_STATS[i].equals(stat)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int eventId = eventTable.getId(event);
+        for (int i = 0; i < EVENT_STATS.length && eventId != -1; i++) {
+            if (EVENT_STATS[i].equals(stat)) {
+                return getEventStatIndex(eventId, i);
+            }
+        }
+        return -1;
+    }
+
+    private static int getEventStatIndex(int eventId, int stat) {
+        return GAME_STATS.length + eventId * EVENT_STATS.length + stat;
+    }
+
+    /**
+     * Resets the stats for a new game. Achievements already unlocked stay unlocked.
+     */
+    public void startGame() {
+        Arrays.fill(values, 0);
+        Arrays.fill(failed, false);
+        values[ENERGY] = 100;
+        values[DAY] = 1;
+        // Check achievements that are met by the starting stats, or are already failed by them
+        for (int id = 0; id < names.length; id++) {
+            check(id);
+        }
+    }
+
+    /**
+     * Updates a stat and re-checks only the achievements that use it
+     *
+     * @param stat One of ENERGY, STUDY_HOURS, RECREATION_HOURS, SLEPT_HOURS or DAY
+     * @param value The new value of the stat
+     */
+    public void setStat(int stat, int value) {
+        if (values[stat] == value) {
+            return;
+        }
+        values[stat] = value;
+        int[] toCheck = dependents[stat];
+        for (int i = 0; i < toCheck.length; i++) {
+            check(toCheck[i]);
+        }
+    }
+
+    /**
+     * Called by EventState when the player does an event or a new day changes its counts, updates that event's stats
+     */
+    @Override
+    public void changed(EventState state, int eventId) {
+        setStat(getEventStatIndex(eventId, 0), state.getStreak(eventId));
+        setStat(getEventStatIndex(eventId, 1), state.getMaxStreak(eventId));
+        setStat(getEventStatIndex(eventId, 2), state.getTimesPerformedTotal(eventId));
+        setStat(getEventStatIndex(eventId, 3), state.getTimesPerformedToday(eventId));
+    }
+
+    /**
+     * Ends the game, unlocking any "keep" achievements whose conditions were met the whole time
+     */
+    public void finishGame() {
+        for (int id = 0; id < names.length; id++) {
+            if (keep[id] && !failed[id] && !unlocked[id]) {
+                unlock(id);
+            }
+        }
+    }
+
+    private void check(int id) {
+        if (unlocked[id] || failed[id]) {
+            return;
+        }
+        boolean met = true;
+        int[] stats = conditionStats[id];
+        for (int c = 0; c < stats.length; c++) {
+            int value = values[stats[c]];
+            if (value < conditionMins[id][c] || value > conditionMaxes[id][c]) {
+                met = false;
+                break;
+            }
+        }
+
+        if (keep[id]) {
+            if (!met) {
+                failed[id] = true;
+            }
+        } else if (met) {
+            unlock(id);
+        }
+    }
+
+    private void unlock(int id) {
+        unlocked[id] = true;
+        saveUnlocked();
+        if (listener != null) {
+            listener.unlocked(titles[id], descriptions[id]);
+        }
+    }
+
+    /**
+     * @param listener Told whenever an achievement is unlocked, or null
+     */
+    public void setUnlockListener(UnlockListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return The number of achievements
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public String getTitle(int id) {
+        return titles[id];
+    }
+
+    public String getDescription(int id) {
+        return descriptions[id];
+    }
+
+    public boolean isUnlocked(int id) {
+        return unlocked[id];
+    }
+
+    /**
+     * @return The id of an achievement, or -1 if there isn't one with that name
+     */
+    public int getId(String name) {
+        for (int id = 0; id < names.length; id++) {
+            if (names[id].equals(name)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The number of achievements each stat change re-checks, indexed by stat
+     */
+    public int getDependentCount(int stat) {
+        return dependents[stat].length;
+    }
+
+    // Loads the names of unlocked achievements from the save file
+    private void loadUnlocked() {
+        if (isTest) {
+            FILENAME = "achievements_test.json";
+        }
+        FileHandle file = Gdx.files.local(FILENAME);
+        if (!file.exists() || isTest) {
+            // If we are running the tests, we want to start with nothing unlocked each time
+            saveUnlocked();
+            return;
+        }
+
+        HashSet<String> saved = new HashSet<>();
+        JsonValue jsonData = new JsonReader().parse(file.readString()).get("unlocked");
+        for (JsonValue name = jsonData.child; name != null; name = name.next) {
+            saved.add(name.asString());
+        }
+        for (int id = 0; id < names.length; id++) {
+            unlocked[id] = saved.contains(names[id]);
+        }
+    }
+
+    // Saves the names of unlocked achievements to the save file
+    private void saveUnlocked() {
+        JsonValue jsonData = new JsonValue(JsonValue.ValueType.object);
+        JsonValue unlockedNames = new JsonValue(JsonValue.ValueType.array);
+        for (int id = 0; id < names.length; id++) {
+            if (unlocked[id]) {
+                unlockedNames.addChild(new JsonValue(names[id]));
+            }
+        }
+        jsonData.addChild("unlocked", unlockedNames);
+
+        FileHandle file = Gdx.files.local(FILENAME);
+        file.writeString(jsonData.toJson(JsonWriter.OutputType.json), false);
+    }
+}
@@ -0,0 +1,50 @@
+package com.skloch.game;
+
+/**
+ * Published when the player finishes an activity from the event table, e.g. studying or eating, or when an
+ * event's script changes the player's stats. energyLost is negative if energy was restored.
+ */
+public class ActivityCompletedEvent extends GameEvent {
+    public String name;
+    public int hours;
+    public int energyLost;
+    public int studyHours;
+    public int recreationHours;
+
+    /**
+     * Fills in the event for an activity done for a number of hours, using its rules from the event table
+     *
+     * @param table The event definitions
+     * @param id The id of the activity
+     * @param hours The hours spent on it
+     */
+    public void set(EventTable table, int id, int hours) {
+        name = table.getName(id);
+        this.hours = hours;
+        energyLost = hours * table.getEnergyCost(id);
+        studyHours = hours * table.getStudyHours(id);
+        recreationHours = hours * table.getRecreationHours(id);
+    }
+
+    /**
+     * Changes the player's stats, used by both the game and BalanceSimulator.
+     * Time is passed last, so an activity that runs into the end of the game still counts towards the score.
+     *
+     * @param stats The player's stats
+     */
+    public void apply(PlayerStats stats) {
+        stats.decreaseEnergy(energyLost);
+        stats.addStudyHours(studyHours);
+        stats.addRecreationalHours(recreationHours);
+        stats.passTime(hours * 60);
+    }
+
+    @Override
+    public void reset() {
+        name = null;
+        hours = 0;
+        energyLost = 0;
+        studyHours = 0;
+        recreationHours = 0;
+    }
+}
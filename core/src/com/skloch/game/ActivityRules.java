@@ -0,0 +1,82 @@
+package com.skloch.game;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Decides what happens when the player tries to do an activity from the event table, without showing anything.
+ * <p></p>
+ * Used by both EventManager, which shows the matching dialogue, and BalanceSimulator, so the simulator always plays
+ * by the game's rules. Works only from the event table and the numbers passed in, so it doesn't need a GameScreen.
+ */
+public class ActivityRules {
+    // Results of decide() when the activity isn't done, any other result is the hours to spend on it
+    public static final int CLOSED = -1;
+    public static final int TOO_TIRED = -2;
+    public static final int ASK_HOURS = -3;
+    public static final int ASK_TOPIC = -4;
+    public static final int NOT_ENOUGH_ENERGY = -5;
+
+    private final EventTable table;
+
+    /**
+     * @param table The event definitions to follow
+     */
+    public ActivityRules(EventTable table) {
+        this.table = table;
+    }
+
+    /**
+     * @param id The id of an activity in the event table
+     * @param minutes The time of day in minutes
+     * @param energy The player's energy
+     * @return true if the activity is open and the player has the energy for at least an hour of it
+     */
+    public boolean canStart(int id, int minutes, int energy) {
+        return table.isOpen(id, minutes) && energy >= table.getEnergyCost(id);
+    }
+
+    /**
+     * Checks, in order, that the activity is open, that the player has the energy for an hour of it, that the
+     * player has picked how many hours and a topic if the activity asks for them, and that they have the energy
+     * for the hours they picked. If the hours aren't picked by the player, a random amount is rolled.
+     *
+     * @param id The id of an activity in the event table
+     * @param minutes The time of day in minutes
+     * @param energy The player's energy
+     * @param hours The hours the player chose to spend, or 0 if they haven't chosen
+     * @param topicChosen true if the player has picked a topic, or the activity has none
+     * @param random Returns a random number from 0 up to but not including its argument, e.g. Random::nextInt
+     * @return The hours to spend on the activity, or CLOSED, TOO_TIRED, ASK_HOURS, ASK_TOPIC or NOT_ENOUGH_ENERGY
+     */
+    public int decide(int id, int minutes, int energy, int hours, boolean topicChosen, IntUnaryOperator random) {
+        if (!table.isOpen(id, minutes)) {
+            return CLOSED;
+        }
+
+        int energyCost = table.getEnergyCost(id);
+        // If the player is too tired to do this for even an hour
+        if (energy < energyCost) {
+            return TOO_TIRED;
+        }
+
+        // If the player has not yet chosen how many hours, ask
+        if (hours == 0 && table.getOptionHours(id).length > 0) {
+            return ASK_HOURS;
+        }
+
+        // If the player has not yet chosen a topic, ask
+        if (!topicChosen && table.getTopics(id).length > 0) {
+            return ASK_TOPIC;
+        }
+
+        if (hours == 0) {
+            // RNG factor adds a slight difficulty (may consume too much energy to study)
+            int minHours = table.getMinHours(id);
+            return minHours + random.applyAsInt(table.getMaxHours(id) - minHours + 1);
+        } else if (table.getNotEnoughText(id) != null && energy < hours * energyCost) {
+            // If the player does not have enough energy for the selected hours
+            return NOT_ENOUGH_ENERGY;
+        }
+        return hours;
+    }
+}
@@ -0,0 +1,340 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import screens.GameScreen;
+import screens.MenuScreen;
+
+/**
+ * Loads every file the game needs through one AssetManager, so they can be loaded in the background while a
+ * loading screen is drawn instead of stalling the game when it starts or when a new game begins.
+ * <p></p>
+ * The manifest lists every asset whose path is declared as a constant. Those are queued when the game starts
+ * and stay loaded until the game closes. Anything else can still be acquired, and is loaded there and then.
+ * <p></p>
+ * Classes that use an asset acquire it and release it when they are done. Each acquire is counted, and an asset
+ * that isn't in the manifest is unloaded once its last user releases it.
+ * <p></p>
+ * Where each asset was acquired from is recorded too, so anything never released can be traced back to the code
+ * that took it. report() lists what is in use along with the textures loaded and roughly how much video memory
+ * they take up.
+ * <p></p>
+ * Textures that aren't loaded from a file, like a framebuffer's, can't go through the AssetManager. They are
+ * passed to track() when made and untrack() when disposed, so they are still counted and reported.
+ */
+public class Assets implements Disposable {
+    // How long each frame may spend finishing off loaded assets, in milliseconds
+    private static final int LOAD_MILLIS = 12;
+
+    private final AssetManager manager;
+    private final Array<AssetDescriptor<?>> manifest;
+    private final ObjectSet<String> resident = new ObjectSet<>();
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
+    private final ObjectMap<String, ObjectSet<String>> acquireSites = new ObjectMap<>();
+    private final Array<Texture> textures = new Array<>();
+    private final ObjectMap<Texture, String> trackedTextures = new ObjectMap<>();
+
+    /**
+     * Makes an asset manager with the skins wherever HustleGame.findSkinPath() and findSecondarySkinPath() say
+     */
+    public Assets() {
+        this(HustleGame.findSkinPath(), HustleGame.findSecondarySkinPath());
+    }
+
+    /**
+     * @param skinPath The path to load the primary skin from, see HustleGame.findSkinPath()
+     * @param secondarySkinPath The path to load the secondary skin from
+     */
+    public Assets(String skinPath, String secondarySkinPath) {
+        manager = new AssetManager(new InternalFileHandleResolver());
+        manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+        // Skins that have been cached by SkinCacheWriter are built without parsing JSON
+        manager.setLoader(Skin.class, SkinCache.SUFFIX, new SkinCacheLoader(new InternalFileHandleResolver()));
+        manifest = getManifest(skinPath, secondarySkinPath);
+    }
+
+    /**
+     * Lists every asset path declared as a constant, along with the type it is loaded as.
+     * The standalone UI images are only needed if UiAtlasPacker hasn't packed them into the UI atlas.
+     *
+     * @return Every asset the game loads when it starts
+     */
+    public static Array<AssetDescriptor<?>> getManifest() {
+        return getManifest(HustleGame.findSkinPath(), HustleGame.findSecondarySkinPath());
+    }
+
+    /**
+     * @param skinPath The path to load the primary skin from
+     * @param secondarySkinPath The path to load the secondary skin from
+     * @return Every asset the game loads when it starts, with the skins loaded from the given paths
+     */
+    public static Array<AssetDescriptor<?>> getManifest(String skinPath, String secondarySkinPath) {
+        Array<AssetDescriptor<?>> manifest = new Array<>();
+        // UI
+        boolean packed = Gdx.files.internal(HustleGame.PACKED_SKIN).exists();
+        manifest.add(new AssetDescriptor<>(skinPath, Skin.class));
+        manifest.add(new AssetDescriptor<>(secondarySkinPath, Skin.class));
+        if (!packed) {
+            manifest.add(new AssetDescriptor<>(HustleGame.WHITE_SQUARE_PATH, Texture.class));
+            manifest.add(new AssetDescriptor<>(GameScreen.BLACK_SQUARE_PATH, Texture.class));
+            manifest.add(new AssetDescriptor<>(GameScreen.ENERGY_BAR_PATH, Texture.class));
+            manifest.add(new AssetDescriptor<>(GameScreen.ENERGY_BAR_OUTLINE_PATH, Texture.class));
+            manifest.add(new AssetDescriptor<>(MenuScreen.TITLE_IMAGE_PATH, Texture.class));
+        }
+        // World
+        manifest.add(new AssetDescriptor<>(Player.SPRITE_ATLAS_PATH, TextureAtlas.class));
+        manifest.add(new AssetDescriptor<>(GameScreen.MAP_PATH, TiledMap.class));
+        // Sound
+        manifest.add(new AssetDescriptor<>(SoundManager.OVERWORLD_MUSIC_PATH, Music.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.MENU_MUSIC_PATH, Music.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.FOOTSTEP1_PATH, Sound.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.FOOTSTEP2_PATH, Sound.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.PAUSE_SOUND_PATH, Sound.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.DIALOGUE_OPEN_SOUND_PATH, Sound.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.DIALOGUE_OPTION_SOUND_PATH, Sound.class));
+        manifest.add(new AssetDescriptor<>(SoundManager.BUTTON_SOUND_PATH, Sound.class));
+        return manifest;
+    }
+
+    /**
+     * Queues everything in the manifest to be loaded, call update() each frame until it returns true
+     */
+    public void queueManifest() {
+        for (AssetDescriptor<?> asset : manifest) {
+            resident.add(asset.fileName);
+            manager.load(asset);
+        }
+    }
+
+    /**
+     * Does some of the loading, files are read on a background thread and only the work that needs the OpenGL
+     * thread, like uploading textures, is done here
+     *
+     * @return true once everything queued has loaded
+     */
+    public boolean update() {
+        return manager.update(LOAD_MILLIS);
+    }
+
+    /**
+     * @return How much of the queue has loaded, from 0 to 1
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Gets an asset for something to use, loading it now if it hasn't been loaded.
+     * Every acquire should be matched by a release.
+     *
+     * @param path The path of the asset
+     * @param type The class the asset is loaded as
+     * @return The loaded asset, shared with everything else that acquired it
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        if (!manager.isLoaded(path, type)) {
+            if (!manager.contains(path)) {
+                manager.load(path, type);
+            }
+            manager.finishLoadingAsset(path);
+        }
+        references.getAndIncrement(path, 0, 1);
+        ObjectSet<String> sites = acquireSites.get(path);
+        if (sites == null) {
+            sites = new ObjectSet<>();
+            acquireSites.put(path, sites);
+        }
+        sites.add(getCallSite());
+        return manager.get(path, type);
+    }
+
+    /**
+     * Says that something has finished with an asset. Once nothing is using an asset that isn't in the manifest,
+     * it is unloaded.
+     *
+     * @param path The path the asset was acquired with
+     */
+    public void release(String path) {
+        int count = references.get(path, 0);
+        if (count <= 0) {
+            System.out.println("WARNING: Released " + path + " more times than it was acquired");
+            return;
+        }
+        if (count == 1) {
+            references.remove(path, 0);
+            acquireSites.remove(path);
+            if (!resident.contains(path)) {
+                manager.unload(path);
+            }
+        } else {
+            references.put(path, count - 1);
+        }
+    }
+
+    /**
+     * Counts a texture that was made in code rather than loaded from a file, call untrack() when it is disposed
+     *
+     * @param texture The texture that was made
+     */
+    public void track(Texture texture) {
+        trackedTextures.put(texture, getCallSite());
+    }
+
+    /**
+     * Stops counting a texture passed to track(), call when it is disposed
+     *
+     * @param texture The texture being disposed
+     */
+    public void untrack(Texture texture) {
+        trackedTextures.remove(texture);
+    }
+
+    /**
+     * @param path The path of an asset
+     * @return The number of things that have acquired the asset and not released it
+     */
+    public int getReferenceCount(String path) {
+        return references.get(path, 0);
+    }
+
+    /**
+     * @param path The path of an asset
+     * @return true if the asset is loaded and ready to use
+     */
+    public boolean isLoaded(String path) {
+        return manager.isLoaded(path);
+    }
+
+    /**
+     * @return The paths of every asset that has been acquired and not released
+     */
+    public Array<String> getAcquiredPaths() {
+        Array<String> paths = new Array<>();
+        for (ObjectIntMap.Entry<String> entry : references) {
+            paths.add(entry.key);
+        }
+        paths.sort();
+        return paths;
+    }
+
+    /**
+     * @return The number of assets loaded, including the textures loaded for atlases, skins and maps
+     */
+    public int getLoadedCount() {
+        return manager.getLoadedAssets();
+    }
+
+    /**
+     * @return The number of textures loaded, along with the textures made in code that are being tracked
+     */
+    public int getTextureCount() {
+        return manager.getAll(Texture.class, textures).size + trackedTextures.size;
+    }
+
+    /**
+     * Estimates the video memory used by the loaded textures from their size and format, without mipmaps
+     *
+     * @return The estimated number of bytes
+     */
+    public long getTextureBytes() {
+        long bytes = 0;
+        for (Texture texture : manager.getAll(Texture.class, textures)) {
+            bytes += getBytes(texture);
+        }
+        for (Texture texture : trackedTextures.keys()) {
+            bytes += getBytes(texture);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return A list of every asset in use, how many times and where it was acquired, then the textures loaded
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (String path : getAcquiredPaths()) {
+            report.append(path).append(" x").append(references.get(path, 0))
+                    .append(", acquired at ").append(acquireSites.get(path).toString(", ")).append('\n');
+        }
+        report.append(getTextureCount()).append(" textures loaded using about ")
+                .append(getTextureBytes() / 1024).append(" KB of video memory");
+        return report.toString();
+    }
+
+    /**
+     * Prints a warning for every asset that is still acquired and every tracked texture that hasn't been disposed,
+     * call once everything should have been released
+     *
+     * @return The number of assets and tracked textures that were never released
+     */
+    public int reportLeaks() {
+        Array<String> paths = getAcquiredPaths();
+        for (String path : paths) {
+            System.out.println("WARNING: " + path + " was never released, acquired at "
+                    + acquireSites.get(path).toString(", "));
+        }
+        for (ObjectMap.Entry<Texture, String> entry : trackedTextures) {
+            System.out.println("WARNING: A " + entry.key.getWidth() + "x" + entry.key.getHeight()
+                    + " texture was never disposed, made at " + entry.value);
+        }
+        return paths.size + trackedTextures.size;
+    }
+
+    /**
+     * Unloads every asset, called when the game closes
+     */
+    @Override
+    public void dispose() {
+        manager.dispose();
+    }
+
+    private static long getBytes(Texture texture) {
+        return (long) texture.getWidth() * texture.getHeight() * getBytesPerPixel(texture);
+    }
+
+    private static int getBytesPerPixel(Texture texture) {
+        Pixmap.Format format = texture.getTextureData().getFormat();
+        if (format == null) {
+            return 4;
+        }
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    // The first method outside this class on the stack, which is whatever called acquire()
+    private static String getCallSite() {
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            String className = element.getClassName();
+            if (!className.equals(Assets.class.getName()) && !className.equals(Thread.class.getName())) {
+                return element.toString();
+            }
+        }
+        return "unknown";
+    }
+}
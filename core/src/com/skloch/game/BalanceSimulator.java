@@ -0,0 +1,536 @@
+package com.skloch.game;
+
+import screens.GameScreen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A command line tool for balancing the game. Plays through the game's seven days millions of times with no
+ * graphics, following a strategy, and reports the spread of scores each strategy gets.
+ * <p></p>
+ * Uses the same event definitions (Text/events.json), sleep rules and score formula as the real game, but skips
+ * the dialogue and the map. Whether an activity can be done and for how long is decided by the same ActivityRules
+ * as EventManager. Activities and sleep change a playthrough through the same ActivityCompletedEvent and
+ * SleptEvent code GameScreen uses, so stats change in the same order, and like GameScreen the score is worked out
+ * as soon as the time passes the end of the seventh day. Walking between buildings is counted as a set number of
+ * minutes per activity.
+ * <p></p>
+ * Playthroughs are split between threads with fork/join. Each task gets its own random stream split from its
+ * parent's, so the results only depend on the seed and not on how many threads were used.
+ * <p></p>
+ * Run with: gradlew core:simulate --args="--runs=1000000 --strategies=study,balanced"
+ * Options: --runs=N --threads=N --seed=N --walk-minutes=N --strategies=a,b,c --events=path
+ */
+public class BalanceSimulator {
+    public static final int SLEEP = -1;
+    public static final int DAYS = 7;
+    // Most hours a score could be worth, scores are 100 points per hour
+    private static final int MAX_HOURS = (DAYS + 1) * 24;
+    // Playthroughs a task runs itself rather than splitting further
+    private static final int TASK_SIZE = 4096;
+
+    /**
+     * Decides what a simulated player does next
+     */
+    public interface Strategy {
+        /**
+         * @param playthrough The current state of the game
+         * @param random The random stream for this playthrough
+         * @return The id of an activity in the event table, or SLEEP to go to bed
+         */
+        int chooseActivity(Playthrough playthrough, SplittableRandom random);
+
+        /**
+         * Picks how many hours to spend on an activity that offers a choice, by default the most the player
+         * can afford
+         *
+         * @param playthrough The current state of the game
+         * @param id The activity
+         * @param random The random stream for this playthrough
+         * @return One of the activity's options
+         */
+        default int chooseHours(Playthrough playthrough, int id, SplittableRandom random) {
+            int[] options = playthrough.table.getOptionHours(id);
+            int chosen = options[0];
+            for (int hours : options) {
+                if (hours > chosen && hours * playthrough.table.getEnergyCost(id) <= playthrough.energy) {
+                    chosen = hours;
+                }
+            }
+            return chosen;
+        }
+    }
+
+    /**
+     * The state of one simulated game, reused between playthroughs so simulating allocates nothing
+     */
+    public static class Playthrough implements PlayerStats {
+        private final EventTable table;
+        private final ActivityRules rules;
+        private final int walkMinutes;
+        private final ActivityCompletedEvent activity = new ActivityCompletedEvent();
+        private final SleptEvent slept = new SleptEvent();
+        private int day;
+        private int minuteOfDay;
+        private int energy;
+        private int studyHours;
+        private int recreationHours;
+        private int sleptHours;
+        // The score when the game ended, or -1 while it is still going
+        private int score;
+
+        /**
+         * @param table The event definitions to play with
+         * @param walkMinutes The game minutes spent walking to each activity
+         */
+        public Playthrough(EventTable table, int walkMinutes) {
+            this.table = table;
+            this.rules = new ActivityRules(table);
+            this.walkMinutes = walkMinutes;
+            reset();
+        }
+
+        /**
+         * Starts a new game, the same as a new GameScreen
+         */
+        public void reset() {
+            day = 1;
+            minuteOfDay = 8 * 60;
+            energy = 100;
+            studyHours = recreationHours = sleptHours = 0;
+            score = -1;
+        }
+
+        public EventTable getTable() {
+            return table;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public int getHour() {
+            return minuteOfDay / 60;
+        }
+
+        public int getEnergy() {
+            return energy;
+        }
+
+        public int getStudyHours() {
+            return studyHours;
+        }
+
+        public int getRecreationHours() {
+            return recreationHours;
+        }
+
+        public int getSleptHours() {
+            return sleptHours;
+        }
+
+        /**
+         * @return true once the seventh day is over
+         */
+        public boolean isOver() {
+            return score != -1;
+        }
+
+        /**
+         * @return The score the game ended with, or -1 if it hasn't ended
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * @return true if the activity will be open once the player has walked there, and the player has the
+         * energy for at least an hour of it
+         */
+        public boolean canDo(int id) {
+            return rules.canStart(id, (minuteOfDay + walkMinutes) % GameClock.MINUTES_PER_DAY, energy);
+        }
+
+        // The same rules as GameScreen, see PlayerStats
+
+        @Override
+        public void decreaseEnergy(int energy) {
+            this.energy = Math.min(100, Math.max(0, this.energy - energy));
+        }
+
+        @Override
+        public void setEnergy(int energy) {
+            this.energy = Math.min(100, energy);
+        }
+
+        @Override
+        public void addStudyHours(int hours) {
+            studyHours += hours;
+        }
+
+        @Override
+        public void addRecreationalHours(int hours) {
+            recreationHours += hours;
+        }
+
+        @Override
+        public void addSleptHours(int hours) {
+            sleptHours += hours;
+        }
+
+        @Override
+        public void passTime(float delta) {
+            minuteOfDay += (int) delta;
+            day += minuteOfDay / GameClock.MINUTES_PER_DAY;
+            minuteOfDay %= GameClock.MINUTES_PER_DAY;
+            // GameScreen.GameOver() works out the score the moment the day ticks over
+            if (day > DAYS && score == -1) {
+                score = GameScreen.calculateScore(studyHours, recreationHours, sleptHours);
+            }
+        }
+    }
+
+    /**
+     * How often each score came up for a strategy
+     */
+    public static class Results {
+        private final long[] hourCounts = new long[MAX_HOURS + 1];
+        private long runs;
+        private long totalHours;
+
+        private void add(int score) {
+            int hours = Math.min(MAX_HOURS, Math.max(0, score / 100));
+            hourCounts[hours]++;
+            totalHours += hours;
+            runs++;
+        }
+
+        private void merge(Results other) {
+            for (int i = 0; i < hourCounts.length; i++) {
+                hourCounts[i] += other.hourCounts[i];
+            }
+            runs += other.runs;
+            totalHours += other.totalHours;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public double getMeanScore() {
+            return runs == 0 ? 0 : totalHours * 100.0 / runs;
+        }
+
+        /**
+         * @param fraction Between 0 and 1, e.g. 0.5 for the median
+         * @return The lowest score that at least this fraction of playthroughs got or did worse than
+         */
+        public int getPercentile(double fraction) {
+            long needed = (long) Math.ceil(fraction * runs);
+            long seen = 0;
+            for (int hours = 0; hours < hourCounts.length; hours++) {
+                seen += hourCounts[hours];
+                if (seen >= Math.max(1, needed)) {
+                    return hours * 100;
+                }
+            }
+            return MAX_HOURS * 100;
+        }
+
+        public int getMaxScore() {
+            for (int hours = hourCounts.length - 1; hours >= 0; hours--) {
+                if (hourCounts[hours] > 0) {
+                    return hours * 100;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Checks for stochastic dominance: at every score, this strategy is at most as likely to score that or
+         * lower as the other strategy, and less likely somewhere. A dominated strategy is never worth playing.
+         *
+         * @param other The results of another strategy
+         * @return true if this strategy dominates the other
+         */
+        public boolean dominates(Results other) {
+            if (runs == 0 || other.runs == 0) {
+                return false;
+            }
+            long seen = 0;
+            long otherSeen = 0;
+            boolean better = false;
+            for (int hours = 0; hours < hourCounts.length; hours++) {
+                seen += hourCounts[hours];
+                otherSeen += other.hourCounts[hours];
+                // Compare seen / runs with otherSeen / other.runs without dividing
+                double difference = (double) seen * other.runs - (double) otherSeen * runs;
+                if (difference > 0) {
+                    return false;
+                } else if (difference < 0) {
+                    better = true;
+                }
+            }
+            return better;
+        }
+    }
+
+    private final EventTable table;
+    private final ActivityRules rules;
+    private final int walkMinutes;
+
+    /**
+     * @param table The event definitions to simulate
+     * @param walkMinutes The game minutes spent walking to each activity, at least 1 so a game always ends
+     */
+    public BalanceSimulator(EventTable table, int walkMinutes) {
+        this.table = table;
+        this.rules = new ActivityRules(table);
+        this.walkMinutes = Math.max(1, walkMinutes);
+    }
+
+    /**
+     * Plays one game from start to finish
+     *
+     * @param playthrough The state to play with, it is reset first
+     * @param strategy The strategy to follow
+     * @param random The random stream to use
+     * @return The score at the end of the game
+     */
+    public int play(Playthrough playthrough, Strategy strategy, SplittableRandom random) {
+        playthrough.reset();
+        while (!playthrough.isOver()) {
+            int id = strategy.chooseActivity(playthrough, random);
+            if (id == SLEEP) {
+                sleep(playthrough);
+            } else {
+                doActivity(playthrough, id, strategy, random);
+            }
+        }
+        return playthrough.score;
+    }
+
+    /**
+     * Walks to an activity and does it if the game's rules allow, using the same ActivityRules as
+     * EventManager.activityEvent. A simulated player picks a topic straight away, and is asked for hours by the
+     * strategy when the rules would ask the real player.
+     */
+    private void doActivity(Playthrough playthrough, int id, Strategy strategy, SplittableRandom random) {
+        playthrough.passTime(walkMinutes);
+        // Can't do anything once walking there has run into the end of the game
+        if (playthrough.isOver() || !table.isActivity(id)) {
+            return;
+        }
+
+        int hours = rules.decide(id, playthrough.minuteOfDay, playthrough.energy, 0, true, random::nextInt);
+        if (hours == ActivityRules.ASK_HOURS) {
+            hours = rules.decide(id, playthrough.minuteOfDay, playthrough.energy,
+                    strategy.chooseHours(playthrough, id, random), true, random::nextInt);
+        }
+        if (hours < 0) {
+            // Turned away, the walk was wasted
+            return;
+        }
+
+        playthrough.activity.set(table, id, hours);
+        playthrough.activity.apply(playthrough);
+    }
+
+    /**
+     * Goes to bed, SleptEvent works out the hours slept and energy recovered the same way as for
+     * EventManager.accomEvent
+     */
+    private void sleep(Playthrough playthrough) {
+        playthrough.slept.set(playthrough.minuteOfDay);
+        playthrough.slept.apply(playthrough);
+    }
+
+    /**
+     * Plays many games in parallel
+     *
+     * @param strategy The strategy to follow, must be safe to use from several threads at once
+     * @param runs The number of games to play
+     * @param seed The seed for the random streams
+     * @param pool The pool of threads to run on
+     * @return How often each score came up
+     */
+    public Results simulate(Strategy strategy, long runs, long seed, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(strategy, runs, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Plays a range of games, splitting the range in half until it is small enough to play on one thread
+     */
+    private class SimulationTask extends RecursiveTask<Results> {
+        private final Strategy strategy;
+        private final long runs;
+        private final SplittableRandom random;
+
+        SimulationTask(Strategy strategy, long runs, SplittableRandom random) {
+            this.strategy = strategy;
+            this.runs = runs;
+            this.random = random;
+        }
+
+        @Override
+        protected Results compute() {
+            if (runs <= TASK_SIZE) {
+                Results results = new Results();
+                Playthrough playthrough = new Playthrough(table, walkMinutes);
+                for (long i = 0; i < runs; i++) {
+                    results.add(play(playthrough, strategy, random));
+                }
+                return results;
+            }
+
+            // Split the random stream before forking so the results don't depend on which thread runs what
+            SimulationTask left = new SimulationTask(strategy, runs / 2, random.split());
+            SimulationTask right = new SimulationTask(strategy, runs - runs / 2, random);
+            left.fork();
+            Results results = right.compute();
+            results.merge(left.join());
+            return results;
+        }
+    }
+
+    /**
+     * Makes one of the built-in strategies
+     *
+     * @param name "sleep", "study", "balanced", "greedy" or "random"
+     * @param table The event definitions, used to look up activity ids
+     * @return The strategy
+     * @throws IllegalArgumentException If there is no strategy with that name
+     */
+    public static Strategy createStrategy(String name, EventTable table) {
+        int study = table.getId("comp_sci");
+        int chat = table.getId("chat");
+        switch (name) {
+            case "sleep":
+                // Never does anything but sleep
+                return (playthrough, random) -> SLEEP;
+            case "study":
+                // Studies whenever possible, sleeps otherwise
+                return (playthrough, random) -> playthrough.canDo(study) ? study : SLEEP;
+            case "balanced":
+                // Keeps study and recreation even, goes to bed at 10pm or when out of energy
+                return (playthrough, random) -> {
+                    int hour = playthrough.getHour();
+                    if (hour >= 22 || hour < 8) {
+                        return SLEEP;
+                    }
+                    int next = playthrough.getStudyHours() <= playthrough.getRecreationHours() ? study : chat;
+                    return playthrough.canDo(next) ? next : SLEEP;
+                };
+            case "greedy":
+                // Picks whatever gives the most hours for the least energy
+                return (playthrough, random) -> {
+                    int best = SLEEP;
+                    float bestValue = 0;
+                    for (int id = 0; id < table.size(); id++) {
+                        if (!table.isActivity(id) || !playthrough.canDo(id)) {
+                            continue;
+                        }
+                        float value = (table.getStudyHours(id) + table.getRecreationHours(id))
+                                / (float) Math.max(1, table.getEnergyCost(id));
+                        if (value > bestValue) {
+                            best = id;
+                            bestValue = value;
+                        }
+                    }
+                    return best;
+                };
+            case "random":
+                return new Strategy() {
+                    @Override
+                    public int chooseActivity(Playthrough playthrough, SplittableRandom random) {
+                        // Each activity and sleeping are equally likely
+                        int choice = random.nextInt(table.size() + 1) - 1;
+                        return choice >= 0 && table.isActivity(choice) ? choice : SLEEP;
+                    }
+
+                    @Override
+                    public int chooseHours(Playthrough playthrough, int id, SplittableRandom random) {
+                        int[] options = table.getOptionHours(id);
+                        return options[random.nextInt(options.length)];
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        long runs = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        int walkMinutes = 10;
+        String[] strategyNames = {"sleep", "study", "balanced", "greedy", "random"};
+        String eventsPath = EventTable.EVENTS_PATH;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--runs=")) {
+                runs = Long.parseLong(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else if (arg.startsWith("--walk-minutes=")) {
+                walkMinutes = Integer.parseInt(value);
+            } else if (arg.startsWith("--strategies=")) {
+                strategyNames = value.split(",");
+            } else if (arg.startsWith("--events=")) {
+                eventsPath = value;
+            } else {
+                System.out.println("WARNING: Unknown argument " + arg);
+            }
+        }
+
+        EventTable table = new EventTable(new String(Files.readAllBytes(Paths.get(eventsPath)), StandardCharsets.UTF_8));
+        BalanceSimulator simulator = new BalanceSimulator(table, walkMinutes);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        System.out.printf("Simulating %d playthroughs per strategy on %d threads (seed %d)%n", runs, threads, seed);
+        System.out.printf("%-10s %8s %7s %7s %7s %7s %12s%n", "Strategy", "Mean", "P10", "P50", "P90", "Max", "Runs/s");
+
+        Map<String, Results> allResults = new LinkedHashMap<>();
+        for (String name : strategyNames) {
+            Strategy strategy = createStrategy(name, table);
+            long start = System.nanoTime();
+            Results results = simulator.simulate(strategy, runs, seed, pool);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            allResults.put(name, results);
+
+            System.out.printf("%-10s %8.1f %7d %7d %7d %7d %12.0f%n", name, results.getMeanScore(),
+                    results.getPercentile(0.1), results.getPercentile(0.5), results.getPercentile(0.9),
+                    results.getMaxScore(), runs / seconds);
+        }
+        pool.shutdown();
+
+        // Report which strategies are never worth playing
+        for (Map.Entry<String, Results> entry : allResults.entrySet()) {
+            List<String> beaten = new ArrayList<>();
+            for (Map.Entry<String, Results> other : allResults.entrySet()) {
+                if (entry.getValue().dominates(other.getValue())) {
+                    beaten.add(other.getKey());
+                }
+            }
+            if (!beaten.isEmpty()) {
+                System.out.printf("%s dominates %s%n", entry.getKey(), String.join(", ", beaten));
+            }
+            if (beaten.size() == allResults.size() - 1 && allResults.size() > 1) {
+                System.out.printf("Dominant strategy: %s%n", entry.getKey());
+            }
+        }
+    }
+}
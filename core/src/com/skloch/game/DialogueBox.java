@@ -11,14 +11,13 @@ import com.badlogic.gdx.utils.Array;
  */
 public class DialogueBox {
     private final Window dialogueWindow;
-    private final Label textLabel;
+    private final TypewriterLabel textLabel;
     private final Skin skin;
-    private final int MAXCHARS;
+    private final LineBreaker lineBreaker;
     private final SelectBox selectBox;
     private Array<String> textLines;
     private int linePointer = 0;
-    private String eventKey = null;
-    private String eventParams = null;
+    private EventCommand onClose = null;
     private float textCounter = 0;
     private boolean scrollingText = false;
 
@@ -28,7 +27,6 @@ public class DialogueBox {
         // Define some key values
         int WIDTH = 800;
         int HEIGHT = 200;
-        MAXCHARS = 35;
         this.skin = skin;
 
         // Create the window for the dialogue box
@@ -39,9 +37,10 @@ public class DialogueBox {
         dialogueWindow.addActor(dialogueTable);
         dialogueTable.setFillParent(true);
 
-        textLabel = new Label("Are you sure you want to sleep at the Piazza? This will cost you 10 energy", skin, "dialogue");
+        textLabel = new TypewriterLabel("Are you sure you want to sleep at the Piazza? This will cost you 10 energy", skin, "dialogue");
         dialogueTable.add(textLabel).expand().width(WIDTH - 80).top().padTop(40);
         textLabel.setWrap(false);
+        lineBreaker = new LineBreaker(textLabel.getStyle().font.getData(), WIDTH - 80, 3);
 
 
         dialogueWindow.setWidth(WIDTH);
@@ -49,7 +48,7 @@ public class DialogueBox {
 
         // Create selection box to allow user to make choices when interacting with objects (class defined below)
         this.selectBox = new SelectBox();
-        selectBox.setOptions(new String[]{"Yes", "No"}, new String[]{"piazza", "close"}); //!TEMP
+        selectBox.setOptions(new String[]{"Yes", "No"}, new EventCommand[]{EventCommand.EXIT, EventCommand.EXIT}); //!TEMP
 
         setText("Are you sure you want to sleep at the Piazza? This will cost you 10 energy");
 
@@ -57,15 +56,21 @@ public class DialogueBox {
 
     /**
      * A class displaying a little selection box to the user when an input is needed in dialog
+     * <p></p>
+     * Each option is a row of a pointer label and a text label. Rows are kept and reused for later options,
+     * and the window is only resized when the number of options or the width of the longest one changes.
      */
     public class SelectBox {
         private final Window selectWindow;
         private final Table selectTable;
         private int choiceIndex = 0;
         private String[] options;
-        private String[] events;
-        private String[] eventParams;
+        private EventCommand[] commands;
         private final Array<Label> optionPointers = new Array<>();
+        private final Array<Label> optionLabels = new Array<>();
+        private int rowsShown = 0;
+        private float longestOptionWidth = 0;
+
         public SelectBox () {
             selectWindow = new Window("", skin);
             selectTable = new Table();
@@ -85,54 +90,67 @@ public class DialogueBox {
         /**
          * Sets the options visible to the player when asking for a choice.
          * Also sets which events to call from each option.
-         * Event strings are translated into events in EventManager
-         * @see EventManager
+         * Commands are compiled from event strings by EventManager
+         * @see EventManager#compile(String, String)
          *
          * @param options The options available to the player e.g. "Yes" and "No"
-         * @param events The events called to the option of the same index E.g. "piazza" and "closeDialogue"
+         * @param commands The commands run by the option of the same index E.g. a study command and EventCommand.EXIT
          */
-        public void setOptions (String[] options, String[] events, String[] eventParams) {
-            selectTable.clearChildren();
-
+        public void setOptions (String[] options, EventCommand[] commands) {
             this.options = options;
-            this.events = events;
-            this.eventParams = eventParams;
-            optionPointers.clear();
+            this.commands = commands;
 
-            for (String option : options) {
+            // Make more rows if there have never been this many options before
+            while (optionLabels.size < options.length) {
                 // Add each pointer to an array so it can be shown/hidden later without searching the table
                 Label pointer = new Label(">", skin, "dialogue");
-                optionPointers.add(pointer);
-                selectTable.add(pointer).padRight(10).padLeft(10);
                 pointer.setVisible(false);
+                optionPointers.add(pointer);
+                optionLabels.add(new Label("", skin, "dialogue"));
+            }
+
+            // Only the text of each row changes, labels with the same text as before aren't laid out again
+            float longestWidth = 0;
+            for (int i = 0; i < options.length; i++) {
+                Label label = optionLabels.get(i);
+                label.setText(options[i]);
+                longestWidth = Math.max(longestWidth, label.getPrefWidth());
+                optionPointers.get(i).setVisible(false);
+            }
 
-                selectTable.add(new Label(option, skin, "dialogue")).left().padRight(10);
-                selectTable.row();
+            if (options.length != rowsShown) {
+                // Put the right number of rows in the table, hidden rows would still take up space
+                selectTable.clearChildren();
+                for (int i = 0; i < options.length; i++) {
+                    selectTable.add(optionPointers.get(i)).padRight(10).padLeft(10);
+                    selectTable.add(optionLabels.get(i)).left().padRight(10);
+                    selectTable.row();
+                }
+                rowsShown = options.length;
+                resize();
+            } else if (longestWidth != longestOptionWidth) {
+                resize();
             }
+            longestOptionWidth = longestWidth;
 
+            // Show first pointer
+            setChoice(0);
+            show();
+        }
+
+        /**
+         * Fits the window around the options, and keeps it lined up with the top right of the dialogue box
+         */
+        private void resize() {
             selectTable.pack();
             selectWindow.setWidth(selectTable.getWidth()+70);
             selectWindow.setHeight(selectTable.getHeight()+70);
 
-            // selectWindow.add(selectTable);
-
             // Recenter
             selectWindow.setPosition(
                     dialogueWindow.getX() + dialogueWindow.getWidth() - selectWindow.getWidth(),
                     dialogueWindow.getY() + dialogueWindow.getHeight()-24
             );
-
-            // Show first pointer
-            setChoice(0);
-            show();
-        }
-
-        public void setOptions(String[] options, String[] events) {
-            String[] params = new String[events.length];
-            for (int i = 0; i < events.length; i++) {
-                params[i] = "";
-            }
-            setOptions(options, events, params);
         }
 
         /**
@@ -164,18 +182,13 @@ public class DialogueBox {
         }
 
         /**
-         * Returns the event string associated with the selected choice
+         * Returns the command associated with the selected choice
          * Call hide() afterwards to close the menu
          *
-         * @return An event string to be passed to EventManager
+         * @return A command to be run with the EventManager
          */
-
-        public String getChoice () {
-            return events[choiceIndex];
-        }
-
-        public String getParams() {
-            return eventParams[choiceIndex];
+        public EventCommand getChoice () {
+            return commands[choiceIndex];
         }
 
         /**
@@ -247,117 +260,64 @@ public class DialogueBox {
      */
     public void setText(String text) {
         initialiseLabelText(text);
-        scrollingText = true;
-        textCounter = 0;
-    }
-
-    public void setText(String text, String eventKey) {
-        initialiseLabelText(text);
-        this.eventKey = eventKey;
-        this.eventParams = "";
-        scrollingText = true;
-        textCounter = 0;
-
+        startPage();
     }
 
     /**
      * Sets the text to be displayed on the dialogue box, automatically wraps it correctly
      * Additionally, schedules an event to be called after the text is done displaying
      * @param text The text to display
-     * @param eventKey The event key to be triggered
+     * @param onClose The command to run when the dialogue box is closed
      */
-    public void setText(String text, String eventKey, String eventParams) {
+    public void setText(String text, EventCommand onClose) {
         initialiseLabelText(text);
-        this.eventKey = eventKey;
-        this.eventParams = eventParams;
-        scrollingText = true;
-        textCounter = 0;
-
+        this.onClose = onClose;
+        startPage();
     }
 
+    /**
+     * Reveals more of the current page of text, the page is already on the label so this only changes how much
+     * of it is drawn
+     * @param speed The number of characters to reveal
+     */
     public void scrollText(float speed) {
         if (scrollingText) {
             textCounter += speed;
-            if (Math.round(textCounter) >= textLines.get(linePointer).length()) {
+            textLabel.setVisibleGlyphs(Math.round(textCounter));
+            if (textLabel.isFullyVisible()) {
                 scrollingText = false;
-                textLabel.setText(textLines.get(linePointer));
+                textLabel.showAllGlyphs();
             }
-            textLabel.setText(textLines.get(linePointer).substring(0, Math.round(textCounter)));
         }
     }
 
     /**
-     * Formats the text to be displayed on a label widget. Adds a newline character every MAXCHARS num of characters
-     * accounts for any occurring linebreaks to take use of the size of the most space possible.
-     * Stores the formatted text in 3 chunks, which are then queued up to be pushed to the label whenever the user
-     * presses e.
+     * Puts a page of text on the label with none of it revealed yet
+     */
+    private void startPage() {
+        textLabel.setText(textLines.get(linePointer));
+        textLabel.setVisibleGlyphs(0);
+        textCounter = 0;
+        scrollingText = true;
+    }
+
+    /**
+     * @return true if text is still being revealed character by character
+     */
+    public boolean isScrollingText() {
+        return scrollingText;
+    }
+
+    /**
+     * Splits the text into pages of 3 lines that fit the width of the dialogue box, which are then queued up to be
+     * pushed to the label whenever the user presses e.
+     * Lines are broken using the width of each character in the dialogue font, and texts seen recently are
+     * reused rather than being split again.
      *
      * @param text The text to format and push to the label
      */
     public void initialiseLabelText(String text) {
-        // Add a newline every 36 chars
-        StringBuilder newString = new StringBuilder();
-        int lastSpace = 0;
-        int index = 0;
-        int totalIndex = 0;
-
-        // Add newline characters where the length of a section between two linebreaks is greater than MAXCHARS
-        for (char c : text.toCharArray()) {
-            // Account for any occurring linebreaks
-            if (c == '\n') {
-                index = 0;
-            }
-
-            if (index >= MAXCHARS) {
-                // If the current line is a space, just add a newline instead of a space
-                if (c == ' ') {
-                    newString.append("\n");
-                    totalIndex += 1;
-                    index = 0;
-                } else {
-                    // If not, Replace the last space with a linebreak and add the char
-                    // If the last linebreak is 0 or greater than MAXCHARS away, just add a break now
-                    if (lastSpace == 0 || (totalIndex - lastSpace) >= MAXCHARS) {
-                        newString.append("\n");
-                        index = 0;
-                    } else {
-                        newString = new StringBuilder(newString.substring(0, lastSpace) + "\n" + newString.substring(lastSpace + 1));
-                        newString.append(c);
-                        index = totalIndex - lastSpace;
-                        totalIndex += 1;
-                    }
-                }
-            } else {
-                newString.append(c);
-                if (c == ' ') {
-                    lastSpace = totalIndex;
-                }
-
-                index += 1;
-                totalIndex += 1;
-            }
-        }
-
-        // Split the newString into chunks with 3 linebreaks
-        textLines = new Array<>();
-        int numBreaks = 0;
-        StringBuilder subString = new StringBuilder();
-
-        for (String s: newString.toString().split("\n")) {
-            if (numBreaks == 2) {
-                subString.append(s);
-                textLines.add(subString.toString());
-                subString = new StringBuilder();
-                numBreaks = 0;
-            } else {
-                subString.append(s).append("\n");
-                numBreaks += 1;
-            }
-        }
-        if (!subString.toString().equals("")) {
-            textLines.add(subString.toString());
-        }
-
+        textLines = lineBreaker.getPages(text);
         textLabel.setText(textLines.get(0));
         linePointer = 0;
     }
@@ -384,7 +344,7 @@ public class DialogueBox {
     public void enter(EventManager eventManager) {
         if (selectBox.isVisible()) {
             selectBox.hide();
-            eventManager.event(selectBox.getChoice(), selectBox.getParams());
+            selectBox.getChoice().execute(eventManager);
         } else {
             advanceText(eventManager);
         }
@@ -397,7 +357,7 @@ public class DialogueBox {
         if (scrollingText) {
             scrollingText = false;
             textCounter = 0;
-            textLabel.setText(textLines.get(linePointer));
+            textLabel.showAllGlyphs();
 
         } else {
             linePointer += 1;
@@ -405,14 +365,13 @@ public class DialogueBox {
                 hide();
                 scrollingText = false;
                 textCounter = 0;
-                if (eventKey != null) {
-                    eventManager.event(eventKey, eventParams);
-                    eventKey = null;
+                if (onClose != null) {
+                    EventCommand command = onClose;
+                    onClose = null;
+                    command.execute(eventManager);
                 }
             } else {
-                textCounter = 0;
-                scrollingText = true;
-//            textLabel.setText(textLines.get(linePointer));
+                startPage();
             }
         }
     }
@@ -0,0 +1,22 @@
+package com.skloch.game;
+
+/**
+ * An event with its parameters already parsed.
+ * Commands are compiled once from an object's "event" and "params" strings when a map is loaded, so that
+ * interacting with the object is a single method call with no string splitting or switch statements.
+ *
+ * @see EventManager#compile(String, String)
+ */
+public interface EventCommand {
+    /**
+     * Closes the dialogue box without doing anything else
+     */
+    EventCommand EXIT = EventManager::exitEvent;
+
+    /**
+     * Runs the event
+     *
+     * @param eventManager The EventManager of the current game
+     */
+    void execute(EventManager eventManager);
+}
@@ -2,131 +2,256 @@ package com.skloch.game;
 
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.actions.RunnableAction;
-import com.badlogic.gdx.utils.Array;
 import screens.GameScreen;
 
-import java.util.HashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
 /**
  * A class that maps Object's event strings to actual Java functions.
+ * The costs, texts and rules of events are defined in Text/events.json and loaded into an EventTable.
+ * Events can also be scripted in that file, the scripts are compiled once here and run against this class.
  */
-public class EventManager {
+public class EventManager implements ScriptContext {
     private final GameScreen gameScreen;
-    private final HashMap<String, Event> objectInteractions;
-    private final Array<String> talkTopics;
+    private final EventTable eventTable;
+    private final EventState eventState;
+    private final ActivityRules activityRules;
+    private final Random random;
+    // Commands for the options offered in dialogue, indexed by event id
+    private final EventCommand[][] optionCommands;
+    private final EventCommand[][] topicCommands;
+    private final EventScript[] scripts;
+    // The stat changes made by the running script, published as one ActivityCompletedEvent
+    private ActivityCompletedEvent scriptActivity;
+    private int scriptId = -1;
     private final float FADE_DURATION = 0.5f;
+    private final EventCommand fadeFromBlackCommand = EventManager::fadeFromBlack;
 
     /**
      * A class that maps Object's event strings to actual Java functions.
-     * To run a function call event(eventString), to add arguments add dashes.
-     * E.g. a call to the Piazza function with an arg of 1 would be: "piazza-1"
-     * Which the function interprets as "study at the piazza for 1 hour".
+     * Event strings are compiled into EventCommands with compile(eventString, params), to add arguments
+     * separate them with semicolons in params.
+     * E.g. a call to the comp_sci function with an arg of 2 would be: compile("comp_sci", "2")
+     * Which the function interprets as "study in the computer science building for 2 hours".
      * Object's event strings can be set in the Tiled map editor with a property called "event"
      *
      * @param gameScreen An instance of the GameScreen containing a player and dialogue box
+     * @param eventTable The definitions of every event, loaded from Text/events.json
+     * @param seed The seed for any random choices made in events, so recorded sessions can be replayed
      */
-    public EventManager (GameScreen gameScreen) {
+    public EventManager (GameScreen gameScreen, EventTable eventTable, long seed) {
         this.gameScreen = gameScreen;
+        this.eventTable = eventTable;
+        this.activityRules = new ActivityRules(eventTable);
+        this.random = new Random(seed);
+
+        // Track the stats of each event in the table by its id
+        eventState = new EventState(eventTable.size());
+
+        // Compile every script now, so a mistake in one is found when the game loads rather than when it is used
+        scripts = new EventScript[eventTable.size()];
+        for (int id = 0; id < eventTable.size(); id++) {
+            if (eventTable.getScript(id) != null) {
+                scripts[id] = ScriptCompiler.compile(eventTable.getName(id), eventTable.getScript(id));
+            }
+        }
 
-        // Define what to say when interacting with an object whose text won't change
-        objectInteractions = new HashMap<String, Event>();
-        objectInteractions.put("chest", new Event("chest", "Open the chest?", 0));
-        objectInteractions.put("comp_sci", new Event("comp_sci", "Would you like to study?", 20));
-        objectInteractions.put("chat", new Event("chat", "Would you like to chat to your friends?", 10));
-        objectInteractions.put("basketball", new Event("basketball", "Would you like to play basketball?", 20));
-        objectInteractions.put("eat", new Event("eat", "Would you like to eat?", 10));
-        objectInteractions.put("accomodation", new Event("accomodation", "Go to sleep for the night?\nYour alarm is set for 8am.", 0));
-        objectInteractions.put("rch", new Event("rch", "Would you like to study in the Ron Cook Hub?", 10)); // Changes, dynamically returned in getObjectInteraction
-        objectInteractions.put("tree", new Event("tree", "Speak to the tree?", 5));
-        objectInteractions.put("teleport", new Event("teleport", "Would you like to move location?", 0));
-        objectInteractions.put("ducks", new Event("ducks", "Would you like to feed the ducks?", 10));
-        objectInteractions.put("cook", new Event("cook", "Would you like to cook?", 30));
-
-        // Some random topics that can be chatted about
-        String[] topics = {"Dogs", "Cats", "Exams", "Celebrities", "Flatmates", "Video games", "Sports", "Food", "Fashion"};
-        talkTopics = new Array<String>(topics);
-        String[] meals = {"Pesto pasta", "Red pesto pasta", "Plain pasta", "Plain pesto", "Butter pasta", "Salt + Pepper pasta", "Pasta on toast", "Plain toast"};
+        // Compile the commands for options that are offered in dialogue, so they aren't parsed every time
+        optionCommands = new EventCommand[eventTable.size()][];
+        topicCommands = new EventCommand[eventTable.size()][];
+        for (int id = 0; id < eventTable.size(); id++) {
+            int[] optionHours = eventTable.getOptionHours(id);
+            optionCommands[id] = new EventCommand[optionHours.length];
+            for (int i = 0; i < optionHours.length; i++) {
+                optionCommands[id][i] = activityCommand(id, optionHours[i], null);
+            }
+
+            String[] topics = eventTable.getTopics(id);
+            topicCommands[id] = new EventCommand[topics.length];
+            for (int i = 0; i < topics.length; i++) {
+                topicCommands[id][i] = activityCommand(id, 0, topics[i].toLowerCase());
+            }
+        }
     }
 
-    public void event (String eventKey, String params) {
+    /**
+     * Parses an event string and its parameters into a command that can be run later without any string work.
+     * Called once for every interactable object when a map is loaded.
+     * Parameters are separated by semicolons, e.g. a teleport event's params "Maps/map.tmx;100,200"
+     *
+     * @param eventKey The event string, set in the Tiled map editor with a property called "event"
+     * @param params The parameters of the event, set with a property called "params"
+     * @return A command that runs the event
+     */
+    public EventCommand compile (String eventKey, String params) {
         String[] args;
         if (!params.isEmpty()) {
             args = params.split(";");
         } else {
             args = new String[0];
         }
-        // Important functions, most likely called after displaying text
+        // The id of the event whose stats should be updated when this command is run, -1 if it isn't tracked
+        final int id = eventTable.getId(eventKey);
+
         switch (eventKey) {
+            // Important functions, most likely called after displaying text
             case "fadefromblack":
-                fadeFromBlack();
-                break;
+                return EventManager::fadeFromBlack;
             case "fadetoblack":
-                fadeToBlack();
-                break;
+                return events -> events.fadeToBlack();
             case "gameover":
-                gameScreen.GameOver();
-                break;
-        }
+                return events -> events.gameScreen.GameOver();
 
-        // Events related to objects
-        switch (eventKey) {
-            case "tree":
-                treeEvent();
-                if (args.length >= 1 && objectInteractions.containsKey(args[0])) {
-                    objectInteractions.get(args[0]).perform();
-                }
-                break;
-            case "chest":
-                chestEvent();
-                if (objectInteractions.containsKey(args[0])) {
-                    objectInteractions.get(args[0]).perform();
-                }
-                break;
-            case "chat":
-                chatEvent(args);
-                break;
-            case "eat":
-                eatEvent(args);
-                break;
-            case "comp_sci":
-                compSciEvent(args);
-                break;
-            case "rch":
-                compSciEvent(args);
-                break;
+            // Events with their own code
             case "accomodation":
-                accomEvent(args);
-                break;
+                return events -> {
+                    events.accomEvent();
+                    events.perform(id);
+                };
             case "teleport":
-                teleportEvent(args);
-                break;
-            case "basketball":
-                basketballEvent(args);
-                break;
-            case "ducks":
-                ducksEvent(args);
-                break;
-            case "cook":
-                cookEvent(args);
-                break;
+                return compileTeleport(args);
             case "exit":
                 // Should do nothing and just close the dialogue menu
-                gameScreen.dialogueBox.hide();
-                break;
-            default:
-                objectEvent(eventKey);
-                break;
+                return EventCommand.EXIT;
+        }
+
+        // Scripted events
+        if (id != -1 && scripts[id] != null) {
+            final EventScript script = scripts[id];
+            return events -> {
+                events.runScript(id, script);
+                events.perform(id);
+            };
+        }
+
+        // Activities defined in the event table
+        if (id != -1 && eventTable.isActivity(id)) {
+            if (args.length == 0) {
+                return activityCommand(id, 0, null);
+            } else if (eventTable.getTopics(id).length > 0) {
+                return activityCommand(id, 0, args[0].toLowerCase());
+            } else if (eventTable.getOptionHours(id).length > 0) {
+                try {
+                    return activityCommand(id, Integer.parseInt(args[0]), null);
+                } catch (NumberFormatException e) {
+                    return failedEvent("That doesn't work!");
+                }
+            }
+            return activityCommand(id, 0, null);
+        }
+
+        final String objectText = "This is a " + eventKey + "!";
+        return events -> events.objectEvent(objectText);
+    }
+
+    /**
+     * Parses and runs an event straight away.
+     * Prefer running a command made by compile() where possible, as this has to parse the event every time.
+     *
+     * @param eventKey The event string
+     * @param params The parameters of the event
+     */
+    public void event (String eventKey, String params) {
+        compile(eventKey, params).execute(this);
+    }
+
+    /**
+     * @param id The id of an activity in the event table
+     * @param hours The hours chosen by the player, or 0 if not chosen yet
+     * @param topic The topic chosen by the player, or null if not chosen yet
+     * @return A command that runs the activity
+     */
+    private EventCommand activityCommand(final int id, final int hours, final String topic) {
+        return events -> events.activityEvent(id, hours, topic);
+    }
+
+    /**
+     * Parses the arguments of a teleport event, the first being the map path and the optional second being the
+     * spawn position in the form "x,y"
+     *
+     * @param args The arguments of the event
+     * @return A teleport command, or a command that shows an error if the arguments are wrong
+     */
+    private EventCommand compileTeleport(String[] args) {
+        try {
+            String mapPath = args[0];
+            if (args.length == 1) {
+                return new TeleportCommand(mapPath);
+            }
+            String[] spawnCoords = args[1].split(",");
+            float x = Float.parseFloat(spawnCoords[0]);
+            float y = Float.parseFloat(spawnCoords[1]);
+            return new TeleportCommand(mapPath, x, y);
+        } catch (Exception e) {
+            return failedEvent("Teleport failed!");
+        }
+    }
+
+    /**
+     * @param message The message to show
+     * @return A command that just shows a message saying an event couldn't be run
+     */
+    private static EventCommand failedEvent(String message) {
+        return events -> events.gameScreen.dialogueBox.setText(message);
+    }
+
+    /**
+     * Runs a script, then publishes the stat changes it made the same way activityEvent() does, so everything
+     * subscribed to the event bus sees scripted activities too
+     *
+     * @param id The id of the event the script belongs to
+     * @param script The script to run
+     */
+    private void runScript(int id, EventScript script) {
+        int previousId = scriptId;
+        scriptId = id;
+        script.run(this);
+        publishScriptActivity();
+        scriptId = previousId;
+    }
+
+    /**
+     * @return The event collecting the running script's stat changes
+     */
+    private ActivityCompletedEvent getScriptActivity() {
+        if (scriptActivity == null) {
+            scriptActivity = gameScreen.getEventBus().obtain(ActivityCompletedEvent.class);
+        }
+        return scriptActivity;
+    }
 
+    /**
+     * Publishes the stat changes a script has made so far, if it made any.
+     * Done when the script ends, and before it reads the game, so it always sees its own changes.
+     */
+    private void publishScriptActivity() {
+        if (scriptActivity == null) {
+            return;
         }
+        ActivityCompletedEvent completed = scriptActivity;
+        scriptActivity = null;
+        completed.name = scriptId == -1 ? null : eventTable.getName(scriptId);
+        gameScreen.getEventBus().publish(completed);
     }
 
-    public void advanceDay() {
-        for (Event event : objectInteractions.values()) {
-            event.dayAdvanced();
+    /**
+     * Updates the streak and counters of an event, if there is one
+     * @param id The id of the event to update, or -1 if it isn't in the event table
+     */
+    private void perform(int id) {
+        if (id != -1) {
+            eventState.perform(id);
+            gameScreen.getTelemetry().record(Telemetry.EVENT, id, gameScreen.getGameMinute(), 0, 0);
         }
     }
 
+    /**
+     * @return How often the player has done each event, indexed by the event's id in the event table
+     */
+    public EventState getEventState() {
+        return eventState;
+    }
+
     /**
      * Gets the interaction text associated with each object via a key
      * @param key
@@ -136,164 +261,216 @@ public class EventManager {
         if (key.contains("teleport")) {
             return "teleport";
         } else {
-            return objectInteractions.get(key).getText();
+            return eventTable.getPrompt(eventTable.getId(key));
+        }
+    }
+
+    /**
+     * Gets the text to ask the player before running an object's event
+     * @param key The object's event string
+     * @return The object's custom interaction text, or "Interact with x?" if it doesn't have any
+     */
+    public String getPrompt(String key) {
+        if (hasCustomObjectInteraction(key)) {
+            return getObjectInteraction(key);
         }
+        return "Interact with " + key + "?";
     }
 
     /**
      * @return True if the object has some custom text to display that isn't just "This is an x!"
      */
     public boolean hasCustomObjectInteraction(String key) {
-        return objectInteractions.containsKey(key);
+        return eventTable.getId(key) != -1;
     }
 
     /**
-     * Sets the text when talking to a tree
+     * Sets the text when talking to an object without a dedicated function
+     * @param text The text to show, e.g. "This is a bench!"
      */
-    public void treeEvent() {
+    public void objectEvent(String text) {
         gameScreen.dialogueBox.hideSelectBox();
-        gameScreen.dialogueBox.setText("The tree doesn't say anything back.");
+        gameScreen.dialogueBox.setText(text);
     }
 
-
-    public void chestEvent() {
-        gameScreen.dialogueBox.hideSelectBox();
-        gameScreen.dialogueBox.setText("Wow! This chest is full of so many magical items! I wonder how they will help you out on your journey! Boy, this is an awfully long piece of text, I wonder if someone is testing something?\n...\n...\n...\nHow cool!");
-
+    /**
+     * Closes the dialogue box
+     */
+    public void exitEvent() {
+        gameScreen.dialogueBox.hide();
     }
 
     /**
-     * Sets the text when talking to an object without a dedicated function
+     * Runs an activity from the event table, e.g. studying, eating or feeding the ducks.
+     * ActivityRules decides whether the activity can be done and for how long, this shows the dialogue for it.
+     * If the activity has options or topics and the player hasn't picked one yet, asks the player to pick.
+     * Otherwise, takes the player's energy, passes time and adds any study or recreational hours.
+     *
+     * @param id The id of the activity in the event table
+     * @param hours The hours the player chose to spend, or 0 if they haven't chosen
+     * @param topic The topic the player chose in lowercase, or null if they haven't chosen
      */
-    public void objectEvent(String object) {
-        gameScreen.dialogueBox.hideSelectBox();
-        gameScreen.dialogueBox.setText("This is a " +  object + "!");
+    public void activityEvent(int id, int hours, String topic) {
+        int result = activityRules.decide(id, (int) gameScreen.getSeconds(), gameScreen.getEnergy(), hours,
+                topic != null, random::nextInt);
+        switch (result) {
+            case ActivityRules.CLOSED:
+                gameScreen.dialogueBox.setText(eventTable.getEarlyText(id));
+                return;
+            case ActivityRules.TOO_TIRED:
+                gameScreen.dialogueBox.hideSelectBox();
+                gameScreen.dialogueBox.setText(eventTable.getTiredText(id));
+                return;
+            case ActivityRules.ASK_HOURS:
+                gameScreen.dialogueBox.setText(eventTable.getAskText(id));
+                gameScreen.dialogueBox.getSelectBox().setOptions(eventTable.getOptionLabels(id), optionCommands[id]);
+                return;
+            case ActivityRules.ASK_TOPIC:
+                // Ask about a few random topics
+                askTopic(id);
+                return;
+            case ActivityRules.NOT_ENOUGH_ENERGY:
+                gameScreen.dialogueBox.setText(eventTable.getNotEnoughText(id));
+                return;
+        }
+        hours = result;
+
+        int energyLost = hours * eventTable.getEnergyCost(id);
+        gameScreen.dialogueBox.setText(String.format(eventTable.getDoneText(id), hours, energyLost, gameScreen.getMeal(), topic));
+        eventState.perform(id);
+        gameScreen.getTelemetry().record(Telemetry.EVENT, id, gameScreen.getGameMinute(), hours, energyLost);
+
+        // GameScreen applies the energy, time and hours, anything else interested can subscribe too
+        GameEventBus eventBus = gameScreen.getEventBus();
+        ActivityCompletedEvent completed = eventBus.obtain(ActivityCompletedEvent.class);
+        completed.set(eventTable, id, hours);
+        eventBus.publish(completed);
     }
 
     /**
-     * Lets the player study at the piazza for x num of hours, decreases the player's energy and increments the
-     * game time.
-     *
-     * @param args Arguments to be passed, should contain the hours the player wants to study. E.g. ["piazza", "1"]
+     * Offers the player a few random topics of an activity to pick from
+     * @param id The id of the activity in the event table
      */
-    public void chatEvent(String[] args) {
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get("chat").getEnergyCost();
-            // If the player is too tired to meet friends
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.setText("You are too tired to meet your friends right now!");
-
-            } else if (args.length == 0) {
-                // Ask the player to chat about something (makes no difference)
-                String[] topics = randomTopics(3);
-                gameScreen.dialogueBox.setText("What do you want to chat about?");
-                String[] events = new String[] {"chat", "chat", "chat"};
-                gameScreen.dialogueBox.getSelectBox().setOptions(topics, events, topics);
-            } else {
-                // Say that the player chatted about this topic for 1-3 hours
-                // RNG factor adds a slight difficulty (may consume too much energy to study)
-                int hours = ThreadLocalRandom.current().nextInt(1, 4);
-                gameScreen.dialogueBox.setText(String.format("You talked about %s for %d hours!", args[0].toLowerCase(), hours));
-                gameScreen.decreaseEnergy(energyCost * hours);
-                gameScreen.passTime(hours * 60); // in seconds
-                gameScreen.addRecreationalHours(hours);
-                if (objectInteractions.containsKey(args[0])) {
-                    objectInteractions.get(args[0]).perform();
-                }
-            }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to meet your friends, go to bed!");
+    private void askTopic(int id) {
+        int[] choices = randomTopics(topicCommands[id].length, eventTable.getTopicChoices(id));
+        String[] topics = new String[choices.length];
+        EventCommand[] commands = new EventCommand[choices.length];
+        for (int i = 0; i < choices.length; i++) {
+            topics[i] = eventTable.getTopics(id)[choices[i]];
+            commands[i] = topicCommands[id][choices[i]];
         }
+        gameScreen.dialogueBox.setText(eventTable.getAskText(id));
+        gameScreen.dialogueBox.getSelectBox().setOptions(topics, commands);
     }
 
     /**
+     * @param topicCount The number of topics to pick from
      * @param amount The amount of topics to return
-     * @return An array of x random topics the player can chat about
+     * @return The indexes of x random topics the player can chat about
      */
-    private String[] randomTopics(int amount) {
-        // Returns an array of 3 random topics
-        Array<String> topics = new Array<>(amount);
+    private int[] randomTopics(int topicCount, int amount) {
+        int[] topics = new int[amount];
 
         for (int i = 0;i<amount;i++) {
-            String choice = talkTopics.random();
-            // If statement to ensure topic hasn't already been selected
-            if (!topics.contains(choice, false)) {
-                topics.add(choice);
+            int choice = random.nextInt(topicCount);
+            // Loop to ensure topic hasn't already been selected
+            boolean chosen = false;
+            for (int j = 0; j < i; j++) {
+                if (topics[j] == choice) {
+                    chosen = true;
+                    break;
+                }
+            }
+            if (!chosen) {
+                topics[i] = choice;
             } else {
                 i -= 1;
             }
         }
 
-        return topics.toArray(String.class);
+        return topics;
     }
 
-    /**
-     * The event to be run when interacting with the computer science building
-     * Gives the player the option to study for 2, 3 or 4 hours
-     * @param args
-     */
-    public void compSciEvent(String[] args) {
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get("comp_sci").getEnergyCost();
-            // If the player is too tired for any studying:
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.hideSelectBox();
-                gameScreen.dialogueBox.setText("You are too tired to study right now!");
-            } else if (args.length == 0) {
-                // If the player has not yet chosen how many hours, ask
-                gameScreen.dialogueBox.setText("Study for how long?");
-                String[] options = new String[] {"2 Hours (20)", "3 Hours (30)", "4 Hours (40)"};
-                String[] events = new String[] {"comp_sci", "comp_sci", "comp_sci"};
-                String[] params = new String[] {"2", "3", "4"};
-                gameScreen.dialogueBox.getSelectBox().setOptions(options, events, params);
-            } else {
-                int hours = Integer.parseInt(args[0]);
-                // If the player does not have enough energy for the selected hours
-                if (gameScreen.getEnergy() < hours*energyCost) {
-                    gameScreen.dialogueBox.setText("You don't have the energy to study for this long!");
-                } else {
-                    // If they do have the energy to study
-                    gameScreen.dialogueBox.setText(String.format("You studied for %s hours!\nYou lost %d energy", args[0], hours*energyCost));
-                    gameScreen.decreaseEnergy(energyCost * hours);
-                    gameScreen.addStudyHours(hours);
-                    gameScreen.passTime(hours * 60); // in seconds
-                    if (objectInteractions.containsKey(args[0])) {
-                        objectInteractions.get(args[0]).perform();
-                    }
-                }
-            }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to study, go to bed!");
-        }
+    // Functions scripts can use, see ScriptContext
+
+    @Override
+    public int getEnergy() {
+        publishScriptActivity();
+        return gameScreen.getEnergy();
     }
 
+    @Override
+    public int getHour() {
+        return getMinute() / 60;
+    }
 
-    /**
-     * The event to be run when the player interacts with the ron cooke hub
-     * Gives the player the choice to eat breakfast, lunch or dinner depending on the time of day
-     * @param args
-     */
-    public void eatEvent(String[] args) {
-        String eventKey = "eat";
-        if (args.length >= 1) {
-            eventKey = args[0];
+    @Override
+    public int getMinute() {
+        publishScriptActivity();
+        return (int) gameScreen.getSeconds();
+    }
+
+    @Override
+    public int getDay() {
+        publishScriptActivity();
+        return gameScreen.getDay();
+    }
+
+    @Override
+    public String getMeal() {
+        publishScriptActivity();
+        return gameScreen.getMeal();
+    }
+
+    @Override
+    public int random(int min, int max) {
+        if (max <= min) {
+            return min;
         }
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get(eventKey).getEnergyCost();
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.setText("You are too tired to eat right now!");
-            } else {
-                gameScreen.dialogueBox.setText(String.format("You took an hour to eat %s!\nYou lost %d energy!", gameScreen.getMeal(), energyCost));
-                gameScreen.decreaseEnergy(energyCost);
-                gameScreen.passTime(60); // in seconds
-                if (objectInteractions.containsKey(eventKey)) {
-                    objectInteractions.get(eventKey).perform();
-                }
-            }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to eat food, go to bed!");
+        return min + random.nextInt(max - min + 1);
+    }
+
+    @Override
+    public void say(String text) {
+        objectEvent(text);
+    }
+
+    @Override
+    public void ask(String text, String[] options, EventScript[] branches) {
+        // Each branch is run as part of the same event when its option is picked
+        final int id = scriptId;
+        EventCommand[] commands = new EventCommand[branches.length];
+        for (int i = 0; i < branches.length; i++) {
+            final EventScript branch = branches[i];
+            commands[i] = events -> events.runScript(id, branch);
         }
+        gameScreen.dialogueBox.setText(text);
+        gameScreen.dialogueBox.getSelectBox().setOptions(options, commands);
+    }
+
+    @Override
+    public void changeEnergy(int amount) {
+        getScriptActivity().energyLost -= amount;
+    }
 
+    @Override
+    public void passHours(int hours) {
+        getScriptActivity().hours += hours;
+    }
+
+    @Override
+    public void addStudyHours(int hours) {
+        getScriptActivity().studyHours += hours;
+    }
+
+    @Override
+    public void addRecreationHours(int hours) {
+        getScriptActivity().recreationHours += hours;
+    }
+
+    @Override
+    public void exit() {
+        exitEvent();
     }
 
     /**
@@ -301,107 +478,69 @@ public class EventManager {
      * the player gets
      * Then queues up fadeFromBlack to be called when this dialogue closes
      * @see GameScreen fadeToBlack function
-     * @param args Unused currently
      */
-    public void accomEvent(String[] args) {
+    public void accomEvent() {
         gameScreen.setSleeping(true);
         gameScreen.dialogueBox.hide();
 
         // Calculate the hours slept to the nearest hour
-        // Wakes the player up at 8am
-        float secondsSlept;
-        if (gameScreen.getSeconds() < 60*8) {
-            secondsSlept = (60*8 - gameScreen.getSeconds());
-        } else {
-            // Account for the wakeup time being in the next day
-            secondsSlept = (((60*8) + 1440) - gameScreen.getSeconds());
-        }
+        float bedTime = gameScreen.getSeconds();
+        float secondsSlept = getSleepSeconds(bedTime);
         int hoursSlept = Math.round(secondsSlept / 60f);
 
         RunnableAction setTextAction = new RunnableAction();
         setTextAction.setRunnable(() -> {
             if (gameScreen.getSleeping()) {
                 gameScreen.dialogueBox.show();
-                gameScreen.dialogueBox.setText(String.format("You slept for %d hours!\nYou recovered %d energy!", hoursSlept, Math.min(100, hoursSlept*13)), "fadefromblack");
+                gameScreen.dialogueBox.setText(String.format("You slept for %d hours!\nYou recovered %d energy!", hoursSlept, getSleepEnergy(hoursSlept)), fadeFromBlackCommand);
                 // Restore energy and pass time
-                gameScreen.setEnergy(hoursSlept*13);
-                gameScreen.passTime(secondsSlept);
-                gameScreen.addSleptHours(hoursSlept);
+                GameEventBus eventBus = gameScreen.getEventBus();
+                SleptEvent slept = eventBus.obtain(SleptEvent.class);
+                slept.set(bedTime);
+                eventBus.publish(slept);
             }
         });
 
         fadeToBlack(setTextAction);
     }
 
-    public void teleportEvent(String[] args) {
-        try {
-//            gameScreen.dialogueBox.hide();
-            String mapPath = args[0];
-            if (args.length == 1) {
-                gameScreen.mapManager.loadMap(mapPath);
-            } else {
-                String spawn = args[1]; // in the form "x,y"
-                String[] spawnCoords = spawn.split(",");
-                float x = Float.parseFloat(spawnCoords[0]);
-                float y = Float.parseFloat(spawnCoords[1]);
-                gameScreen.mapManager.loadMap(mapPath);
-                gameScreen.player.setPos(x, y);
-            }
-            gameScreen.dialogueBox.hide();
-        } catch (Exception e) {
-            gameScreen.dialogueBox.setText("Teleport failed!");
+    /**
+     * Works out how long the player sleeps for if they go to bed now, they always wake up at 8am
+     *
+     * @param daySeconds The seconds elapsed in the day when the player goes to bed
+     * @return The seconds until the player wakes up
+     */
+    public static float getSleepSeconds(float daySeconds) {
+        if (daySeconds < 60*8) {
+            return 60*8 - daySeconds;
         }
-
+        // Account for the wakeup time being in the next day
+        return ((60*8) + 1440) - daySeconds;
     }
 
-    public void ducksEvent(String[] args) {
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get("ducks").getEnergyCost();
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.setText("You are too tired to feed the ducks right now!");
-            } else {
-                gameScreen.dialogueBox.setText("You fed the ducks for an hour!\nYou lost "+energyCost+" energy!");
-                gameScreen.decreaseEnergy(energyCost);
-                gameScreen.passTime(60);
-                gameScreen.addRecreationalHours(1);
-            }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to feed the ducks, the ducks are asleep!");
-        }
+    /**
+     * @param hoursSlept The hours slept, to the nearest hour
+     * @return The energy the player has after waking up
+     */
+    public static int getSleepEnergy(int hoursSlept) {
+        return Math.min(100, hoursSlept*13);
     }
 
-    public void basketballEvent(String[] args) {
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get("basketball").getEnergyCost();
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.setText("You are too tired to play basketball right now!");
-            } else {
-                gameScreen.dialogueBox.setText("You played for an hour!\nYou lost "+energyCost+" energy!");
-                gameScreen.decreaseEnergy(energyCost);
-                gameScreen.passTime(60);
-                gameScreen.addRecreationalHours(1);
+    /**
+     * Moves the player to another map
+     * @param teleport A command holding the map to load and where to put the player
+     */
+    public void teleportEvent(TeleportCommand teleport) {
+        try {
+            gameScreen.mapManager.loadMap(teleport.getMapPath());
+            if (teleport.hasSpawn()) {
+                gameScreen.player.setPos(teleport.getSpawnX(), teleport.getSpawnY());
             }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to play basketball!");
+            gameScreen.dialogueBox.hide();
+        } catch (Exception e) {
+            gameScreen.dialogueBox.setText("Teleport failed!");
         }
-    }
 
-    public void cookEvent(String[] args) {
-        if (gameScreen.getSeconds() > 8*60) {
-            int energyCost = objectInteractions.get("cook").getEnergyCost();
-            if (gameScreen.getEnergy() < energyCost) {
-                gameScreen.dialogueBox.setText("You are too tired to cook right now. You might burn the house down!");
-            } else {
-                gameScreen.dialogueBox.setText(String.format("You took an hour to cook %s.\nYou lost %d energy!", gameScreen.getMeal(), energyCost));
-                gameScreen.decreaseEnergy(energyCost);
-                gameScreen.passTime(60); // in seconds
-                if (args.length >= 1 && objectInteractions.containsKey(args[0])) {
-                    objectInteractions.get(args[0]).perform();
-                }
-            }
-        } else {
-            gameScreen.dialogueBox.setText("It's too early in the morning to cook a meal.");
-        }
     }
 
     /**
@@ -0,0 +1,175 @@
+package com.skloch.game;
+
+import java.util.PriorityQueue;
+
+/**
+ * Runs events at set times on the game clock, e.g. lectures at fixed hours, shops opening or NPCs arriving.
+ * <p></p>
+ * Times are in game minutes since the start of the game, so 9am on day 2 is 1440 + 9 * 60.
+ * Events are kept in a priority queue ordered by when they are due, so moving the clock forward only looks at
+ * the events that are actually due, each taking O(log n) to remove.
+ * <p></p>
+ * Large jumps in time, like sleeping or studying for hours, are handled by one call to advanceTo() which runs
+ * every event due in between in order. Daily events that were missed more than once during a jump only run once,
+ * then are rescheduled for their next time after the jump.
+ */
+public class EventScheduler {
+    public static final int MINUTES_PER_DAY = GameClock.MINUTES_PER_DAY;
+
+    private final PriorityQueue<ScheduledEvent> queue;
+    private int currentMinute = 0;
+    private int targetMinute = 0;
+    private long nextSequence = 0;
+    private boolean draining = false;
+
+    public EventScheduler() {
+        queue = new PriorityQueue<>();
+    }
+
+    /**
+     * Schedules an event to run once
+     *
+     * @param minute The game minute to run the event at, if this has already passed it runs on the next advance
+     * @param command The event to run
+     * @return The scheduled event, which can be passed to cancel()
+     */
+    public ScheduledEvent schedule(int minute, EventCommand command) {
+        return add(new ScheduledEvent(minute, 0, command));
+    }
+
+    /**
+     * Schedules an event to run at the same time every day, starting from the next time that comes around
+     *
+     * @param minuteOfDay The minute of the day to run the event at, e.g. 9 * 60 for 9am
+     * @param command The event to run
+     * @return The scheduled event, which can be passed to cancel()
+     */
+    public ScheduledEvent scheduleDaily(int minuteOfDay, EventCommand command) {
+        int dayStart = currentMinute - Math.floorMod(currentMinute, MINUTES_PER_DAY);
+        int minute = dayStart + Math.floorMod(minuteOfDay, MINUTES_PER_DAY);
+        if (minute <= currentMinute) {
+            minute += MINUTES_PER_DAY;
+        }
+        return add(new ScheduledEvent(minute, MINUTES_PER_DAY, command));
+    }
+
+    /**
+     * Stops a scheduled event from running
+     *
+     * @param event An event returned by schedule() or scheduleDaily()
+     * @return true if the event was still waiting to run
+     */
+    public boolean cancel(ScheduledEvent event) {
+        event.cancelled = true;
+        return queue.remove(event);
+    }
+
+    /**
+     * Moves the clock forward, running every event that is now due in the order they were due.
+     * If an event moves the clock forward again while running, the extra events are run in the same drain.
+     *
+     * @param minute The current game minute
+     * @param eventManager The EventManager to run events with
+     * @return The number of events run
+     */
+    public int advanceTo(int minute, EventManager eventManager) {
+        targetMinute = Math.max(targetMinute, minute);
+        if (draining) {
+            // Already running events further up the stack, that loop will pick up the new target
+            return 0;
+        }
+
+        int ran = 0;
+        draining = true;
+        try {
+            while (!queue.isEmpty() && queue.peek().minute <= targetMinute) {
+                ScheduledEvent event = queue.poll();
+                currentMinute = Math.max(currentMinute, event.minute);
+                if (event.repeatMinutes > 0) {
+                    // Skip any repeats that were missed entirely during a jump in time
+                    int missed = (targetMinute - event.minute) / event.repeatMinutes;
+                    event.minute += (missed + 1) * event.repeatMinutes;
+                    event.sequence = nextSequence++;
+                    queue.add(event);
+                }
+                event.command.execute(eventManager);
+                ran++;
+            }
+            currentMinute = targetMinute;
+        } finally {
+            draining = false;
+        }
+        return ran;
+    }
+
+    /**
+     * @return The game minute the scheduler was last advanced to
+     */
+    public int getCurrentMinute() {
+        return currentMinute;
+    }
+
+    /**
+     * @return The game minute the next event is due, or -1 if nothing is scheduled
+     */
+    public int getNextDueMinute() {
+        ScheduledEvent next = queue.peek();
+        return next == null ? -1 : next.minute;
+    }
+
+    /**
+     * @return The number of events waiting to run
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Removes every scheduled event
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    private ScheduledEvent add(ScheduledEvent event) {
+        event.sequence = nextSequence++;
+        queue.add(event);
+        return event;
+    }
+
+    /**
+     * An event waiting in the scheduler. Events due at the same minute run in the order they were scheduled.
+     */
+    public static class ScheduledEvent implements Comparable<ScheduledEvent> {
+        private int minute;
+        private final int repeatMinutes;
+        private final EventCommand command;
+        private long sequence;
+        private boolean cancelled = false;
+
+        private ScheduledEvent(int minute, int repeatMinutes, EventCommand command) {
+            this.minute = minute;
+            this.repeatMinutes = repeatMinutes;
+            this.command = command;
+        }
+
+        /**
+         * @return The game minute this event is next due
+         */
+        public int getMinute() {
+            return minute;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public int compareTo(ScheduledEvent other) {
+            if (minute != other.minute) {
+                return Integer.compare(minute, other.minute);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.skloch.game;
+
+/**
+ * An event script that has been compiled into Java lambdas by ScriptCompiler.
+ * Scripts are also commands, so they can be given to objects and dialogue options like any other event.
+ *
+ * @see ScriptCompiler
+ */
+public interface EventScript extends EventCommand {
+    /**
+     * Runs the script
+     *
+     * @param context The game for the script to read and change
+     */
+    void run(ScriptContext context);
+
+    @Override
+    default void execute(EventManager eventManager) {
+        run(eventManager);
+    }
+}
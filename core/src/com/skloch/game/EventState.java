@@ -0,0 +1,150 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Tracks how often the player has done each event and their streaks of days doing it.
+ * <p></p>
+ * Events are referred to by their id in the EventTable and every counter is a primitive array indexed by that id,
+ * so recording an event is a few array writes with no lookups.
+ * Events done today are kept in a list, so moving to the next day only touches the events done today and
+ * yesterday rather than every event in the game, and skipping several days at once is no more work than two.
+ */
+public class EventState implements GameClock.Listener {
+    /**
+     * Told whenever an event's counts or streak change, either because the player did it or because a new day
+     * reset its count for today or ended its streak
+     */
+    public interface Listener {
+        void changed(EventState state, int id);
+    }
+
+    private final int[] streaks;
+    private final int[] maxStreaks;
+    private final int[] timesToday;
+    private final int[] timesTotal;
+    // Ids of the events done today and yesterday, each id appears once
+    private IntArray doneToday;
+    private IntArray doneYesterday;
+    private Listener listener;
+
+    /**
+     * @param size The number of events, ids go from 0 up to this
+     */
+    public EventState(int size) {
+        streaks = new int[size];
+        maxStreaks = new int[size];
+        timesToday = new int[size];
+        timesTotal = new int[size];
+        doneToday = new IntArray();
+        doneYesterday = new IntArray();
+    }
+
+    /**
+     * Records the player doing an event, the first time each day adds to its streak
+     *
+     * @param id The id of the event in the EventTable
+     */
+    public void perform(int id) {
+        if (timesToday[id] == 0) {
+            doneToday.add(id);
+            streaks[id]++;
+            if (streaks[id] > maxStreaks[id]) {
+                maxStreaks[id] = streaks[id];
+            }
+        }
+        timesToday[id]++;
+        timesTotal[id]++;
+        if (listener != null) {
+            listener.changed(this, id);
+        }
+    }
+
+    /**
+     * @param listener Told whenever an event's counts or streak change, or null
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Moves to the next day. Ends the streaks of events done yesterday but not today, and resets today's counts.
+     */
+    public void advanceDay() {
+        // Only events done yesterday can have a streak that might need ending
+        for (int i = 0; i < doneYesterday.size; i++) {
+            int id = doneYesterday.get(i);
+            if (timesToday[id] == 0) {
+                streaks[id] = 0;
+            }
+        }
+        for (int i = 0; i < doneToday.size; i++) {
+            timesToday[doneToday.get(i)] = 0;
+        }
+
+        // Today becomes yesterday, reuse yesterday's list for the new day
+        IntArray swap = doneYesterday;
+        doneYesterday = doneToday;
+        doneToday = swap;
+        if (listener != null) {
+            // Events done yesterday had their count reset, events done the day before and not since lost their streak
+            for (int i = 0; i < doneYesterday.size; i++) {
+                listener.changed(this, doneYesterday.get(i));
+            }
+            for (int i = 0; i < doneToday.size; i++) {
+                if (streaks[doneToday.get(i)] == 0) {
+                    listener.changed(this, doneToday.get(i));
+                }
+            }
+        }
+        doneToday.clear();
+    }
+
+    /**
+     * Moves on by however many days passed between two times. After two days without doing anything every
+     * streak has ended and nothing else changes, so at most two days are actually stepped through.
+     */
+    @Override
+    public void advance(int fromMinute, int toMinute) {
+        int days = Math.min(GameClock.getDaysCrossed(fromMinute, toMinute), 2);
+        for (int i = 0; i < days; i++) {
+            advanceDay();
+        }
+    }
+
+    /**
+     * @return The number of days in a row the event has been done, including today
+     */
+    public int getStreak(int id) {
+        return streaks[id];
+    }
+
+    /**
+     * @return The longest streak of days the event has been done
+     */
+    public int getMaxStreak(int id) {
+        return maxStreaks[id];
+    }
+
+    public int getTimesPerformedToday(int id) {
+        return timesToday[id];
+    }
+
+    public int getTimesPerformedTotal(int id) {
+        return timesTotal[id];
+    }
+
+    /**
+     * @return The number of different events done today
+     */
+    public int getEventsDoneToday() {
+        return doneToday.size;
+    }
+
+    /**
+     * @return The number of events tracked
+     */
+    public int size() {
+        return timesTotal.length;
+    }
+}
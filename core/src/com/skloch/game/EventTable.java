@@ -0,0 +1,293 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.HashMap;
+
+/**
+ * The definitions of every event in the game, loaded once from Text/events.json.
+ * <p></p>
+ * Each event is given an int id when it is loaded, and every value is stored in an array indexed by that id,
+ * so running an event never needs a map lookup. Look ids up with getId() once, e.g. when compiling commands.
+ * <p></p>
+ * Events are either activities, which all follow the same rules (check the time, check the player's energy,
+ * ask for an option if there are any, then pass time and apply stat changes), scripts written in the language
+ * compiled by ScriptCompiler, or special events like sleeping and teleporting which have their own code in
+ * EventManager and only use the prompt text from here.
+ * <p></p>
+ * Text values are passed through String.format with these arguments:
+ * %1$d hours taken, %2$d energy lost, %3$s the meal for the time of day, %4$s the chosen topic
+ */
+public class EventTable {
+    public static String EVENTS_PATH = "Text/events.json";
+
+    private final HashMap<String, Integer> ids;
+    private final int size;
+
+    private final String[] names;
+    private final String[] prompts;
+    private final boolean[] activities;
+    private final int[] energyCosts;
+    private final int[] minHours;
+    private final int[] maxHours;
+    private final int[] earliestMinutes;
+    private final int[] latestMinutes;
+    private final int[] studyHours;
+    private final int[] recreationHours;
+    private final int[][] optionHours;
+    private final String[][] optionLabels;
+    private final String[][] topics;
+    private final int[] topicChoices;
+    private final String[] askTexts;
+    private final String[] earlyTexts;
+    private final String[] tiredTexts;
+    private final String[] notEnoughTexts;
+    private final String[] doneTexts;
+    private final String[] scripts;
+
+    /**
+     * Loads the event table from a file
+     *
+     * @param file A JSON file in the same format as Text/events.json
+     */
+    public EventTable(FileHandle file) {
+        this(file.readString());
+    }
+
+    /**
+     * Loads the event table from a JSON string.
+     * An event with no name, or with hours, opening times, costs or options that can't work, throws a
+     * RuntimeException naming the event, so a bad edit to the file is caught when the game starts.
+     *
+     * @param json The event definitions in the same format as Text/events.json
+     */
+    public EventTable(String json) {
+        JsonValue events = new JsonReader().parse(json).get("events");
+        size = events.size;
+        ids = new HashMap<>();
+
+        names = new String[size];
+        prompts = new String[size];
+        activities = new boolean[size];
+        energyCosts = new int[size];
+        minHours = new int[size];
+        maxHours = new int[size];
+        earliestMinutes = new int[size];
+        latestMinutes = new int[size];
+        studyHours = new int[size];
+        recreationHours = new int[size];
+        optionHours = new int[size][];
+        optionLabels = new String[size][];
+        topics = new String[size][];
+        topicChoices = new int[size];
+        askTexts = new String[size];
+        earlyTexts = new String[size];
+        tiredTexts = new String[size];
+        notEnoughTexts = new String[size];
+        doneTexts = new String[size];
+        scripts = new String[size];
+
+        int id = 0;
+        for (JsonValue event = events.child; event != null; event = event.next, id++) {
+            names[id] = event.getString("name", null);
+            if (names[id] == null) {
+                throw new RuntimeException("Event " + id + " has no name");
+            }
+            if (ids.containsKey(names[id])) {
+                throw new RuntimeException("Event defined twice: " + names[id]);
+            }
+            ids.put(names[id], id);
+
+            prompts[id] = event.getString("prompt", "Interact with " + names[id] + "?");
+            activities[id] = event.getString("type", "activity").equals("activity");
+            scripts[id] = event.getString("script", null);
+            energyCosts[id] = event.getInt("energyCost", 0);
+            minHours[id] = event.getInt("minHours", event.getInt("hours", 1));
+            maxHours[id] = event.getInt("maxHours", minHours[id]);
+            earliestMinutes[id] = event.getInt("earliestHour", 0) * 60;
+            latestMinutes[id] = event.getInt("latestHour", 24) * 60;
+            studyHours[id] = event.getInt("studyHours", 0);
+            recreationHours[id] = event.getInt("recreationHours", 0);
+
+            if (energyCosts[id] < 0) {
+                throw new RuntimeException("Event " + names[id] + " has a negative energy cost");
+            }
+            if (minHours[id] < 1 || maxHours[id] < minHours[id]) {
+                throw new RuntimeException("Event " + names[id] + " has bad hours, " + minHours[id] + " to " + maxHours[id]);
+            }
+            if (earliestMinutes[id] < 0 || latestMinutes[id] > 24 * 60 || earliestMinutes[id] >= latestMinutes[id]) {
+                throw new RuntimeException("Event " + names[id] + " is never open");
+            }
+
+            // Options let the player pick how many hours to spend, their labels are worked out now
+            try {
+                optionHours[id] = event.has("options") ? event.get("options").asIntArray() : new int[0];
+            } catch (IllegalStateException | NumberFormatException e) {
+                throw new RuntimeException("Event " + names[id] + " has options that aren't numbers of hours", e);
+            }
+            for (int hours : optionHours[id]) {
+                if (hours < 1) {
+                    throw new RuntimeException("Event " + names[id] + " has an option of " + hours + " hours");
+                }
+            }
+            String optionText = event.getString("optionText", "%1$d Hours");
+            optionLabels[id] = new String[optionHours[id].length];
+            for (int i = 0; i < optionHours[id].length; i++) {
+                optionLabels[id][i] = String.format(optionText, optionHours[id][i], optionHours[id][i] * energyCosts[id]);
+            }
+
+            topics[id] = event.has("topics") ? event.get("topics").asStringArray() : new String[0];
+            topicChoices[id] = Math.min(event.getInt("topicChoices", topics[id].length), topics[id].length);
+
+            askTexts[id] = event.getString("askText", "");
+            earlyTexts[id] = event.getString("earlyText", "It's too early for that!");
+            tiredTexts[id] = event.getString("tiredText", "You are too tired to do that right now!");
+            notEnoughTexts[id] = event.getString("notEnoughText", null);
+            doneTexts[id] = event.getString("doneText", "You lost %2$d energy!");
+        }
+    }
+
+    /**
+     * Gets the id of an event, should be done once and the id stored rather than called every interaction
+     *
+     * @param name The name of the event, e.g. "comp_sci"
+     * @return The id of the event, or -1 if there is no event with that name
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return The number of events in the table, ids go from 0 up to this
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getName(int id) {
+        return names[id];
+    }
+
+    /**
+     * @return The text asking the player if they want to do the event
+     */
+    public String getPrompt(int id) {
+        return prompts[id];
+    }
+
+    /**
+     * @return true if the event follows the standard activity rules, false if it has its own code
+     */
+    public boolean isActivity(int id) {
+        return activities[id];
+    }
+
+    /**
+     * @return The energy lost for every hour spent on the event
+     */
+    public int getEnergyCost(int id) {
+        return energyCosts[id];
+    }
+
+    /**
+     * @return The least hours the event can take, used when the player doesn't pick an option
+     */
+    public int getMinHours(int id) {
+        return minHours[id];
+    }
+
+    /**
+     * @return The most hours the event can take, if higher than getMinHours a random amount is picked
+     */
+    public int getMaxHours(int id) {
+        return maxHours[id];
+    }
+
+    /**
+     * @param id The id of the event
+     * @param minutes The time of day in minutes
+     * @return true if the event can be done at this time of day
+     */
+    public boolean isOpen(int id, int minutes) {
+        if (minutes >= latestMinutes[id]) {
+            return false;
+        }
+        return earliestMinutes[id] == 0 || minutes > earliestMinutes[id];
+    }
+
+    /**
+     * @return Study hours gained for every hour spent on the event
+     */
+    public int getStudyHours(int id) {
+        return studyHours[id];
+    }
+
+    /**
+     * @return Recreational hours gained for every hour spent on the event
+     */
+    public int getRecreationHours(int id) {
+        return recreationHours[id];
+    }
+
+    /**
+     * @return The hours of each option the player can pick from, empty if there are no options
+     */
+    public int[] getOptionHours(int id) {
+        return optionHours[id];
+    }
+
+    /**
+     * @return The text of each option the player can pick from
+     */
+    public String[] getOptionLabels(int id) {
+        return optionLabels[id];
+    }
+
+    /**
+     * @return The topics a random few of which are offered to the player, empty if there are none
+     */
+    public String[] getTopics(int id) {
+        return topics[id];
+    }
+
+    /**
+     * @return The number of topics to offer the player
+     */
+    public int getTopicChoices(int id) {
+        return topicChoices[id];
+    }
+
+    public String getAskText(int id) {
+        return askTexts[id];
+    }
+
+    public String getEarlyText(int id) {
+        return earlyTexts[id];
+    }
+
+    public String getTiredText(int id) {
+        return tiredTexts[id];
+    }
+
+    /**
+     * @return The text shown if the player can't afford the chosen option, or null if it isn't checked
+     */
+    public String getNotEnoughText(int id) {
+        return notEnoughTexts[id];
+    }
+
+    public String getDoneText(int id) {
+        return doneTexts[id];
+    }
+
+    /**
+     * @return The source of the event's script, or null if it doesn't have one
+     * @see ScriptCompiler
+     */
+    public String getScript(int id) {
+        return scripts[id];
+    }
+}
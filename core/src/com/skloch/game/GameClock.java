@@ -0,0 +1,79 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The game's clock, in whole game minutes since midnight at the start of day 1.
+ * <p></p>
+ * Anything that depends on the time (the day changing, scheduled events, event streaks) listens to the clock and
+ * is told the start and end of each jump in time, rather than being ticked once per minute or per day.
+ * Each listener works out the effect of the whole jump at once, so sleeping through the night costs the same as
+ * a single frame.
+ */
+public class GameClock {
+    public static final int MINUTES_PER_DAY = 1440;
+
+    /**
+     * Something that changes as time passes
+     */
+    public interface Listener {
+        /**
+         * Applies everything that happens between two times in one go
+         *
+         * @param fromMinute The game minute before the jump
+         * @param toMinute The game minute after the jump, always later than fromMinute
+         */
+        void advance(int fromMinute, int toMinute);
+    }
+
+    private final Array<Listener> listeners = new Array<>();
+    private int minute;
+
+    /**
+     * @param startMinute The game minute the clock starts at
+     */
+    public GameClock(int startMinute) {
+        this.minute = startMinute;
+    }
+
+    /**
+     * @param listener Told about every jump in time, listeners are told in the order they are added
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Moves the clock forward and tells every listener about the jump once
+     *
+     * @param toMinute The new game minute, nothing happens if this isn't later than the current one
+     */
+    public void advanceTo(int toMinute) {
+        if (toMinute <= minute) {
+            return;
+        }
+        int fromMinute = minute;
+        minute = toMinute;
+        for (int i = 0; i < listeners.size; i++) {
+            listeners.get(i).advance(fromMinute, toMinute);
+        }
+    }
+
+    /**
+     * @return The game minute the clock is at
+     */
+    public int getMinute() {
+        return minute;
+    }
+
+    /**
+     * @return The number of times midnight passes between two game minutes
+     */
+    public static int getDaysCrossed(int fromMinute, int toMinute) {
+        return Math.floorDiv(toMinute, MINUTES_PER_DAY) - Math.floorDiv(fromMinute, MINUTES_PER_DAY);
+    }
+}
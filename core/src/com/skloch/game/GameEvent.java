@@ -0,0 +1,11 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Something that happened in the game which is sent out on the GameEventBus.
+ * Events are pooled and reused, so each type needs a public no-argument constructor and a reset() that clears
+ * every field.
+ */
+public abstract class GameEvent implements Pool.Poolable {
+}
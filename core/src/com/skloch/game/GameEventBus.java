@@ -0,0 +1,215 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ReflectionPool;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets parts of the game react to things happening (an activity being done, the player sleeping) without the
+ * code that makes them happen needing to know about every reaction.
+ * <p></p>
+ * Events are typed, a subscriber only receives events of the class it subscribed to. Event objects are pooled,
+ * get one with obtain(), fill in its fields then pass it to publish(). The bus frees it once every subscriber
+ * has seen it, so subscribers must not keep a reference to an event after handling it.
+ * <p></p>
+ * Synchronous subscribers are run straight away on the thread that published the event, which should be the
+ * render thread. Asynchronous subscribers are run in order on a single background thread, fed by a lock-free
+ * queue, so slow work like saving or telemetry never holds up a frame.
+ */
+public class GameEventBus implements Disposable {
+    private static final int INITIAL_POOL_SIZE = 16;
+
+    /**
+     * Receives events of one type from the bus
+     * @param <T> The type of event
+     */
+    public interface Subscriber<T extends GameEvent> {
+        void handle(T event);
+    }
+
+    private final ConcurrentHashMap<Class<?>, List<Subscriber<?>>> syncSubscribers;
+    private final ConcurrentHashMap<Class<?>, List<Subscriber<?>>> asyncSubscribers;
+    private final ConcurrentHashMap<Class<?>, Pool<? extends GameEvent>> pools;
+    private final ConcurrentLinkedQueue<GameEvent> asyncQueue;
+    private final AtomicBoolean drainScheduled;
+    private final ExecutorService executor;
+    private volatile boolean disposed = false;
+
+    public GameEventBus() {
+        syncSubscribers = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
+        pools = new ConcurrentHashMap<>();
+        asyncQueue = new ConcurrentLinkedQueue<>();
+        drainScheduled = new AtomicBoolean(false);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Event bus");
+            // Don't keep the game open just for this thread
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribes to events of a type, the subscriber is run on the render thread as soon as an event is published
+     *
+     * @param type The class of event to receive
+     * @param subscriber The subscriber to run
+     */
+    public <T extends GameEvent> void subscribe(Class<T> type, Subscriber<T> subscriber) {
+        subscribe(type, subscriber, false);
+    }
+
+    /**
+     * Subscribes to events of a type
+     *
+     * @param type The class of event to receive
+     * @param subscriber The subscriber to run
+     * @param async true to run the subscriber on the background thread, it must not touch the UI or any GL state
+     */
+    public <T extends GameEvent> void subscribe(Class<T> type, Subscriber<T> subscriber, boolean async) {
+        ConcurrentHashMap<Class<?>, List<Subscriber<?>>> subscribers = async ? asyncSubscribers : syncSubscribers;
+        subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Stops a subscriber receiving events
+     *
+     * @param type The class of event it subscribed to
+     * @param subscriber The subscriber to remove
+     */
+    public <T extends GameEvent> void unsubscribe(Class<T> type, Subscriber<T> subscriber) {
+        List<Subscriber<?>> subscribers = syncSubscribers.get(type);
+        if (subscribers != null) {
+            subscribers.remove(subscriber);
+        }
+        subscribers = asyncSubscribers.get(type);
+        if (subscribers != null) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    /**
+     * Gets an event from the pool to fill in and publish
+     *
+     * @param type The class of event, must have a public no-argument constructor
+     * @return A reset event of that type
+     */
+    public <T extends GameEvent> T obtain(Class<T> type) {
+        Pool<T> pool = getPool(type);
+        synchronized (pool) {
+            return pool.obtain();
+        }
+    }
+
+    /**
+     * Sends an event to every subscriber of its type.
+     * Synchronous subscribers have all been run when this returns, asynchronous ones are run later.
+     *
+     * @param event An event from obtain(), it belongs to the bus after this is called
+     */
+    public void publish(GameEvent event) {
+        dispatch(event, syncSubscribers.get(event.getClass()));
+
+        List<Subscriber<?>> background = asyncSubscribers.get(event.getClass());
+        if (disposed || background == null || background.isEmpty()) {
+            free(event);
+            return;
+        }
+        asyncQueue.offer(event);
+        scheduleDrain();
+    }
+
+    /**
+     * @return The number of events waiting for asynchronous subscribers
+     */
+    public int getPendingCount() {
+        return asyncQueue.size();
+    }
+
+    /**
+     * Stops the background thread, any events still waiting for asynchronous subscribers are handled first
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        executor.shutdown();
+    }
+
+    /**
+     * Starts the background thread draining the queue if it isn't already
+     */
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainAsync);
+            } catch (Exception e) {
+                // The bus has been disposed, nothing will handle the queue now
+                drainScheduled.set(false);
+                GameEvent event;
+                while ((event = asyncQueue.poll()) != null) {
+                    free(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs on the background thread, hands every queued event to its asynchronous subscribers
+     */
+    private void drainAsync() {
+        GameEvent event;
+        while ((event = asyncQueue.poll()) != null) {
+            try {
+                dispatch(event, asyncSubscribers.get(event.getClass()));
+            } catch (Exception e) {
+                System.out.println("WARNING: Event subscriber failed: " + e);
+            }
+            free(event);
+        }
+        drainScheduled.set(false);
+        // An event may have been queued after the loop finished but before the flag was cleared
+        if (!asyncQueue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(GameEvent event, List<Subscriber<?>> subscribers) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber<?> subscriber : subscribers) {
+            ((Subscriber<GameEvent>) subscriber).handle(event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends GameEvent> Pool<T> getPool(Class<T> type) {
+        return (Pool<T>) pools.computeIfAbsent(type, key -> {
+            Pool<T> pool = new ReflectionPool<>(type, INITIAL_POOL_SIZE);
+            // Make the events now rather than during the first few frames
+            pool.fill(INITIAL_POOL_SIZE);
+            return pool;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void free(GameEvent event) {
+        Pool<GameEvent> pool = (Pool<GameEvent>) pools.get(event.getClass());
+        if (pool == null) {
+            // Not from obtain(), nothing to return it to
+            return;
+        }
+        synchronized (pool) {
+            pool.free(event);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Sits between the keyboard and the game so that a play session can be recorded and replayed exactly.
+ * <p></p>
+ * Every frame of GameScreen is one tick. For each tick the frame time, which movement keys are held and any
+ * keys pressed (used to pick dialogue options) are stored. The random seed used by EventManager is stored too,
+ * so a replayed session makes the same choices as the original.
+ * <p></p>
+ * In LIVE mode nothing is stored and the keyboard is read as normal.
+ * In RECORD mode the keyboard is read as normal and every tick is written to a binary log file.
+ * In REPLAY mode the keyboard is ignored and ticks are read back from a log file instead.
+ */
+public class GameInput {
+    public enum Mode {LIVE, RECORD, REPLAY}
+
+    private static final int MAGIC = 0x48485250; // "HHRP"
+    private static final short VERSION = 1;
+    // The keys that can be held down to move, each one gets a bit in the movement mask
+    private static final int[] MOVEMENT_KEYS = {
+            Input.Keys.LEFT, Input.Keys.A,
+            Input.Keys.RIGHT, Input.Keys.D,
+            Input.Keys.UP, Input.Keys.W,
+            Input.Keys.DOWN, Input.Keys.S
+    };
+
+    private Mode mode;
+    private final String logPath;
+    private boolean fastReplay;
+    private long seed;
+    private int avatarChoice;
+    private String playerName;
+
+    private DataOutputStream recordStream;
+    private DataInputStream replayStream;
+    private boolean sessionActive = false;
+
+    // State of the current tick
+    private float tickDelta;
+    private int movementMask;
+    private final IntArray pendingKeys;
+    private final IntArray tickKeys;
+    private int ticks;
+    private long sessionStartNanos;
+
+    /**
+     * Creates a GameInput that just reads from the keyboard
+     */
+    public GameInput() {
+        this(Mode.LIVE, null);
+    }
+
+    /**
+     * @param mode Whether to just read the keyboard, record it or replay a log
+     * @param logPath The local path of the log file to record to or replay from, unused in LIVE mode
+     */
+    public GameInput(Mode mode, String logPath) {
+        this.mode = mode;
+        this.logPath = logPath;
+        pendingKeys = new IntArray();
+        tickKeys = new IntArray();
+        seed = System.nanoTime();
+    }
+
+    /**
+     * In REPLAY mode, reads the header of the log so the avatar and player name to start the game with are known.
+     * Should be called before the game screen is made.
+     *
+     * @return true if a replay is ready to start
+     */
+    public boolean prepareReplay() {
+        if (mode != Mode.REPLAY) {
+            return false;
+        }
+        try {
+            FileHandle file = Gdx.files.local(logPath);
+            replayStream = new DataInputStream(new BufferedInputStream(file.read()));
+            if (replayStream.readInt() != MAGIC || replayStream.readShort() != VERSION) {
+                throw new IOException("Not a replay log");
+            }
+            seed = replayStream.readLong();
+            avatarChoice = replayStream.readByte();
+            playerName = replayStream.readUTF();
+            return true;
+        } catch (Exception e) {
+            System.out.println("WARNING: Couldn't load replay " + logPath + ", playing normally");
+            closeStreams();
+            mode = Mode.LIVE;
+            return false;
+        }
+    }
+
+    /**
+     * Starts a new play session, called when a GameScreen is created.
+     * In RECORD mode a new log is started, in REPLAY mode the log opened by prepareReplay() is read from.
+     *
+     * @param avatarChoice The avatar the player picked
+     * @param playerName The name the player entered
+     */
+    public void startSession(int avatarChoice, String playerName) {
+        endSession();
+        ticks = 0;
+        pendingKeys.clear();
+        tickKeys.clear();
+        sessionStartNanos = System.nanoTime();
+
+        if (mode == Mode.RECORD) {
+            seed = System.nanoTime();
+            this.avatarChoice = avatarChoice;
+            this.playerName = playerName == null ? "" : playerName;
+            try {
+                FileHandle file = Gdx.files.local(logPath);
+                recordStream = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+                recordStream.writeInt(MAGIC);
+                recordStream.writeShort(VERSION);
+                recordStream.writeLong(seed);
+                recordStream.writeByte(avatarChoice);
+                recordStream.writeUTF(this.playerName);
+            } catch (Exception e) {
+                System.out.println("WARNING: Couldn't record to " + logPath);
+                closeStreams();
+                mode = Mode.LIVE;
+            }
+        } else if (mode == Mode.REPLAY) {
+            if (replayStream == null && !prepareReplay()) {
+                return;
+            }
+            if (fastReplay) {
+                // Draw frames as fast as possible
+                Gdx.graphics.setVSync(false);
+                Gdx.graphics.setForegroundFPS(0);
+            }
+        } else {
+            seed = System.nanoTime();
+        }
+        sessionActive = true;
+    }
+
+    /**
+     * Starts a new tick, should be called at the start of every frame of the game.
+     * Captures (or replays) the movement keys and keys pressed since the last tick.
+     *
+     * @param delta The real time since the last frame
+     */
+    public void beginTick(float delta) {
+        tickKeys.clear();
+
+        if (mode == Mode.REPLAY && sessionActive) {
+            try {
+                tickDelta = replayStream.readFloat();
+                movementMask = replayStream.readUnsignedByte();
+                int keyCount = replayStream.readUnsignedByte();
+                for (int i = 0; i < keyCount; i++) {
+                    tickKeys.add(replayStream.readShort());
+                }
+                ticks++;
+            } catch (EOFException e) {
+                finishReplay();
+                beginTick(delta);
+            } catch (IOException e) {
+                System.out.println("WARNING: Replay log is corrupt, stopping replay");
+                finishReplay();
+                beginTick(delta);
+            }
+            return;
+        }
+
+        // Read the keyboard
+        tickDelta = delta;
+        movementMask = 0;
+        for (int i = 0; i < MOVEMENT_KEYS.length; i++) {
+            if (Gdx.input.isKeyPressed(MOVEMENT_KEYS[i])) {
+                movementMask |= 1 << i;
+            }
+        }
+        tickKeys.addAll(pendingKeys);
+        pendingKeys.clear();
+
+        if (mode == Mode.RECORD && sessionActive) {
+            try {
+                recordStream.writeFloat(tickDelta);
+                recordStream.writeByte(movementMask);
+                recordStream.writeByte(Math.min(tickKeys.size, 255));
+                for (int i = 0; i < Math.min(tickKeys.size, 255); i++) {
+                    recordStream.writeShort(tickKeys.get(i));
+                }
+                ticks++;
+            } catch (IOException e) {
+                System.out.println("WARNING: Couldn't write to " + logPath + ", stopping recording");
+                closeStreams();
+                mode = Mode.LIVE;
+            }
+        }
+    }
+
+    /**
+     * Should be called for every key the player presses, stores the key until the next tick.
+     * Keys pressed on the keyboard while replaying are ignored.
+     *
+     * @param keycode The key that was pressed
+     * @return false if the key should be ignored because a replay is running
+     */
+    public boolean keyDown(int keycode) {
+        if (isReplaying()) {
+            return false;
+        }
+        pendingKeys.add(keycode);
+        return true;
+    }
+
+    /**
+     * @return The keys pressed during this tick, these should be handled as if they were just pressed
+     */
+    public IntArray getTickKeys() {
+        return tickKeys;
+    }
+
+    /**
+     * @return The time this tick represents in seconds, the recorded time when replaying
+     */
+    public float getDelta() {
+        return tickDelta;
+    }
+
+    /**
+     * Works like Gdx.input.isKeyPressed for movement keys, but gives recorded values when replaying
+     *
+     * @param keycode A movement key from Input.Keys
+     * @return true if the key is held down during this tick
+     */
+    public boolean isKeyPressed(int keycode) {
+        for (int i = 0; i < MOVEMENT_KEYS.length; i++) {
+            if (MOVEMENT_KEYS[i] == keycode) {
+                return (movementMask & (1 << i)) != 0;
+            }
+        }
+        return !isReplaying() && Gdx.input.isKeyPressed(keycode);
+    }
+
+    /**
+     * @return The seed random events should use this session
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The avatar stored in the replay log
+     */
+    public int getAvatarChoice() {
+        return avatarChoice;
+    }
+
+    /**
+     * @return The player name stored in the replay log
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * @return true if input is currently being read from a log
+     */
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY && sessionActive;
+    }
+
+    /**
+     * @return The current mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @param fastReplay true to replay as fast as possible instead of at real time
+     */
+    public void setFastReplay(boolean fastReplay) {
+        this.fastReplay = fastReplay;
+    }
+
+    /**
+     * @return The number of ticks recorded or replayed this session
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Ends the current session, finishing the log file. Safe to call more than once.
+     */
+    public void endSession() {
+        if (!sessionActive) {
+            return;
+        }
+        sessionActive = false;
+        if (mode == Mode.RECORD) {
+            System.out.printf("Recorded %d ticks to %s%n", ticks, logPath);
+        }
+        closeStreams();
+    }
+
+    /**
+     * Stops replaying once the end of the log is reached, prints how long the replay took and hands control
+     * back to the keyboard
+     */
+    private void finishReplay() {
+        float seconds = (System.nanoTime() - sessionStartNanos) / 1_000_000_000f;
+        System.out.printf("Replay finished: %d ticks in %.2fs (%.1f ticks per second)%n",
+                ticks, seconds, ticks / Math.max(seconds, 0.0001f));
+        closeStreams();
+        sessionActive = false;
+        mode = Mode.LIVE;
+        if (fastReplay) {
+            Gdx.graphics.setVSync(true);
+            Gdx.graphics.setForegroundFPS(60);
+        }
+    }
+
+    private void closeStreams() {
+        try {
+            if (recordStream != null) {
+                recordStream.close();
+            }
+            if (replayStream != null) {
+                replayStream.close();
+            }
+        } catch (IOException e) {
+            System.out.println("WARNING: Couldn't close " + logPath);
+        }
+        recordStream = null;
+        replayStream = null;
+    }
+}
@@ -14,6 +14,10 @@ public class GameObject extends Rectangle {
 
     public float centreY;
 
+    private EventCommand command;
+
+    private String prompt;
+
 
 
     // Create like a normal rectangle
@@ -87,6 +91,30 @@ public class GameObject extends Rectangle {
         }
     }
 
+    /**
+     * Stores the compiled form of this object's event, so interacting with it doesn't need to parse anything
+     * @param command The command made from this object's event and params
+     * @param prompt The text to ask the player before running the command
+     */
+    public void setCommand(EventCommand command, String prompt) {
+        this.command = command;
+        this.prompt = prompt;
+    }
+
+    /**
+     * @return The compiled command of this object's event, or null if it hasn't been compiled
+     */
+    public EventCommand getCommand() {
+        return command;
+    }
+
+    /**
+     * @return The text to ask the player before running this object's command
+     */
+    public String getPrompt() {
+        return prompt;
+    }
+
     /**
      * @param key A key to be checked in the object's properties
      * @return True if the object has a property with this key
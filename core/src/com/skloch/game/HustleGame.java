@@ -2,15 +2,24 @@ package com.skloch.game;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import screens.CreditScreen;
 import screens.GameScreen;
+import screens.LoadingScreen;
 import screens.MenuScreen;
+import screens.SettingsScreen;
 
 /**
  * A class that is initially created by DesktopLauncher, loads consistent files at the start of the game and initialises lots of important classes.
@@ -18,29 +27,52 @@ import screens.MenuScreen;
  */
 public class HustleGame extends Game {
 	public SpriteBatch batch;
+	public Assets assets;
+	// The standalone UI images added to the skin by getUiRegion, released when the game closes
+	private final Array<String> uiImagePaths = new Array<>();
 	public int WIDTH;
 	public int HEIGHT;
 	public Skin skin;
 	public Skin secondarySkin;
+	// Where the skins are loaded from, worked out once in create() as checking the caches reads their sources
+	public String skinPath;
+	public String secondarySkinPath;
 	public String credits;
 	public String tutorialText;
 	public GameScreen gameScreen;
 	public MenuScreen menuScreen;
+	private SettingsScreen settingsScreen;
+	private CreditScreen creditScreen;
 	public ShapeRenderer shapeRenderer;
 	public SoundManager soundManager;
-	public Stage blueBackground;
 	public int[] backgroundLayers;
 	public int[] foregroundLayers;
 	public int[] objectLayers;
 	public String playerName;
+	public RenderPacer renderPacer;
+	public boolean idleRendering = false;
+	public int backgroundFPS = 10;
+	public int foregroundFPS = 60;
+	public GameInput input = new GameInput();
+	public EventTable eventTable;
+	public Achievements achievements;
+	public Telemetry telemetry;
+	public boolean telemetryEnabled = false;
+	public RenderStats renderStats;
+	public boolean renderStatsEnabled = false;
+	private long createNanos;
 
 	public Leaderboard leaderboard;
 
 	public static String PRIMARY_SKIN = "Interface/BlockyInterface.json";
 	public static String SECONDARY_SKIN = "Interface/PlainSkin/plain-james-ui.json";
+	// The primary skin with all the UI art packed into one atlas, made by UiAtlasPacker (gradlew desktop:packUi)
+	public static String PACKED_SKIN = "Interface/ui.json";
 	public static String WHITE_SQUARE_PATH = "Sprites/white_square.png";
+	public static String WHITE_SQUARE_REGION = "white_square";
 	public static String CREDITS_PATH = "Text/credits.txt";
 	public static String TUTORIAL_PATH = "Text/tutorial_text.txt";
+	public static String TELEMETRY_DIRECTORY = "telemetry";
 
 
 	/**
@@ -57,59 +89,294 @@ public class HustleGame extends Game {
 		HEIGHT = height;
 	}
 
+	/**
+	 * Creates the game, optionally only rendering frames when something on screen changes
+	 * @see RenderPacer
+	 *
+	 * @param width Width of the window
+	 * @param height Height of the window
+	 * @param idleRendering true to stop redrawing idle screens at a constant 60 FPS
+	 */
+	public HustleGame (int width, int height, boolean idleRendering) {
+		this(width, height);
+		this.idleRendering = idleRendering;
+	}
+
 	/**
 	 * Loads resources used throughout the game.
-	 * Creates a new spritebatch
-	 * Loads the UI skin to use
-	 * Loads the map and configures which layers are background, foreground and object layers
-	 * Loads a shape renderer for debug options
-	 * Loads a sound manager to play sounds
+	 * Creates the SpriteBatch shared by every Stage
+	 * Queues the skins, sprites, map, music and sounds to load in the background behind a loading screen
+	 * Loads a shape renderer for debug options and the loading bar
 	 * Loads credit and tutorial texts
-	 * Creates a stage with a blue background for screens to use
+	 * Loads the definitions of every event and achievement
+	 * Starts recording telemetry if it was turned on
+	 * Switches to idle rendering if it was requested
+	 * The rest is done in assetsLoaded() once the assets have loaded
 	 */
 	@Override
 	public void create () {
-		batch = new SpriteBatch();
-		skin = new Skin(Gdx.files.internal(PRIMARY_SKIN));
-		secondarySkin = new Skin(Gdx.files.internal(SECONDARY_SKIN));
+		createNanos = System.nanoTime();
+		renderPacer = new RenderPacer();
+		renderPacer.setBackgroundFPS(backgroundFPS);
+		renderPacer.setEnabled(idleRendering);
 
+		// The only SpriteBatch, every Stage is made with it rather than making its own.
+		// Its vertex and index buffers are allocated natively through BufferUtils, so their size can be measured
+		long nativeBytes = BufferUtils.getAllocatedBytesUnsafe();
+		batch = new SpriteBatch();
+		long batchBufferBytes = BufferUtils.getAllocatedBytesUnsafe() - nativeBytes;
 		shapeRenderer = new ShapeRenderer();
-		soundManager = new SoundManager();
 
-		// Make a stage with a blue background that any screen can draw
-		Image blueImage = new Image(new Texture(Gdx.files.internal(WHITE_SQUARE_PATH)));
-		blueImage.setColor(0.53f, 0.81f, 0.92f, 1);
-		blueImage.setName("blue image");
-		blueBackground = new Stage();
-		blueBackground.addActor(blueImage);
+		// Everything with a path constant loads in the background while the loading screen is drawn
+		skinPath = findSkinPath();
+		secondarySkinPath = findSecondarySkinPath();
+		assets = new Assets(skinPath, secondarySkinPath);
+		assets.queueManifest();
+		if (renderStatsEnabled) {
+			renderStats = new RenderStats(batch, batchBufferBytes, assets);
+		}
 
 		credits = readTextFile(CREDITS_PATH);
 		tutorialText = readTextFile(TUTORIAL_PATH);
+		eventTable = new EventTable(Gdx.files.internal(EventTable.EVENTS_PATH));
+		achievements = new Achievements(eventTable);
+		// Telemetry is only recorded if the player asked for it
+		if (telemetryEnabled) {
+			telemetry = new Telemetry(Gdx.files.local(TELEMETRY_DIRECTORY).file(), eventTable);
+			telemetry.start();
+		} else {
+			telemetry = new Telemetry();
+		}
 
 		leaderboard = new Leaderboard();
 
-		this.setScreen(new MenuScreen(this));
+		this.setScreen(new LoadingScreen(this));
+	}
+
+	/**
+	 * Called by the loading screen once every asset in the manifest has loaded.
+	 * Gets the UI skins and makes the sound manager, then goes to the menu
+	 */
+	public void assetsLoaded () {
+		skin = assets.acquire(skinPath, Skin.class);
+		secondarySkin = assets.acquire(secondarySkinPath, Skin.class);
+		soundManager = new SoundManager(assets);
+		if (renderStats != null) {
+			renderStats.startupFinished(createNanos);
+		}
+
+		// If replaying a recorded session, skip the menu and go straight into the game
+		if (input.prepareReplay()) {
+			playerName = input.getPlayerName();
+			this.setScreen(new GameScreen(this, input.getAvatarChoice()));
+		} else {
+			this.setScreen(getMenuScreen());
+		}
 	}
 
 	/**
 	 * Very important, renders the game, remove super.render() to get a black screen
+	 * Nothing is simulated or drawn while the game is paused
 	 */
 	@Override
 	public void render () {
+		if (renderPacer.isPaused()) {
+			return;
+		}
+		if (renderStats != null) {
+			renderStats.frameStarted();
+		}
 		super.render();
+		renderPacer.frameRendered();
+		if (renderStats != null) {
+			renderStats.frameEnded();
+		}
 	}
 
 	/**
-	 * Disposes of elements that are loaded at the start of the game
+	 * Called when the window is minimised, stops the game being simulated or drawn until resume() is called
+	 */
+	@Override
+	public void pause () {
+		renderPacer.setPaused(true);
+		super.pause();
+	}
+
+	/**
+	 * Called when the window is restored after being minimised
+	 */
+	@Override
+	public void resume () {
+		renderPacer.setPaused(false);
+		super.resume();
+	}
+
+	/**
+	 * Called by the window when it gains or loses focus, the game is drawn at a lower frame rate while unfocused
+	 * @param focused true if the window is now focused
+	 */
+	public void setFocused (boolean focused) {
+		if (renderPacer != null) {
+			renderPacer.setFocused(focused);
+		}
+	}
+
+	/**
+	 * Switches screen, and makes sure the new screen gets drawn at least once when using idle rendering
+	 * @param screen The screen to switch to
+	 */
+	@Override
+	public void setScreen (Screen screen) {
+		super.setScreen(screen);
+		renderPacer.requestFrame();
+		if (renderStats != null) {
+			renderStats.screenChanged();
+		}
+	}
+
+	/**
+	 * Gets the menu screen, building it the first time it is asked for.
+	 * The same screen is reused every time the player returns to the menu, and it resets itself when shown.
+	 * @return The game's only MenuScreen
+	 */
+	public MenuScreen getMenuScreen() {
+		if (menuScreen == null) {
+			menuScreen = new MenuScreen(this);
+		}
+		return menuScreen;
+	}
+
+	/**
+	 * Gets the settings screen, building it the first time it is asked for
+	 * @param previousScreen The screen to return to when the settings are closed
+	 * @return The game's only SettingsScreen
+	 */
+	public SettingsScreen getSettingsScreen(Screen previousScreen) {
+		if (settingsScreen == null) {
+			settingsScreen = new SettingsScreen(this, previousScreen);
+		}
+		settingsScreen.previousScreen = previousScreen;
+		return settingsScreen;
+	}
+
+	/**
+	 * Gets the credits screen, building it the first time it is asked for
+	 * @param previousScreen The screen to return to when the credits are closed
+	 * @return The game's only CreditScreen
+	 */
+	public CreditScreen getCreditScreen(Screen previousScreen) {
+		if (creditScreen == null) {
+			creditScreen = new CreditScreen(this, previousScreen);
+		}
+		creditScreen.previousScreen = previousScreen;
+		return creditScreen;
+	}
+
+	/**
+	 * Disposes of elements that are loaded at the start of the game, the menu screens that were built, and the game
+	 * screen if the window is closed mid-game
 	 */
 	@Override
 	public void dispose () {
+		input.endSession();
+		telemetry.stop();
+		// The window can be closed in the middle of a game
+		if (gameScreen != null) {
+			gameScreen.dispose();
+		}
+		// Menu screens are kept for the whole game, so they are only disposed here
+		// The game can be closed while still loading, before any of them exist
+		if (menuScreen != null) {
+			menuScreen.dispose();
+		}
+		if (settingsScreen != null) {
+			settingsScreen.dispose();
+		}
+		if (creditScreen != null) {
+			creditScreen.dispose();
+		}
+		if (soundManager != null) {
+			soundManager.dispose();
+		}
+		if (skin != null) {
+			for (String path : uiImagePaths) {
+				assets.release(path);
+			}
+			assets.release(skinPath);
+			assets.release(secondarySkinPath);
+		}
 		batch.dispose();
-		blueBackground.dispose();
-		skin.dispose();
-		secondarySkin.dispose();
 		shapeRenderer.dispose();
-		soundManager.dispose();
+		// Everything should have been released by now, anything left is a leak
+		assets.reportLeaks();
+		assets.dispose();
+	}
+
+	/**
+	 * @return The packed UI skin if UiAtlasPacker has built it, so the UI is drawn from one texture, or the
+	 * primary skin if not. Uses the skin's binary cache if it has one.
+	 * Reads the cache's sources to check it is fresh, so call once and keep the result, like create() does
+	 */
+	public static String findSkinPath() {
+		return getCachedSkinPath(Gdx.files.internal(PACKED_SKIN).exists() ? PACKED_SKIN : PRIMARY_SKIN);
+	}
+
+	/**
+	 * @return The secondary skin, or its binary cache if it has one. Reads the cache's sources, see findSkinPath()
+	 */
+	public static String findSecondarySkinPath() {
+		return getCachedSkinPath(SECONDARY_SKIN);
+	}
+
+	/**
+	 * Skins are loaded from the binary cache made by SkinCacheWriter (gradlew desktop:cacheSkins) if it exists
+	 * and none of the files it was made from have changed since, which is much quicker than parsing the JSON
+	 * @param skinPath The path of the skin's JSON file
+	 * @return The path to load the skin from
+	 */
+	public static String getCachedSkinPath(String skinPath) {
+		FileHandle cache = Gdx.files.internal(SkinCache.getCachePath(skinPath));
+		if (cache.exists() && SkinCache.isFresh(cache, new InternalFileHandleResolver())) {
+			return cache.path();
+		}
+		return skinPath;
+	}
+
+	/**
+	 * Makes a Stage that draws with the game's shared SpriteBatch, so no Stage makes its own batch
+	 * @param viewport The viewport for the stage
+	 * @return A new stage, disposing it leaves the batch alone
+	 */
+	public Stage createStage(Viewport viewport) {
+		return new Stage(viewport, batch);
+	}
+
+	/**
+	 * Makes a blue image to put behind everything else on a menu stage, so the background is drawn in the same
+	 * batch as the menu rather than by a separate stage
+	 * @return An image that fills the game's width and height
+	 */
+	public Image createBlueBackground() {
+		Image blueImage = new Image(getUiRegion(WHITE_SQUARE_REGION, WHITE_SQUARE_PATH));
+		blueImage.setColor(0.53f, 0.81f, 0.92f, 1);
+		blueImage.setSize(WIDTH, HEIGHT);
+		return blueImage;
+	}
+
+	/**
+	 * Gets a piece of UI art from the skin, which has it in the UI atlas if UiAtlasPacker has been run.
+	 * If not, its own texture is taken from the assets the first time it is asked for and added to the skin.
+	 * @param name The name of the region in the UI atlas
+	 * @param path The image to load if it isn't in the atlas
+	 * @return The region to draw
+	 */
+	public TextureRegion getUiRegion(String name, String path) {
+		if (!skin.has(name, TextureRegion.class) && !skin.has(name, Texture.class)) {
+			// Added as a region, so the skin doesn't dispose a texture the asset manager owns
+			skin.add(name, new TextureRegion(assets.acquire(path, Texture.class)));
+			uiImagePaths.add(path);
+		}
+		return skin.getRegion(name);
 	}
 
 	/**
@@ -58,6 +58,13 @@ public class Leaderboard {
         return maxEntries;
     }
 
+    /**
+     * @return The number of entries on the leaderboard
+     */
+    public int GetEntryCount() {
+        return leaderboardData.size();
+    }
+
     public String GetName(int index) {
         if (index >= leaderboardData.size())
             return "---"; // Return an empty string if the index is out of bounds
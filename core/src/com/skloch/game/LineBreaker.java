@@ -0,0 +1,160 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits text into pages of lines that fit a width, measured with the widths of the font's glyphs so wide
+ * and narrow characters are treated differently.
+ * <p></p>
+ * Text is read once from start to end, lines break at the last space that fits, or mid-word if a word is too
+ * long for a whole line. Existing line breaks are kept.
+ * <p></p>
+ * The pages for recent texts are kept in a least recently used cache, so prompts that come up again and again
+ * are only laid out once. Each LineBreaker is for one font and width, so the text alone is the cache key.
+ */
+public class LineBreaker {
+    private static final int CACHE_SIZE = 32;
+
+    private final BitmapFont.BitmapFontData fontData;
+    private final float maxWidth;
+    private final int linesPerPage;
+    private final Map<String, Array<String>> cache;
+    private int pageLines;
+
+    /**
+     * @param fontData The font the text will be drawn with
+     * @param maxWidth The width each line has to fit in
+     * @param linesPerPage The number of lines on each page
+     */
+    public LineBreaker(BitmapFont.BitmapFontData fontData, float maxWidth, int linesPerPage) {
+        this.fontData = fontData;
+        this.maxWidth = maxWidth;
+        this.linesPerPage = linesPerPage;
+        // An access ordered map drops whichever text was used longest ago once it is full
+        cache = new LinkedHashMap<String, Array<String>>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Array<String>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Gets the pages of some text, from the cache if it was laid out recently.
+     * The returned array is shared, so it shouldn't be changed.
+     *
+     * @param text The text to split up
+     * @return Each page of text, with lines separated by newlines
+     */
+    public Array<String> getPages(String text) {
+        Array<String> pages = cache.get(text);
+        if (pages == null) {
+            pages = breakText(text);
+            cache.put(text, pages);
+        }
+        return pages;
+    }
+
+    /**
+     * Splits text into pages without using the cache
+     *
+     * @param text The text to split up
+     * @return Each page of text, with lines separated by newlines
+     */
+    public Array<String> breakText(String text) {
+        Array<String> pages = new Array<>();
+        StringBuilder page = new StringBuilder();
+        pageLines = 0;
+
+        int lineStart = 0;
+        float lineWidth = 0;
+        // The last space on this line, and the width of the line after it
+        int lastSpace = -1;
+        float widthAfterSpace = 0;
+        BitmapFont.Glyph lastGlyph = null;
+
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            int lineEnd;
+            if (i == length || text.charAt(i) == '\n') {
+                lineEnd = i;
+            } else {
+                char c = text.charAt(i);
+                BitmapFont.Glyph glyph = fontData.getGlyph(c);
+                if (glyph == null) {
+                    glyph = fontData.missingGlyph;
+                }
+                float advance = glyph == null ? 0 : glyph.xadvance * fontData.scaleX;
+                if (lastGlyph != null && glyph != null) {
+                    advance += lastGlyph.getKerning(c) * fontData.scaleX;
+                }
+
+                if (c != ' ' && lineWidth + advance > maxWidth && i > lineStart) {
+                    // Doesn't fit, end the line here and read this character again on the next line
+                    if (lastSpace > lineStart) {
+                        // Move the word onto the next line, dropping the space before it
+                        addLine(pages, page, text, lineStart, lastSpace);
+                        lineStart = lastSpace + 1;
+                        lineWidth = widthAfterSpace;
+                    } else {
+                        // No space to break at, split the word here
+                        addLine(pages, page, text, lineStart, i);
+                        lineStart = i;
+                        lineWidth = 0;
+                        lastGlyph = null;
+                    }
+                    lastSpace = -1;
+                    widthAfterSpace = 0;
+                    i--;
+                    continue;
+                }
+
+                lineWidth += advance;
+                widthAfterSpace += advance;
+                lastGlyph = glyph;
+                if (c == ' ') {
+                    lastSpace = i;
+                    widthAfterSpace = 0;
+                }
+                continue;
+            }
+
+            addLine(pages, page, text, lineStart, lineEnd);
+            lineStart = i + 1;
+            lineWidth = 0;
+            lastSpace = -1;
+            widthAfterSpace = 0;
+            lastGlyph = null;
+        }
+
+        if (page.length() > 0 || pages.size == 0) {
+            pages.add(page.toString());
+        }
+        return pages;
+    }
+
+    // Adds a line to the current page, and moves on to a new page once it's full
+    private void addLine(Array<String> pages, StringBuilder page, String text, int start, int end) {
+        if (pageLines > 0) {
+            page.append('\n');
+        }
+        page.append(text, start, end);
+        pageLines++;
+        if (pageLines == linesPerPage) {
+            pages.add(page.toString());
+            page.setLength(0);
+            pageLines = 0;
+        }
+    }
+
+    /**
+     * @return The number of texts in the cache
+     */
+    public int getCachedCount() {
+        return cache.size();
+    }
+}
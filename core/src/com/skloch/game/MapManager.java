@@ -12,6 +12,7 @@ import screens.GameScreen;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MapManager {
 
@@ -26,6 +27,7 @@ public class MapManager {
     public int interactLayer;
     private Float viewportScalar;
     private GameScreen game;
+    private Assets assets;
 
 
     public MapManager() {
@@ -39,13 +41,24 @@ public class MapManager {
         this.game = game;
     }
 
+    /**
+     * A map manager that takes its maps from the game's assets, so a preloaded map is ready straight away
+     *
+     * @param game The screen to tell when the player is moved to a new map
+     * @param assets The game's assets, maps are released back to them when this is disposed
+     */
+    public MapManager(GameScreen game, Assets assets) {
+        this(game);
+        this.assets = assets;
+    }
+
     public TiledMap loadMap(String mapPath) {
         TiledMap map = null;
         try {
             if (loadedMaps.containsKey(mapPath)) {
                 map =  loadedMaps.get(mapPath);
             } else {
-                map = mapLoader.load(mapPath);
+                map = assets != null ? assets.acquire(mapPath, TiledMap.class) : mapLoader.load(mapPath);
                 loadedMaps.put(mapPath, map);
             }
         } catch (Exception e) {
@@ -136,8 +149,13 @@ public class MapManager {
 
     public void dispose() {
         // Iterate through all the maps and dispose of them
-        for (TiledMap map : loadedMaps.values()) {
-            map.dispose();
+        // Maps from the assets are released instead, they may be used again
+        for (Map.Entry<String, TiledMap> map : loadedMaps.entrySet()) {
+            if (assets != null) {
+                assets.release(map.getKey());
+            } else {
+                map.getValue().dispose();
+            }
         }
         mapRenderer.dispose();
     }
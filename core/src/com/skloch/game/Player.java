@@ -36,6 +36,7 @@ public class Player {
     private GameObject closestObject;
     public boolean frozen;
     public boolean moving;
+    private GameInput input;
 
     public static String SPRITE_ATLAS_PATH = "Sprites/Player/player_sprites.atlas";
 
@@ -47,10 +48,10 @@ public class Player {
      *
      * @param avatar "avatar1" for the more masculine character, "avatar2" for the more feminine character,
      *               player animations are packed in the player_sprites atlas
+     * @param playerAtlas The atlas loaded from SPRITE_ATLAS_PATH, acquired from the game's assets.
+     *                    The player doesn't dispose it
      */
-    public Player (String avatar) {
-        // Load the player's textures from the atlas
-        TextureAtlas playerAtlas = new TextureAtlas(Gdx.files.internal(SPRITE_ATLAS_PATH));
+    public Player (String avatar, TextureAtlas playerAtlas) {
 
         walkingAnimation = new Array<Animation<TextureRegion>>(4);
         idleAnimation = new Array<Animation<TextureRegion>>(4);
@@ -118,25 +119,25 @@ public class Player {
             // Move the player and their 2 other hitboxes
             float deltaX = 0;
             float deltaY = 0;
-            if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) {
+            if (isKeyPressed(Input.Keys.LEFT) || isKeyPressed(Input.Keys.A)) {
                 deltaX -= speed * delta;
 //                this.setX(sprite.getX() - speed * delta); // Note: Setting all the values with a constant delta removes hitbox desyncing issues
                 direction = 3;
                 moving = true;
             }
-            if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)) {
+            if (isKeyPressed(Input.Keys.RIGHT) || isKeyPressed(Input.Keys.D)) {
                 deltaX += speed * delta;
 //                this.setX(sprite.getX() + speed * delta);
                 direction = 1;
                 moving = true;
             }
-            if (Gdx.input.isKeyPressed(Input.Keys.UP) || Gdx.input.isKeyPressed(Input.Keys.W)) {
+            if (isKeyPressed(Input.Keys.UP) || isKeyPressed(Input.Keys.W)) {
                 deltaY += speed * delta;
 //                this.setY(sprite.getY() + speed * delta);
                 direction = 0;
                 moving = true;
             }
-            if (Gdx.input.isKeyPressed(Input.Keys.DOWN) || Gdx.input.isKeyPressed(Input.Keys.S)) {
+            if (isKeyPressed(Input.Keys.DOWN) || isKeyPressed(Input.Keys.S)) {
                 deltaY -= speed * delta;
 //                this.setY(sprite.getY() - speed * delta);
                 direction = 2;
@@ -214,6 +215,26 @@ public class Player {
 
     }
 
+    /**
+     * Sets where the player reads keyboard input from, allowing movement to be recorded and replayed
+     *
+     * @param input The GameInput to read movement keys from
+     */
+    public void setInput (GameInput input) {
+        this.input = input;
+    }
+
+    /**
+     * @param keycode A key from Input.Keys
+     * @return true if the key is held down, read from the GameInput if one has been set
+     */
+    private boolean isKeyPressed (int keycode) {
+        if (input != null) {
+            return input.isKeyPressed(keycode);
+        }
+        return Gdx.input.isKeyPressed(keycode);
+    }
+
     /**
      * Advances the current animation based on the time since the last render
      * The animation frame of the player can be grabbed with getCurrentFrame
@@ -229,6 +250,19 @@ public class Player {
         }
     }
 
+    /**
+     * @return The time in seconds until the player's current animation moves on to its next frame
+     */
+    public float getTimeToNextFrame() {
+        float frameDuration;
+        if (moving) {
+            frameDuration = walkingAnimation.get(direction).getFrameDuration();
+        } else {
+            frameDuration = idleAnimation.get(direction).getFrameDuration();
+        }
+        return frameDuration - (stateTime % frameDuration);
+    }
+
     /**
      * Returns whether the player's eventHitbox overlaps an object
      * Call getClosestObject to get the nearest
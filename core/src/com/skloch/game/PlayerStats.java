@@ -0,0 +1,31 @@
+package com.skloch.game;
+
+/**
+ * The player's stats that activities and sleeping change.
+ * Implemented by GameScreen, and by BalanceSimulator's playthroughs so the simulator applies events with exactly
+ * the same code as the game.
+ *
+ * @see ActivityCompletedEvent#apply(PlayerStats)
+ * @see SleptEvent#apply(PlayerStats)
+ */
+public interface PlayerStats {
+    /**
+     * @param energy The energy to take away, negative to restore energy
+     */
+    void decreaseEnergy(int energy);
+
+    void setEnergy(int energy);
+
+    void addStudyHours(int hours);
+
+    void addRecreationalHours(int hours);
+
+    void addSleptHours(int hours);
+
+    /**
+     * Moves the clock on, ending the game if the seventh day is over
+     *
+     * @param delta The game minutes to pass
+     */
+    void passTime(float delta);
+}
@@ -0,0 +1,241 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Decides when the game should draw a new frame.
+ * <p></p>
+ * Handles the optional idle rendering mode, where the game stops drawing at a fixed 60 FPS and instead only
+ * draws a frame when something on screen has actually changed.
+ * Input events, scene2d Actions, ScrollPanes and TextFields already request frames by themselves, so screens only
+ * need to call requestFrame() for things that move on their own, like scrolling text, the camera or the clock.
+ * <p></p>
+ * Also throttles the game while the window is in the background. When the window loses focus, frames are only
+ * drawn when requested, at most at the background FPS, and when it is minimised nothing is simulated or drawn at all.
+ */
+public class RenderPacer {
+    private boolean idleRendering = false;
+    private boolean focused = true;
+    private boolean paused = false;
+    private int backgroundFPS = 10;
+    private final Timer.Task wakeTask;
+    private long wakeTimeMillis = -1;
+
+    // Used to measure how much work is done while in the background
+    private final ThreadMXBean threadBean;
+    private long backgroundStartMillis;
+    private long backgroundStartCpuNanos;
+    private int backgroundFrames;
+
+    /**
+     * Creates a render pacer with idle rendering turned off, the game renders continuously until setEnabled(true)
+     * is called
+     */
+    public RenderPacer() {
+        wakeTask = new Timer.Task() {
+            @Override
+            public void run() {
+                wakeTimeMillis = -1;
+                Gdx.graphics.requestRendering();
+            }
+        };
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threadBean = bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+    }
+
+    /**
+     * Turns idle rendering on or off. When on, Gdx.graphics is switched to non-continuous rendering.
+     *
+     * @param enabled true to only render frames when requested
+     */
+    public void setEnabled(boolean enabled) {
+        this.idleRendering = enabled;
+        applyRenderingMode();
+    }
+
+    /**
+     * @return true if frames are only rendered when requested, either because of idle rendering or because the
+     * window is in the background
+     */
+    public boolean isEnabled() {
+        return idleRendering || !focused || paused;
+    }
+
+    /**
+     * Sets the maximum frames per second to draw while the window is not focused
+     *
+     * @param fps A frame rate above 0
+     */
+    public void setBackgroundFPS(int fps) {
+        this.backgroundFPS = Math.max(1, fps);
+    }
+
+    /**
+     * @return The maximum frames per second drawn while the window is not focused
+     */
+    public int getBackgroundFPS() {
+        return backgroundFPS;
+    }
+
+    /**
+     * Called by the window when it gains or loses focus.
+     * Starts measuring the time spent in the background when focus is lost, and logs a summary at debug level
+     * once it comes back.
+     *
+     * @param focused true if the window is now focused
+     */
+    public void setFocused(boolean focused) {
+        if (this.focused == focused) {
+            return;
+        }
+        this.focused = focused;
+
+        if (!focused) {
+            backgroundStartMillis = System.currentTimeMillis();
+            backgroundStartCpuNanos = getThreadCpuNanos();
+            backgroundFrames = 0;
+        } else {
+            logBackgroundUsage();
+        }
+
+        applyRenderingMode();
+    }
+
+    /**
+     * @return true if the window currently has focus
+     */
+    public boolean isFocused() {
+        return focused;
+    }
+
+    /**
+     * Called when the game is paused or resumed, e.g. when the window is minimised.
+     * A paused game isn't drawn at all.
+     *
+     * @param paused true if the game is paused
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        applyRenderingMode();
+    }
+
+    /**
+     * @return true if the game is paused and should not be simulated or drawn
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Should be called once after every frame is drawn, counts the frames drawn while the window isn't focused.
+     * No new frame is asked for here. In the background, only frames that something has requested are drawn, at
+     * most at the background FPS, so an idle screen isn't redrawn at all.
+     */
+    public void frameRendered() {
+        if (!focused && !paused) {
+            backgroundFrames++;
+        }
+    }
+
+    /**
+     * Asks for another frame to be drawn straight after this one, does nothing when rendering continuously.
+     * While in the background, the frame is delayed to keep under the background FPS.
+     */
+    public void requestFrame() {
+        if (paused) {
+            return;
+        }
+        if (!focused) {
+            requestFrameIn(1f / backgroundFPS);
+        } else if (idleRendering) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Asks for a frame to be drawn after a number of seconds, for example when the clock next needs to tick over.
+     * If a sooner frame has already been requested, that one is kept.
+     *
+     * @param seconds The time in seconds to wait before drawing the next frame
+     */
+    public void requestFrameIn(float seconds) {
+        if (!isEnabled() || paused) {
+            return;
+        }
+        if (!focused) {
+            seconds = Math.max(seconds, 1f / backgroundFPS);
+        }
+        if (seconds <= 0) {
+            Gdx.graphics.requestRendering();
+            return;
+        }
+
+        long wakeTime = System.currentTimeMillis() + (long) (seconds * 1000);
+        if (wakeTask.isScheduled() && wakeTimeMillis != -1 && wakeTimeMillis <= wakeTime) {
+            return;
+        }
+        wakeTask.cancel();
+        wakeTimeMillis = wakeTime;
+        Timer.schedule(wakeTask, seconds);
+    }
+
+    /**
+     * @return The fraction of one CPU core used by the render thread since the window lost focus, or -1 if the
+     * window is focused or the JVM can't measure thread CPU time
+     */
+    public float getBackgroundCpuUsage() {
+        long elapsedMillis = System.currentTimeMillis() - backgroundStartMillis;
+        if (focused || threadBean == null || elapsedMillis <= 0) {
+            return -1;
+        }
+        long cpuNanos = getThreadCpuNanos() - backgroundStartCpuNanos;
+        return (cpuNanos / 1_000_000f) / elapsedMillis;
+    }
+
+    /**
+     * @return The number of frames drawn since the window lost focus
+     */
+    public int getBackgroundFrames() {
+        return backgroundFrames;
+    }
+
+    /**
+     * Switches Gdx.graphics between continuous and non-continuous rendering depending on the current state
+     */
+    private void applyRenderingMode() {
+        boolean continuous = !isEnabled();
+        if (continuous) {
+            wakeTask.cancel();
+            wakeTimeMillis = -1;
+        }
+        Gdx.graphics.setContinuousRendering(continuous);
+        if (!paused) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Logs how much work the game did while the window was in the background, only shown at the debug log level
+     */
+    private void logBackgroundUsage() {
+        long elapsedMillis = System.currentTimeMillis() - backgroundStartMillis;
+        if (threadBean == null || elapsedMillis <= 0) {
+            return;
+        }
+        long cpuNanos = getThreadCpuNanos() - backgroundStartCpuNanos;
+        Gdx.app.debug("RenderPacer", String.format("Backgrounded for %.1fs: %d frames drawn, %.1f%% render thread CPU",
+                elapsedMillis / 1000f, backgroundFrames, 100f * (cpuNanos / 1_000_000f) / elapsedMillis));
+    }
+
+    private long getThreadCpuNanos() {
+        if (threadBean == null) {
+            return 0;
+        }
+        return threadBean.getCurrentThreadCpuTime();
+    }
+}
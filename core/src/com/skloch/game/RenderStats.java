@@ -0,0 +1,98 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Measures how much work drawing takes, to check that sharing one SpriteBatch between every Stage helps.
+ * <p></p>
+ * Counts the draw calls (flushes) the batch makes each frame and times frames where the screen changes, which
+ * includes building the new screen. Prints a summary every few seconds, along with the textures loaded and
+ * the video memory they use, so textures that are never released show up as a number that keeps growing.
+ * The native memory of the batch's vertex and index buffers is measured when the batch is made, see
+ * HustleGame.create(). Turned on with --render-stats.
+ */
+public class RenderStats {
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final SpriteBatch batch;
+    private final long batchBufferBytes;
+    private final Assets assets;
+    private int frames = 0;
+    private int flushes = 0;
+    private int maxFlushes = 0;
+    private boolean screenChanged = false;
+    private float lastSwitchMillis = 0;
+    private long frameStart;
+    private long lastReport;
+
+    /**
+     * @param batch The SpriteBatch every Stage draws with
+     * @param batchBufferBytes The native memory allocated for the batch's vertex and index buffers when it was made
+     * @param assets The game's assets
+     */
+    public RenderStats(SpriteBatch batch, long batchBufferBytes, Assets assets) {
+        this.batch = batch;
+        this.batchBufferBytes = batchBufferBytes;
+        this.assets = assets;
+        lastReport = System.nanoTime();
+        System.out.printf("SpriteBatch buffers: %d bytes of native memory, measured when the batch was made%n",
+                batchBufferBytes);
+    }
+
+    /**
+     * Call at the start of each frame
+     */
+    public void frameStarted() {
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Call when the screen changes, the frame it happens in is timed
+     */
+    public void screenChanged() {
+        screenChanged = true;
+    }
+
+    /**
+     * Call at the end of each frame, counts the batch's flushes for the frame and prints a report now and then
+     */
+    public void frameEnded() {
+        long now = System.nanoTime();
+        int frameFlushes = batch.totalRenderCalls;
+        batch.totalRenderCalls = 0;
+        frames++;
+        flushes += frameFlushes;
+        maxFlushes = Math.max(maxFlushes, frameFlushes);
+
+        if (screenChanged) {
+            screenChanged = false;
+            lastSwitchMillis = (now - frameStart) / 1_000_000f;
+            System.out.printf("Screen switch took %.2f ms%n", lastSwitchMillis);
+        }
+
+        if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+            System.out.printf("Render stats: %.1f flushes per frame (max %d) over %d frames, 1 SpriteBatch using %d KB of native buffers%n",
+                    flushes / (float) frames, maxFlushes, frames, batchBufferBytes / 1024);
+            System.out.printf("Textures: %d loaded using about %d KB, %d assets in use%n",
+                    assets.getTextureCount(), assets.getTextureBytes() / 1024, assets.getAcquiredPaths().size);
+            frames = flushes = maxFlushes = 0;
+            lastReport = now;
+        }
+    }
+
+    /**
+     * Prints how long the game took to load, to compare loading skins from JSON with loading them from their caches
+     *
+     * @param startNanos When the game started loading, from System.nanoTime()
+     */
+    public void startupFinished(long startNanos) {
+        System.out.printf("Startup took %.2f ms%n", (System.nanoTime() - startNanos) / 1_000_000f);
+    }
+
+    /**
+     * @return How long the last frame that changed screen took, in milliseconds
+     */
+    public float getLastSwitchMillis() {
+        return lastSwitchMillis;
+    }
+}
@@ -0,0 +1,168 @@
+package com.skloch.game;
+
+/**
+ * Adjusts the resolution the world is drawn at to keep frame times within a budget.
+ * <p></p>
+ * Keeps a rolling history of frame times. Once the history is full, the average is compared to the budget:
+ * if it is over the budget the scale is lowered straight away, if it is comfortably under the budget for a while
+ * the scale is raised again. After every change the history is cleared, and the thresholds for lowering and raising
+ * are kept apart so the scale doesn't flip back and forth every second.
+ * <p></p>
+ * Frame times are read from a FrameTimeSource, so tests can feed in simulated times.
+ */
+public class ResolutionScaler {
+    /**
+     * Somewhere to read the time taken by the last frame from, in seconds
+     */
+    public interface FrameTimeSource {
+        float getFrameTime();
+    }
+
+    public static final float MIN_SCALE = 0.5f;
+    public static final float MAX_SCALE = 1f;
+    public static final float SCALE_STEP = 0.125f;
+    public static final int HISTORY_SIZE = 60;
+    // Average must be below budget * HEADROOM for this many full histories in a row before scaling back up
+    public static final float HEADROOM = 0.8f;
+    public static final int WINDOWS_BEFORE_RAISE = 3;
+    // How far over the capped frame time frames can jitter and still count as headroom
+    public static final float CAP_TOLERANCE = 1.05f;
+
+    private final FrameTimeSource source;
+    private final float budget;
+    private final float[] history;
+    private int historyIndex = 0;
+    private int historyCount = 0;
+    private float historyTotal = 0;
+    private int headroomWindows = 0;
+    private float scale = MAX_SCALE;
+    private int scaleChanges = 0;
+
+    /**
+     * @param source Where to read frame times from, e.g. Gdx.graphics::getDeltaTime
+     * @param budget The target time per frame in seconds
+     */
+    public ResolutionScaler(FrameTimeSource source, float budget) {
+        this.source = source;
+        this.budget = budget;
+        this.history = new float[HISTORY_SIZE];
+    }
+
+    /**
+     * Works out a budget for a game whose frame rate is capped, e.g. by a foreground FPS limit or vsync.
+     * A capped frame never takes less than 1 / frameRate, however little there is to draw, so the budget is set
+     * so that frames on time at the cap count as headroom. Otherwise one slow moment lowers the scale for good.
+     *
+     * @param frameRate The frame rate the game is capped at
+     * @return A budget in seconds to pass to the constructor
+     */
+    public static float budgetForFrameRate(int frameRate) {
+        return CAP_TOLERANCE / (frameRate * HEADROOM);
+    }
+
+    /**
+     * Reads the last frame time from the source and adjusts the scale if needed, call once per frame
+     */
+    public void update() {
+        addFrameTime(source.getFrameTime());
+    }
+
+    /**
+     * Adds a frame time to the history, and adjusts the scale if needed
+     *
+     * @param frameTime The time taken by a frame in seconds
+     */
+    public void addFrameTime(float frameTime) {
+        // Overwrite the oldest time in the history
+        if (historyCount == history.length) {
+            historyTotal -= history[historyIndex];
+        } else {
+            historyCount++;
+        }
+        history[historyIndex] = frameTime;
+        historyTotal += frameTime;
+        historyIndex = (historyIndex + 1) % history.length;
+
+        // Only decide once there is a full history to go off
+        if (historyCount < history.length) {
+            return;
+        }
+
+        float average = getAverageFrameTime();
+        if (average > budget) {
+            headroomWindows = 0;
+            setScale(scale - SCALE_STEP);
+        } else if (average < budget * HEADROOM) {
+            headroomWindows++;
+            if (headroomWindows >= WINDOWS_BEFORE_RAISE) {
+                headroomWindows = 0;
+                setScale(scale + SCALE_STEP);
+            } else {
+                clearHistory();
+            }
+        } else {
+            headroomWindows = 0;
+            clearHistory();
+        }
+    }
+
+    /**
+     * @return The scale to draw the world at, between MIN_SCALE and MAX_SCALE
+     */
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * @return The number of times the scale has changed since this was created
+     */
+    public int getScaleChanges() {
+        return scaleChanges;
+    }
+
+    /**
+     * @return The target time per frame in seconds
+     */
+    public float getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return The average of the frame times currently in the history, or 0 if it is empty
+     */
+    public float getAverageFrameTime() {
+        if (historyCount == 0) {
+            return 0;
+        }
+        return historyTotal / historyCount;
+    }
+
+    /**
+     * Copies the frame time history into an array, oldest first
+     *
+     * @param out An array at least HISTORY_SIZE long to copy into
+     * @return The number of frame times copied
+     */
+    public int getFrameTimeHistory(float[] out) {
+        int start = historyCount == history.length ? historyIndex : 0;
+        for (int i = 0; i < historyCount; i++) {
+            out[i] = history[(start + i) % history.length];
+        }
+        return historyCount;
+    }
+
+    private void setScale(float newScale) {
+        newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, newScale));
+        if (newScale != scale) {
+            scale = newScale;
+            scaleChanges++;
+        }
+        clearHistory();
+    }
+
+    private void clearHistory() {
+        historyIndex = 0;
+        historyCount = 0;
+        historyTotal = 0;
+    }
+}
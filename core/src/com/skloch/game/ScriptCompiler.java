@@ -0,0 +1,649 @@
+package com.skloch.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compiles the small scripting language used for events in Text/events.json into Java lambdas.
+ * Scripts are compiled once when the game loads, running one is then just a few lambda calls with no parsing.
+ * Any part of an expression that only uses constants is worked out at compile time, and if statements with a
+ * constant condition are replaced by the branch that would run.
+ * <p></p>
+ * Statements:
+ * <pre>
+ * say "text"                          show some text
+ * ask "question" {                    show some text with options, each option runs its own block
+ *     "Yes": { ... }
+ *     "No": { exit }
+ * }
+ * if condition { ... } else { ... }   else is optional, "else if" works too
+ * energy -= 10                        also +=
+ * time += 2                           pass a number of hours
+ * study += 2                          add study hours
+ * fun += 1                            add recreational hours
+ * exit                                close the dialogue box
+ * # comment                           ignored until the end of the line
+ * </pre>
+ * Expressions are ints or strings. Ints support + - * / % == != &lt; &lt;= &gt; &gt;= &amp;&amp; || and !,
+ * conditions are true if not 0. Adding anything to a string joins them together.
+ * Variables: energy, hour, minute (minutes since midnight), day (ints) and meal (a string).
+ * Functions: random(min, max), min(a, b), max(a, b)
+ */
+public class ScriptCompiler {
+    private enum TokenType {NUMBER, STRING, IDENTIFIER, SYMBOL, END}
+
+    private static final EventScript NO_OP = context -> {};
+
+    private final String name;
+    private final List<TokenType> types = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final List<Integer> lines = new ArrayList<>();
+    private int position = 0;
+
+    private ScriptCompiler(String name, String source) {
+        this.name = name;
+        tokenise(source);
+    }
+
+    /**
+     * Compiles a script
+     *
+     * @param name The name of the script, used in error messages
+     * @param source The source of the script
+     * @return The compiled script
+     * @throws RuntimeException If the script has a syntax or type error
+     */
+    public static EventScript compile(String name, String source) {
+        ScriptCompiler compiler = new ScriptCompiler(name, source);
+        List<EventScript> statements = new ArrayList<>();
+        while (compiler.peekType() != TokenType.END) {
+            statements.add(compiler.statement());
+        }
+        return sequence(statements);
+    }
+
+    // Tokeniser
+
+    private void tokenise(String source) {
+        int line = 1;
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                while (i < source.length() && source.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < source.length() && Character.isDigit(source.charAt(i))) {
+                    i++;
+                }
+                addToken(TokenType.NUMBER, source.substring(start, i), line);
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < source.length() && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                    i++;
+                }
+                addToken(TokenType.IDENTIFIER, source.substring(start, i), line);
+            } else if (c == '"') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= source.length()) {
+                        throw error(line, "String is never closed");
+                    }
+                    char s = source.charAt(i++);
+                    if (s == '"') {
+                        break;
+                    } else if (s == '\\' && i < source.length()) {
+                        char escaped = source.charAt(i++);
+                        text.append(escaped == 'n' ? '\n' : escaped);
+                    } else {
+                        if (s == '\n') {
+                            line++;
+                        }
+                        text.append(s);
+                    }
+                }
+                addToken(TokenType.STRING, text.toString(), line);
+            } else {
+                String two = i + 1 < source.length() ? source.substring(i, i + 2) : "";
+                switch (two) {
+                    case "==": case "!=": case "<=": case ">=": case "&&": case "||": case "+=": case "-=":
+                        addToken(TokenType.SYMBOL, two, line);
+                        i += 2;
+                        continue;
+                }
+                if ("+-*/%<>!(){}:,".indexOf(c) == -1) {
+                    throw error(line, "Unexpected character '" + c + "'");
+                }
+                addToken(TokenType.SYMBOL, String.valueOf(c), line);
+                i++;
+            }
+        }
+        addToken(TokenType.END, "end of script", line);
+    }
+
+    private void addToken(TokenType type, String text, int line) {
+        types.add(type);
+        texts.add(text);
+        lines.add(line);
+    }
+
+    private TokenType peekType() {
+        return types.get(position);
+    }
+
+    private boolean peek(String text) {
+        return peekType() != TokenType.STRING && texts.get(position).equals(text);
+    }
+
+    private String next() {
+        String text = texts.get(position);
+        if (types.get(position) != TokenType.END) {
+            position++;
+        }
+        return text;
+    }
+
+    private void expect(String text) {
+        if (!peek(text)) {
+            throw error("Expected '" + text + "' but found '" + texts.get(position) + "'");
+        }
+        next();
+    }
+
+    private RuntimeException error(String message) {
+        return error(lines.get(position), message);
+    }
+
+    private RuntimeException error(int line, String message) {
+        return new RuntimeException("Script error in '" + name + "' on line " + line + ": " + message);
+    }
+
+    // Statements
+
+    private EventScript statement() {
+        if (peekType() != TokenType.IDENTIFIER) {
+            throw error("Expected a statement but found '" + texts.get(position) + "'");
+        }
+        String keyword = next();
+        switch (keyword) {
+            case "say":
+                return sayStatement();
+            case "ask":
+                return askStatement();
+            case "if":
+                return ifStatement();
+            case "exit":
+                return ScriptContext::exit;
+            case "energy":
+            case "time":
+            case "study":
+            case "fun":
+                return statStatement(keyword);
+            default:
+                throw error("Unknown statement '" + keyword + "'");
+        }
+    }
+
+    private EventScript block() {
+        expect("{");
+        List<EventScript> statements = new ArrayList<>();
+        while (!peek("}")) {
+            if (peekType() == TokenType.END) {
+                throw error("Block is never closed");
+            }
+            statements.add(statement());
+        }
+        expect("}");
+        return sequence(statements);
+    }
+
+    private static EventScript sequence(List<EventScript> statements) {
+        if (statements.isEmpty()) {
+            return NO_OP;
+        } else if (statements.size() == 1) {
+            return statements.get(0);
+        }
+        EventScript[] all = statements.toArray(new EventScript[0]);
+        return context -> {
+            for (EventScript statement : all) {
+                statement.run(context);
+            }
+        };
+    }
+
+    private EventScript sayStatement() {
+        Value text = expression();
+        if (text.constant) {
+            String constantText = text.stringValue();
+            return context -> context.say(constantText);
+        }
+        Function<ScriptContext, String> strings = text.strings();
+        return context -> context.say(strings.apply(context));
+    }
+
+    private EventScript askStatement() {
+        Function<ScriptContext, String> question = expression().strings();
+        expect("{");
+        List<String> options = new ArrayList<>();
+        List<EventScript> branches = new ArrayList<>();
+        while (!peek("}")) {
+            Value option = expression();
+            if (!option.constant) {
+                throw error("Option text can't change");
+            }
+            options.add(option.stringValue());
+            expect(":");
+            branches.add(block());
+        }
+        expect("}");
+        if (options.isEmpty()) {
+            throw error("ask needs at least one option");
+        }
+
+        String[] optionArray = options.toArray(new String[0]);
+        EventScript[] branchArray = branches.toArray(new EventScript[0]);
+        return context -> context.ask(question.apply(context), optionArray, branchArray);
+    }
+
+    private EventScript ifStatement() {
+        Value condition = number(expression());
+        EventScript then = block();
+        EventScript otherwise = NO_OP;
+        if (peek("else")) {
+            next();
+            if (peek("if")) {
+                next();
+                otherwise = ifStatement();
+            } else {
+                otherwise = block();
+            }
+        }
+
+        if (condition.constant) {
+            // Only one branch can ever run
+            return condition.intValue() != 0 ? then : otherwise;
+        }
+        ToIntFunction<ScriptContext> test = condition.ints(this);
+        EventScript elseBranch = otherwise;
+        return context -> {
+            if (test.applyAsInt(context) != 0) {
+                then.run(context);
+            } else {
+                elseBranch.run(context);
+            }
+        };
+    }
+
+    private EventScript statStatement(String stat) {
+        boolean subtract;
+        if (peek("+=")) {
+            subtract = false;
+        } else if (peek("-=") && stat.equals("energy")) {
+            subtract = true;
+        } else {
+            throw error("Expected '+=' after " + stat);
+        }
+        next();
+
+        Value amount = expression();
+        if (subtract) {
+            amount = negate(amount);
+        }
+        ToIntFunction<ScriptContext> ints = amount.ints(this);
+        switch (stat) {
+            case "energy":
+                return context -> context.changeEnergy(ints.applyAsInt(context));
+            case "time":
+                return context -> context.passHours(ints.applyAsInt(context));
+            case "study":
+                return context -> context.addStudyHours(ints.applyAsInt(context));
+            default:
+                return context -> context.addRecreationHours(ints.applyAsInt(context));
+        }
+    }
+
+    // Expressions, from lowest to highest precedence
+
+    private Value expression() {
+        Value left = and();
+        while (peek("||")) {
+            next();
+            left = logical("||", left, and());
+        }
+        return left;
+    }
+
+    private Value and() {
+        Value left = comparison();
+        while (peek("&&")) {
+            next();
+            left = logical("&&", left, comparison());
+        }
+        return left;
+    }
+
+    private Value comparison() {
+        Value left = sum();
+        while (peek("==") || peek("!=") || peek("<") || peek("<=") || peek(">") || peek(">=")) {
+            String operator = next();
+            Value right = sum();
+            if (left.isString || right.isString) {
+                left = stringEquality(operator, left, right);
+            } else {
+                left = intOperation(operator, left, right);
+            }
+        }
+        return left;
+    }
+
+    private Value sum() {
+        Value left = product();
+        while (peek("+") || peek("-")) {
+            String operator = next();
+            Value right = product();
+            if (operator.equals("+") && (left.isString || right.isString)) {
+                left = join(left, right);
+            } else {
+                left = intOperation(operator, left, right);
+            }
+        }
+        return left;
+    }
+
+    private Value product() {
+        Value left = unary();
+        while (peek("*") || peek("/") || peek("%")) {
+            String operator = next();
+            left = intOperation(operator, left, unary());
+        }
+        return left;
+    }
+
+    private Value unary() {
+        if (peek("-")) {
+            next();
+            return negate(unary());
+        } else if (peek("!")) {
+            next();
+            Value value = number(unary());
+            if (value.constant) {
+                return Value.of(value.intValue() == 0 ? 1 : 0);
+            }
+            ToIntFunction<ScriptContext> ints = value.ints(this);
+            return Value.ofInts(context -> ints.applyAsInt(context) == 0 ? 1 : 0);
+        }
+        return primary();
+    }
+
+    private Value primary() {
+        TokenType type = peekType();
+        String text = next();
+        switch (type) {
+            case NUMBER:
+                try {
+                    return Value.of(Integer.parseInt(text));
+                } catch (NumberFormatException e) {
+                    throw error("Number is too big: " + text);
+                }
+            case STRING:
+                return Value.of(text);
+            case IDENTIFIER:
+                if (peek("(")) {
+                    return function(text);
+                }
+                return variable(text);
+            default:
+                if (text.equals("(")) {
+                    Value value = expression();
+                    expect(")");
+                    return value;
+                }
+                throw error("Expected a value but found '" + text + "'");
+        }
+    }
+
+    private Value variable(String variable) {
+        switch (variable) {
+            case "energy":
+                return Value.ofInts(ScriptContext::getEnergy);
+            case "hour":
+                return Value.ofInts(ScriptContext::getHour);
+            case "minute":
+                return Value.ofInts(ScriptContext::getMinute);
+            case "day":
+                return Value.ofInts(ScriptContext::getDay);
+            case "meal":
+                return Value.ofStrings(ScriptContext::getMeal);
+            default:
+                throw error("Unknown variable '" + variable + "'");
+        }
+    }
+
+    private Value function(String function) {
+        expect("(");
+        List<Value> args = new ArrayList<>();
+        while (!peek(")")) {
+            args.add(expression());
+            if (!peek(")")) {
+                expect(",");
+            }
+        }
+        expect(")");
+        if (args.size() != 2) {
+            throw error(function + "() takes 2 arguments");
+        }
+
+        Value a = number(args.get(0));
+        Value b = number(args.get(1));
+        switch (function) {
+            case "min":
+                if (a.constant && b.constant) {
+                    return Value.of(Math.min(a.intValue(), b.intValue()));
+                }
+                return intFunction(a, b, Math::min);
+            case "max":
+                if (a.constant && b.constant) {
+                    return Value.of(Math.max(a.intValue(), b.intValue()));
+                }
+                return intFunction(a, b, Math::max);
+            case "random":
+                // Never folded, it should give a different number each time
+                ToIntFunction<ScriptContext> min = a.ints(this);
+                ToIntFunction<ScriptContext> max = b.ints(this);
+                return Value.ofInts(context -> context.random(min.applyAsInt(context), max.applyAsInt(context)));
+            default:
+                throw error("Unknown function '" + function + "'");
+        }
+    }
+
+    private Value intFunction(Value a, Value b, IntBinaryOperator function) {
+        ToIntFunction<ScriptContext> first = a.ints(this);
+        ToIntFunction<ScriptContext> second = b.ints(this);
+        return Value.ofInts(context -> function.applyAsInt(first.applyAsInt(context), second.applyAsInt(context)));
+    }
+
+    private Value negate(Value value) {
+        number(value);
+        if (value.constant) {
+            return Value.of(-value.intValue());
+        }
+        ToIntFunction<ScriptContext> ints = value.ints(this);
+        return Value.ofInts(context -> -ints.applyAsInt(context));
+    }
+
+    private Value logical(String operator, Value left, Value right) {
+        number(left);
+        number(right);
+        if (left.constant) {
+            boolean leftTrue = left.intValue() != 0;
+            // The left side decides the answer on its own, or the answer is just whether the right is true
+            if (operator.equals("&&") != leftTrue) {
+                return Value.of(leftTrue ? 1 : 0);
+            }
+            return right.constant ? Value.of(right.intValue() != 0 ? 1 : 0) : truth(right.ints(this));
+        }
+        ToIntFunction<ScriptContext> l = left.ints(this);
+        ToIntFunction<ScriptContext> r = right.ints(this);
+        if (operator.equals("&&")) {
+            return Value.ofInts(context -> l.applyAsInt(context) != 0 && r.applyAsInt(context) != 0 ? 1 : 0);
+        }
+        return Value.ofInts(context -> l.applyAsInt(context) != 0 || r.applyAsInt(context) != 0 ? 1 : 0);
+    }
+
+    /**
+     * Checks a value is a number
+     * @return The same value
+     */
+    private Value number(Value value) {
+        if (value.isString) {
+            throw error("Expected a number but found a string");
+        }
+        return value;
+    }
+
+    private static Value truth(ToIntFunction<ScriptContext> ints) {
+        return Value.ofInts(context -> ints.applyAsInt(context) != 0 ? 1 : 0);
+    }
+
+    private Value intOperation(String operator, Value left, Value right) {
+        number(left);
+        number(right);
+        if (left.constant && right.constant) {
+            return Value.of(apply(operator, left.intValue(), right.intValue()));
+        }
+        ToIntFunction<ScriptContext> l = left.ints(this);
+        ToIntFunction<ScriptContext> r = right.ints(this);
+        // Each operator gets its own lambda so there's no switch when the script runs
+        switch (operator) {
+            case "+": return Value.ofInts(context -> l.applyAsInt(context) + r.applyAsInt(context));
+            case "-": return Value.ofInts(context -> l.applyAsInt(context) - r.applyAsInt(context));
+            case "*": return Value.ofInts(context -> l.applyAsInt(context) * r.applyAsInt(context));
+            case "/": return Value.ofInts(context -> l.applyAsInt(context) / r.applyAsInt(context));
+            case "%": return Value.ofInts(context -> l.applyAsInt(context) % r.applyAsInt(context));
+            case "==": return Value.ofInts(context -> l.applyAsInt(context) == r.applyAsInt(context) ? 1 : 0);
+            case "!=": return Value.ofInts(context -> l.applyAsInt(context) != r.applyAsInt(context) ? 1 : 0);
+            case "<": return Value.ofInts(context -> l.applyAsInt(context) < r.applyAsInt(context) ? 1 : 0);
+            case "<=": return Value.ofInts(context -> l.applyAsInt(context) <= r.applyAsInt(context) ? 1 : 0);
+            case ">": return Value.ofInts(context -> l.applyAsInt(context) > r.applyAsInt(context) ? 1 : 0);
+            default: return Value.ofInts(context -> l.applyAsInt(context) >= r.applyAsInt(context) ? 1 : 0);
+        }
+    }
+
+    private int apply(String operator, int a, int b) {
+        switch (operator) {
+            case "+": return a + b;
+            case "-": return a - b;
+            case "*": return a * b;
+            case "/":
+            case "%":
+                if (b == 0) {
+                    throw error("Division by zero");
+                }
+                return operator.equals("/") ? a / b : a % b;
+            case "==": return a == b ? 1 : 0;
+            case "!=": return a != b ? 1 : 0;
+            case "<": return a < b ? 1 : 0;
+            case "<=": return a <= b ? 1 : 0;
+            case ">": return a > b ? 1 : 0;
+            default: return a >= b ? 1 : 0;
+        }
+    }
+
+    private Value stringEquality(String operator, Value left, Value right) {
+        boolean equals = operator.equals("==");
+        if (!equals && !operator.equals("!=")) {
+            throw error("Strings can only be compared with == or !=");
+        }
+        if (left.constant && right.constant) {
+            return Value.of(left.stringValue().equals(right.stringValue()) == equals ? 1 : 0);
+        }
+        Function<ScriptContext, String> l = left.strings();
+        Function<ScriptContext, String> r = right.strings();
+        return Value.ofInts(context -> l.apply(context).equals(r.apply(context)) == equals ? 1 : 0);
+    }
+
+    private Value join(Value left, Value right) {
+        if (left.constant && right.constant) {
+            return Value.of(left.stringValue() + right.stringValue());
+        }
+        Function<ScriptContext, String> l = left.strings();
+        Function<ScriptContext, String> r = right.strings();
+        return Value.ofStrings(context -> l.apply(context) + r.apply(context));
+    }
+
+    /**
+     * The result of compiling an expression, either a constant or a lambda that works out an int or a string
+     */
+    private static final class Value {
+        final boolean isString;
+        final boolean constant;
+        private final int constantInt;
+        private final String constantString;
+        private final ToIntFunction<ScriptContext> ints;
+        private final Function<ScriptContext, String> strings;
+
+        private Value(boolean isString, boolean constant, int constantInt, String constantString,
+                      ToIntFunction<ScriptContext> ints, Function<ScriptContext, String> strings) {
+            this.isString = isString;
+            this.constant = constant;
+            this.constantInt = constantInt;
+            this.constantString = constantString;
+            this.ints = ints;
+            this.strings = strings;
+        }
+
+        static Value of(int value) {
+            return new Value(false, true, value, null, context -> value, null);
+        }
+
+        static Value of(String value) {
+            return new Value(true, true, 0, value, null, context -> value);
+        }
+
+        static Value ofInts(ToIntFunction<ScriptContext> ints) {
+            return new Value(false, false, 0, null, ints, null);
+        }
+
+        static Value ofStrings(Function<ScriptContext, String> strings) {
+            return new Value(true, false, 0, null, null, strings);
+        }
+
+        int intValue() {
+            return constantInt;
+        }
+
+        String stringValue() {
+            return isString ? constantString : String.valueOf(constantInt);
+        }
+
+        ToIntFunction<ScriptContext> ints(ScriptCompiler compiler) {
+            if (isString) {
+                throw compiler.error("Expected a number but found a string");
+            }
+            return ints;
+        }
+
+        Function<ScriptContext, String> strings() {
+            if (isString) {
+                return strings;
+            }
+            if (constant) {
+                String text = String.valueOf(constantInt);
+                return context -> text;
+            }
+            ToIntFunction<ScriptContext> numbers = ints;
+            return context -> Integer.toString(numbers.applyAsInt(context));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.skloch.game;
+
+/**
+ * Everything an event script can read or change in the game.
+ * Implemented by EventManager, so compiled scripts call straight into the game with no lookups.
+ *
+ * @see ScriptCompiler
+ */
+public interface ScriptContext {
+    /**
+     * @return The player's energy out of 100
+     */
+    int getEnergy();
+
+    /**
+     * @return The hour of the day, 0 to 23
+     */
+    int getHour();
+
+    /**
+     * @return The minutes since midnight, 0 to 1439
+     */
+    int getMinute();
+
+    /**
+     * @return The day the game is on, starting at 1
+     */
+    int getDay();
+
+    /**
+     * @return "breakfast", "lunch", "dinner" or "food" depending on the time of day
+     */
+    String getMeal();
+
+    /**
+     * @return A random number between min and max inclusive
+     */
+    int random(int min, int max);
+
+    /**
+     * Shows some text in the dialogue box with no options
+     */
+    void say(String text);
+
+    /**
+     * Shows some text in the dialogue box with options to pick from
+     *
+     * @param text The question to ask
+     * @param options The text of each option
+     * @param branches The script to run for each option
+     */
+    void ask(String text, String[] options, EventScript[] branches);
+
+    /**
+     * @param amount The energy to add, negative to take energy away
+     */
+    void changeEnergy(int amount);
+
+    void passHours(int hours);
+
+    void addStudyHours(int hours);
+
+    void addRecreationHours(int hours);
+
+    /**
+     * Closes the dialogue box
+     */
+    void exit();
+}
@@ -0,0 +1,198 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A block of text or list of rows to put straight inside a ScrollPane, which only lays out and draws the rows
+ * that can be seen.
+ * <p></p>
+ * The ScrollPane tells the view which part of it is showing. Each visible row is drawn from one of a few reused
+ * font caches, and a row's text is only laid out when it scrolls into view, so a long text or a list of
+ * thousands of rows costs the same to draw as a few lines.
+ * <p></p>
+ * Text is wrapped into lines with a LineBreaker the first time its size is needed. Lists give their rows through
+ * a Rows object, which is only asked for the rows on screen.
+ */
+public class ScrollingTextView extends Widget implements Cullable {
+    /**
+     * The rows of a list, asked for one row at a time as they scroll into view
+     */
+    public interface Rows {
+        int getRowCount();
+
+        String getRow(int index);
+    }
+
+    private final Label.LabelStyle style;
+    private final BitmapFont font;
+    private final float rowHeight;
+    private final Color drawColor = new Color();
+    private final Array<BitmapFontCache> caches = new Array<>();
+    // The row each cache holds, -1 if none
+    private final IntArray cachedRows = new IntArray();
+    private Rows rows;
+    private String text;
+    private Array<String> lines;
+    private float wrapWidth;
+    private float padLeft = 0;
+    private Rectangle cullingArea;
+
+    /**
+     * @param skin The skin to get the label style from
+     * @param styleName The name of the label style to draw text with
+     */
+    public ScrollingTextView(Skin skin, String styleName) {
+        style = skin.get(styleName, Label.LabelStyle.class);
+        font = style.font;
+        rowHeight = font.getLineHeight();
+    }
+
+    /**
+     * Shows a block of text, wrapped to fit the wrap width. The text isn't wrapped until it is first laid out.
+     *
+     * @param text The text to show, existing line breaks are kept
+     * @param wrapWidth The width lines are wrapped at
+     */
+    public void setText(String text, float wrapWidth) {
+        this.text = text.replace("\r", "");
+        this.wrapWidth = wrapWidth;
+        lines = null;
+        rows = null;
+        refresh();
+    }
+
+    /**
+     * Shows a list of rows, each on one line
+     *
+     * @param rows Gives the rows as they are needed
+     * @param width The width of the list
+     */
+    public void setRows(Rows rows, float width) {
+        this.rows = rows;
+        this.wrapWidth = width;
+        text = null;
+        lines = null;
+        refresh();
+    }
+
+    /**
+     * @param padLeft Space to leave to the left of each row
+     */
+    public void setPadLeft(float padLeft) {
+        this.padLeft = padLeft;
+        invalidateHierarchy();
+    }
+
+    /**
+     * Forgets the rows that have been laid out, call when the list's rows have changed
+     */
+    public void refresh() {
+        for (int i = 0; i < cachedRows.size; i++) {
+            cachedRows.set(i, -1);
+        }
+        invalidateHierarchy();
+    }
+
+    /**
+     * @return The number of rows, wrapping the text first if it hasn't been
+     */
+    public int getRowCount() {
+        if (rows != null) {
+            return rows.getRowCount();
+        }
+        if (text == null) {
+            return 0;
+        }
+        if (lines == null) {
+            // Every line is its own page
+            lines = new LineBreaker(font.getData(), wrapWidth, 1).breakText(text);
+        }
+        return lines.size;
+    }
+
+    private String getRow(int index) {
+        return rows != null ? rows.getRow(index) : lines.get(index);
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return padLeft + wrapWidth;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return getRowCount() * rowHeight;
+    }
+
+    @Override
+    public void setCullingArea(Rectangle cullingArea) {
+        this.cullingArea = cullingArea;
+    }
+
+    /**
+     * @return The first row that is at least partly inside an area
+     */
+    public static int getFirstVisibleRow(float height, float areaTop, float rowHeight) {
+        return Math.max(0, (int) ((height - areaTop) / rowHeight));
+    }
+
+    /**
+     * @return The last row that is at least partly inside an area
+     */
+    public static int getLastVisibleRow(float height, float areaBottom, float rowHeight, int rowCount) {
+        return Math.min(rowCount - 1, (int) ((height - areaBottom) / rowHeight));
+    }
+
+    /**
+     * Draws the rows that are inside the scroll pane's view, laying out any that have just come into view
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        int rowCount = getRowCount();
+        if (rowCount == 0) {
+            return;
+        }
+        float height = getHeight();
+        int first = 0;
+        int last = rowCount - 1;
+        if (cullingArea != null) {
+            first = getFirstVisibleRow(height, cullingArea.y + cullingArea.height, rowHeight);
+            last = getLastVisibleRow(height, cullingArea.y, rowHeight, rowCount);
+        }
+
+        // Enough caches that no two visible rows share one
+        int needed = last - first + 1;
+        while (caches.size < needed) {
+            caches.add(new BitmapFontCache(font, font.usesIntegerPositions()));
+            cachedRows.add(-1);
+        }
+
+        Color color = drawColor.set(getColor());
+        color.a *= parentAlpha;
+        if (style.fontColor != null) {
+            color.mul(style.fontColor);
+        }
+        for (int row = first; row <= last; row++) {
+            int slot = row % caches.size;
+            BitmapFontCache cache = caches.get(slot);
+            if (cachedRows.get(slot) != row) {
+                cache.setText(getRow(row), 0, 0);
+                cachedRows.set(slot, row);
+            }
+            cache.tint(color);
+            cache.setPosition(getX() + padLeft, getY() + height - row * rowHeight);
+            cache.draw(batch);
+        }
+    }
+}
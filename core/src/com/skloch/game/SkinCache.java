@@ -0,0 +1,993 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary copy of a skin's JSON file, so the skin can be built at startup without parsing JSON, reading
+ * each font's .fnt file or setting style fields by reflection.
+ * <p></p>
+ * The cache holds the skin's colors, tinted drawables, each font's metrics and glyphs, and every style as a list
+ * of named fields. Drawables are stored by name and come from the skin's atlas when it is built. Styles are
+ * filled in by a switch over the style types libGDX's widgets use.
+ * <p></p>
+ * The cache also lists every file it was made from: the JSON, the atlas, each .fnt file and the pages of any font
+ * that isn't in the atlas, with a hash of each. isFresh() hashes them again, so the cache is only used while all of them are unchanged.
+ * <p></p>
+ * Made from the JSON by fromJson(), written by SkinCacheWriter (gradlew desktop:cacheSkins), and loaded by
+ * SkinCacheLoader.
+ */
+public class SkinCache {
+    public static final int MAGIC = 0x534b4e43;
+    public static final int VERSION = 2;
+    public static final String SUFFIX = ".skinbin";
+
+    // Kinds of style field value
+    public static final byte DRAWABLE = 1;
+    public static final byte FONT = 2;
+    public static final byte COLOR = 3;
+    public static final byte NAMED_COLOR = 4;
+    public static final byte NUMBER = 5;
+    public static final byte STYLE = 6;
+
+    /**
+     * The style types a cache can hold, a style's type is stored as its index in this array
+     */
+    public static final Class<?>[] STYLE_TYPES = {
+            Button.ButtonStyle.class,
+            TextButton.TextButtonStyle.class,
+            ImageButton.ImageButtonStyle.class,
+            ImageTextButton.ImageTextButtonStyle.class,
+            CheckBox.CheckBoxStyle.class,
+            Label.LabelStyle.class,
+            ScrollPane.ScrollPaneStyle.class,
+            List.ListStyle.class,
+            SelectBox.SelectBoxStyle.class,
+            ProgressBar.ProgressBarStyle.class,
+            Slider.SliderStyle.class,
+            SplitPane.SplitPaneStyle.class,
+            TextField.TextFieldStyle.class,
+            TextTooltip.TextTooltipStyle.class,
+            Touchpad.TouchpadStyle.class,
+            Tree.TreeStyle.class,
+            Window.WindowStyle.class
+    };
+
+    /**
+     * A file the cache was made from, with a hash of what it held at the time
+     */
+    public static class SourceEntry {
+        public String path;
+        public long hash;
+    }
+
+    /**
+     * A font, with the data that would otherwise be read from its .fnt file.
+     * If its pages aren't in the skin's atlas, they are loaded as textures by the AssetManager instead
+     */
+    public static class FontEntry {
+        public String name;
+        public String file;
+        public boolean markupEnabled;
+        public float scaledSize = -1;
+        public boolean inAtlas = true;
+        public BitmapFont.BitmapFontData data;
+    }
+
+    public static class ColorEntry {
+        public String name;
+        public final Color color = new Color();
+    }
+
+    public static class TintEntry {
+        public String name;
+        public String drawable;
+        public final Color color = new Color();
+    }
+
+    /**
+     * One field of a style, what it holds depends on its kind
+     */
+    public static class Field {
+        public String name;
+        public byte kind;
+        public String ref;
+        public final Color color = new Color();
+        public float number;
+    }
+
+    public static class StyleEntry {
+        public int type;
+        public String name;
+        public final Array<Field> fields = new Array<>();
+    }
+
+    public final Array<SourceEntry> sources = new Array<>();
+    public final Array<FontEntry> fonts = new Array<>();
+    public final Array<ColorEntry> colors = new Array<>();
+    public final Array<TintEntry> tints = new Array<>();
+    public final Array<StyleEntry> styles = new Array<>();
+
+    /**
+     * @param className The full name of a style class, as used in skin JSON files
+     * @return The type's index in STYLE_TYPES, or -1 if caches can't hold it
+     */
+    public static int getStyleType(String className) {
+        for (int i = 0; i < STYLE_TYPES.length; i++) {
+            if (STYLE_TYPES[i].getName().equals(className)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param skinPath The path of a skin's JSON file
+     * @return The path its cache is written to
+     */
+    public static String getCachePath(String skinPath) {
+        return skinPath.substring(0, skinPath.lastIndexOf('.')) + SUFFIX;
+    }
+
+    /**
+     * Records a file the cache is made from, along with a hash of what it holds now
+     *
+     * @param file The file, its path must be the one the game loads it from
+     */
+    public void addSource(FileHandle file) {
+        SourceEntry source = new SourceEntry();
+        source.path = file.path().replace('\\', '/');
+        source.hash = hash(file);
+        sources.add(source);
+    }
+
+    /**
+     * @param file A file to hash
+     * @return The CRC32 of the file's contents
+     */
+    public static long hash(FileHandle file) {
+        CRC32 crc = new CRC32();
+        crc.update(file.readBytes());
+        return crc.getValue();
+    }
+
+    /**
+     * Checks a cache is up to date by reading only its list of sources and hashing each one again.
+     * A change to the skin's JSON, its atlas, a font's .fnt file or the pages of a font outside the atlas makes
+     * the cache stale.
+     *
+     * @param cacheFile The cache to check
+     * @param resolver Finds each source from the path it was recorded with
+     * @return true if the cache was made by this version and none of its sources have changed since
+     */
+    public static boolean isFresh(FileHandle cacheFile, FileHandleResolver resolver) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(cacheFile.read()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            for (SourceEntry source : readSources(in)) {
+                FileHandle file = resolver.resolve(source.path);
+                if (!file.exists() || hash(file) != source.hash) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | GdxRuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The pages of every font that isn't in the skin's atlas, which need to be loaded as textures
+     */
+    public Array<String> getPagePaths() {
+        Array<String> paths = new Array<>();
+        for (FontEntry font : fonts) {
+            if (!font.inAtlas) {
+                paths.addAll(font.data.imagePaths);
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Reads a skin's JSON file and the fonts it uses, and records every file read as a source
+     *
+     * @param skinFile The skin's JSON file, its atlas has the same name
+     * @return The cache to write
+     */
+    public static SkinCache fromJson(FileHandle skinFile) {
+        SkinCache cache = new SkinCache();
+        cache.addSource(skinFile);
+        // Like Skin, font pages are looked for in the atlas by the font file's name
+        ObjectSet<String> regionNames = new ObjectSet<>();
+        FileHandle atlasFile = skinFile.sibling(skinFile.nameWithoutExtension() + ".atlas");
+        if (atlasFile.exists()) {
+            cache.addSource(atlasFile);
+            TextureAtlas.TextureAtlasData atlas = new TextureAtlas.TextureAtlasData(atlasFile, atlasFile.parent(), false);
+            for (TextureAtlas.TextureAtlasData.Region region : atlas.getRegions()) {
+                regionNames.add(region.index == -1 ? region.name : region.name + "_" + region.index);
+            }
+        }
+        JsonValue root = new JsonReader().parse(skinFile);
+
+        for (JsonValue section = root.child; section != null; section = section.next) {
+            String type = section.name;
+            if (type.equals(BitmapFont.class.getName())) {
+                for (JsonValue entry = section.child; entry != null; entry = entry.next) {
+                    FontEntry font = new FontEntry();
+                    font.name = entry.name;
+                    FileHandle fontFile = skinFile.parent().child(entry.getString("file"));
+                    font.file = fontFile.path().replace('\\', '/');
+                    font.markupEnabled = entry.getBoolean("markupEnabled", false);
+                    font.scaledSize = entry.getFloat("scaledSize", -1);
+                    font.data = new BitmapFont.BitmapFontData(fontFile, entry.getBoolean("flip", false));
+                    String regionName = fontFile.nameWithoutExtension();
+                    font.inAtlas = regionNames.contains(regionName) || regionNames.contains(regionName + "_0");
+                    cache.fonts.add(font);
+                    cache.addSource(fontFile);
+                    // Pages are only read if they aren't in the atlas, the atlas is a source already
+                    if (!font.inAtlas) {
+                        for (String imagePath : font.data.imagePaths) {
+                            cache.addSource(new FileHandle(imagePath));
+                        }
+                    }
+                }
+            } else if (type.equals(Color.class.getName())) {
+                for (JsonValue entry = section.child; entry != null; entry = entry.next) {
+                    ColorEntry color = new ColorEntry();
+                    color.name = entry.name;
+                    parseColor(cache, entry, color.color);
+                    cache.colors.add(color);
+                }
+            } else if (type.equals(Skin.TintedDrawable.class.getName())) {
+                for (JsonValue entry = section.child; entry != null; entry = entry.next) {
+                    TintEntry tint = new TintEntry();
+                    tint.name = entry.name;
+                    tint.drawable = entry.getString("name");
+                    parseColor(cache, entry.get("color"), tint.color);
+                    cache.tints.add(tint);
+                }
+            } else {
+                int styleType = getStyleType(type);
+                if (styleType == -1) {
+                    throw new RuntimeException("Skin caches can't hold " + type + " from " + skinFile);
+                }
+                for (JsonValue entry = section.child; entry != null; entry = entry.next) {
+                    cache.styles.add(parseStyle(cache, styleType, entry));
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static StyleEntry parseStyle(SkinCache cache, int styleType, JsonValue entry) {
+        StyleEntry style = new StyleEntry();
+        style.type = styleType;
+        style.name = entry.name;
+
+        for (JsonValue value = entry.child; value != null; value = value.next) {
+            if (value.name.equals("parent")) {
+                // Start with a copy of the parent's fields, which must come earlier in the file
+                StyleEntry parent = findStyle(cache, styleType, value.asString());
+                for (Field field : parent.fields) {
+                    putField(style, field);
+                }
+                continue;
+            }
+
+            Field field = new Field();
+            field.name = value.name;
+            if (value.isNumber()) {
+                field.kind = NUMBER;
+                field.number = value.asFloat();
+            } else if (value.isObject()) {
+                field.kind = COLOR;
+                parseColor(cache, value, field.color);
+            } else if (value.isString()) {
+                field.kind = getStringKind(field.name);
+                field.ref = value.asString();
+            } else {
+                throw new RuntimeException("Can't cache " + field.name + " in style " + style.name);
+            }
+            putField(style, field);
+        }
+        return style;
+    }
+
+    // Strings in styles name a font, another style, a color or a drawable, which one depends on the field
+    private static byte getStringKind(String fieldName) {
+        switch (fieldName) {
+            case "font":
+            case "titleFont":
+            case "messageFont":
+                return FONT;
+            case "scrollStyle":
+            case "listStyle":
+            case "label":
+                return STYLE;
+            default:
+                if (fieldName.endsWith("Color") || fieldName.startsWith("fontColor")) {
+                    return NAMED_COLOR;
+                }
+                return DRAWABLE;
+        }
+    }
+
+    // Adds a field, replacing one of the same name taken from a parent
+    private static void putField(StyleEntry style, Field field) {
+        for (int i = 0; i < style.fields.size; i++) {
+            if (style.fields.get(i).name.equals(field.name)) {
+                style.fields.set(i, field);
+                return;
+            }
+        }
+        style.fields.add(field);
+    }
+
+    private static StyleEntry findStyle(SkinCache cache, int styleType, String name) {
+        for (StyleEntry style : cache.styles) {
+            if (style.type == styleType && style.name.equals(name)) {
+                return style;
+            }
+        }
+        throw new RuntimeException("No parent style " + name);
+    }
+
+    // Reads a color the ways a skin can give one, by name, by hex or by its components with alpha defaulting to 1
+    private static void parseColor(SkinCache cache, JsonValue value, Color color) {
+        if (value.isString()) {
+            for (ColorEntry entry : cache.colors) {
+                if (entry.name.equals(value.asString())) {
+                    color.set(entry.color);
+                    return;
+                }
+            }
+            throw new RuntimeException("No color named " + value.asString());
+        }
+        if (value.has("hex")) {
+            color.set(Color.valueOf(value.getString("hex")));
+            return;
+        }
+        color.set(value.getFloat("r", 0), value.getFloat("g", 0), value.getFloat("b", 0), value.getFloat("a", 1));
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeShort(sources.size);
+        for (SourceEntry source : sources) {
+            out.writeUTF(source.path);
+            out.writeLong(source.hash);
+        }
+
+        out.writeShort(fonts.size);
+        for (FontEntry font : fonts) {
+            out.writeUTF(font.name);
+            out.writeUTF(font.file);
+            out.writeBoolean(font.markupEnabled);
+            out.writeFloat(font.scaledSize);
+            out.writeBoolean(font.inAtlas);
+            writeFontData(out, font.data);
+        }
+
+        out.writeShort(colors.size);
+        for (ColorEntry color : colors) {
+            out.writeUTF(color.name);
+            writeColor(out, color.color);
+        }
+
+        out.writeShort(tints.size);
+        for (TintEntry tint : tints) {
+            out.writeUTF(tint.name);
+            out.writeUTF(tint.drawable);
+            writeColor(out, tint.color);
+        }
+
+        out.writeShort(styles.size);
+        for (StyleEntry style : styles) {
+            out.writeByte(style.type);
+            out.writeUTF(style.name);
+            out.writeByte(style.fields.size);
+            for (Field field : style.fields) {
+                out.writeUTF(field.name);
+                out.writeByte(field.kind);
+                if (field.kind == COLOR) {
+                    writeColor(out, field.color);
+                } else if (field.kind == NUMBER) {
+                    out.writeFloat(field.number);
+                } else {
+                    out.writeUTF(field.ref);
+                }
+            }
+        }
+    }
+
+    public static SkinCache read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a skin cache");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Skin cache version " + version + " is not supported, rebuild it");
+        }
+        SkinCache cache = new SkinCache();
+        cache.sources.addAll(readSources(in));
+
+        int fontCount = in.readShort();
+        for (int i = 0; i < fontCount; i++) {
+            FontEntry font = new FontEntry();
+            font.name = in.readUTF();
+            font.file = in.readUTF();
+            font.markupEnabled = in.readBoolean();
+            font.scaledSize = in.readFloat();
+            font.inAtlas = in.readBoolean();
+            font.data = readFontData(in);
+            cache.fonts.add(font);
+        }
+
+        int colorCount = in.readShort();
+        for (int i = 0; i < colorCount; i++) {
+            ColorEntry color = new ColorEntry();
+            color.name = in.readUTF();
+            readColor(in, color.color);
+            cache.colors.add(color);
+        }
+
+        int tintCount = in.readShort();
+        for (int i = 0; i < tintCount; i++) {
+            TintEntry tint = new TintEntry();
+            tint.name = in.readUTF();
+            tint.drawable = in.readUTF();
+            readColor(in, tint.color);
+            cache.tints.add(tint);
+        }
+
+        int styleCount = in.readShort();
+        for (int i = 0; i < styleCount; i++) {
+            StyleEntry style = new StyleEntry();
+            style.type = in.readByte();
+            style.name = in.readUTF();
+            int fieldCount = in.readByte();
+            for (int j = 0; j < fieldCount; j++) {
+                Field field = new Field();
+                field.name = in.readUTF();
+                field.kind = in.readByte();
+                if (field.kind == COLOR) {
+                    readColor(in, field.color);
+                } else if (field.kind == NUMBER) {
+                    field.number = in.readFloat();
+                } else {
+                    field.ref = in.readUTF();
+                }
+                style.fields.add(field);
+            }
+            cache.styles.add(style);
+        }
+        return cache;
+    }
+
+    private static Array<SourceEntry> readSources(DataInputStream in) throws IOException {
+        Array<SourceEntry> sources = new Array<>();
+        int sourceCount = in.readShort();
+        for (int i = 0; i < sourceCount; i++) {
+            SourceEntry source = new SourceEntry();
+            source.path = in.readUTF();
+            source.hash = in.readLong();
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    private static void writeColor(DataOutputStream out, Color color) throws IOException {
+        out.writeFloat(color.r);
+        out.writeFloat(color.g);
+        out.writeFloat(color.b);
+        out.writeFloat(color.a);
+    }
+
+    private static void readColor(DataInputStream in, Color color) throws IOException {
+        color.set(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+    }
+
+    private static void writeFontData(DataOutputStream out, BitmapFont.BitmapFontData data) throws IOException {
+        out.writeBoolean(data.flipped);
+        out.writeByte(data.imagePaths.length);
+        for (String imagePath : data.imagePaths) {
+            out.writeUTF(imagePath);
+        }
+        out.writeFloat(data.padTop);
+        out.writeFloat(data.padRight);
+        out.writeFloat(data.padBottom);
+        out.writeFloat(data.padLeft);
+        out.writeFloat(data.lineHeight);
+        out.writeFloat(data.capHeight);
+        out.writeFloat(data.ascent);
+        out.writeFloat(data.descent);
+        out.writeFloat(data.down);
+        out.writeFloat(data.blankLineScale);
+        out.writeFloat(data.scaleX);
+        out.writeFloat(data.scaleY);
+        out.writeFloat(data.spaceXadvance);
+        out.writeFloat(data.xHeight);
+
+        int glyphCount = 0;
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page != null) {
+                for (BitmapFont.Glyph glyph : page) {
+                    if (glyph != null) {
+                        glyphCount++;
+                    }
+                }
+            }
+        }
+        out.writeInt(glyphCount);
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page != null) {
+                for (BitmapFont.Glyph glyph : page) {
+                    if (glyph != null) {
+                        writeGlyph(out, glyph);
+                    }
+                }
+            }
+        }
+        out.writeBoolean(data.missingGlyph != null);
+        if (data.missingGlyph != null) {
+            writeGlyph(out, data.missingGlyph);
+        }
+    }
+
+    private static BitmapFont.BitmapFontData readFontData(DataInputStream in) throws IOException {
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData();
+        data.flipped = in.readBoolean();
+        data.imagePaths = new String[in.readByte()];
+        for (int i = 0; i < data.imagePaths.length; i++) {
+            data.imagePaths[i] = in.readUTF();
+        }
+        data.padTop = in.readFloat();
+        data.padRight = in.readFloat();
+        data.padBottom = in.readFloat();
+        data.padLeft = in.readFloat();
+        data.lineHeight = in.readFloat();
+        data.capHeight = in.readFloat();
+        data.ascent = in.readFloat();
+        data.descent = in.readFloat();
+        data.down = in.readFloat();
+        data.blankLineScale = in.readFloat();
+        data.scaleX = in.readFloat();
+        data.scaleY = in.readFloat();
+        data.spaceXadvance = in.readFloat();
+        data.xHeight = in.readFloat();
+
+        int glyphCount = in.readInt();
+        for (int i = 0; i < glyphCount; i++) {
+            BitmapFont.Glyph glyph = readGlyph(in);
+            data.setGlyph(glyph.id, glyph);
+        }
+        if (in.readBoolean()) {
+            data.missingGlyph = readGlyph(in);
+        }
+        return data;
+    }
+
+    private static void writeGlyph(DataOutputStream out, BitmapFont.Glyph glyph) throws IOException {
+        out.writeInt(glyph.id);
+        out.writeShort(glyph.srcX);
+        out.writeShort(glyph.srcY);
+        out.writeShort(glyph.width);
+        out.writeShort(glyph.height);
+        out.writeShort(glyph.xoffset);
+        out.writeShort(glyph.yoffset);
+        out.writeShort(glyph.xadvance);
+        out.writeByte(glyph.page);
+        out.writeBoolean(glyph.fixedWidth);
+
+        int kerningCount = 0;
+        if (glyph.kerning != null) {
+            for (byte[] page : glyph.kerning) {
+                if (page != null) {
+                    for (byte amount : page) {
+                        if (amount != 0) {
+                            kerningCount++;
+                        }
+                    }
+                }
+            }
+        }
+        out.writeShort(kerningCount);
+        if (kerningCount > 0) {
+            for (int pageIndex = 0; pageIndex < glyph.kerning.length; pageIndex++) {
+                byte[] page = glyph.kerning[pageIndex];
+                if (page == null) {
+                    continue;
+                }
+                for (int i = 0; i < page.length; i++) {
+                    if (page[i] != 0) {
+                        // Kerning pages hold 512 characters each, the same as glyph pages
+                        out.writeChar(pageIndex * page.length + i);
+                        out.writeByte(page[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static BitmapFont.Glyph readGlyph(DataInputStream in) throws IOException {
+        BitmapFont.Glyph glyph = new BitmapFont.Glyph();
+        glyph.id = in.readInt();
+        glyph.srcX = in.readShort();
+        glyph.srcY = in.readShort();
+        glyph.width = in.readShort();
+        glyph.height = in.readShort();
+        glyph.xoffset = in.readShort();
+        glyph.yoffset = in.readShort();
+        glyph.xadvance = in.readShort();
+        glyph.page = in.readByte();
+        glyph.fixedWidth = in.readBoolean();
+        int kerningCount = in.readShort();
+        for (int i = 0; i < kerningCount; i++) {
+            glyph.setKerning(in.readChar(), in.readByte());
+        }
+        return glyph;
+    }
+
+    /**
+     * Builds the skin the cache was made from, must be called on the render thread
+     *
+     * @param atlas The skin's atlas, which the skin owns and disposes like one loaded from JSON
+     * @param manager The AssetManager that has loaded getPagePaths(), it keeps ownership of those textures
+     * @return The finished skin
+     */
+    public Skin build(TextureAtlas atlas, AssetManager manager) {
+        Skin skin = new Skin(atlas);
+
+        for (FontEntry entry : fonts) {
+            // Font pages are looked up in the atlas by the font file's name, like Skin does
+            String regionName = entry.file.substring(entry.file.lastIndexOf('/') + 1);
+            regionName = regionName.substring(0, regionName.lastIndexOf('.'));
+            entry.data.fontFile = Gdx.files.internal(entry.file);
+            Array<TextureRegion> regions = skin.getRegions(regionName);
+            if (regions == null) {
+                TextureRegion region = skin.optional(regionName, TextureRegion.class);
+                regions = new Array<>();
+                if (region != null) {
+                    regions.add(region);
+                } else {
+                    // Not in the atlas, the pages were loaded as dependencies of the skin
+                    for (String imagePath : entry.data.imagePaths) {
+                        regions.add(new TextureRegion(manager.get(imagePath, Texture.class)));
+                    }
+                }
+            }
+            BitmapFont font = new BitmapFont(entry.data, regions, true);
+            font.getData().markupEnabled = entry.markupEnabled;
+            if (entry.scaledSize != -1) {
+                font.getData().setScale(entry.scaledSize / font.getCapHeight());
+            }
+            skin.add(entry.name, font);
+        }
+
+        for (ColorEntry entry : colors) {
+            skin.add(entry.name, entry.color);
+        }
+
+        for (TintEntry entry : tints) {
+            skin.add(entry.name, skin.newDrawable(entry.drawable, entry.color), Drawable.class);
+        }
+
+        // Styles are built in the order they were written, so styles that use other styles come after them
+        for (StyleEntry entry : styles) {
+            Object style = newStyle(entry.type);
+            for (Field field : entry.fields) {
+                if (!setField(skin, style, field)) {
+                    throw new RuntimeException("Unknown field " + field.name + " in " + STYLE_TYPES[entry.type].getName());
+                }
+            }
+            skin.add(entry.name, style, STYLE_TYPES[entry.type]);
+        }
+        return skin;
+    }
+
+    private static Object newStyle(int type) {
+        switch (type) {
+            case 0: return new Button.ButtonStyle();
+            case 1: return new TextButton.TextButtonStyle();
+            case 2: return new ImageButton.ImageButtonStyle();
+            case 3: return new ImageTextButton.ImageTextButtonStyle();
+            case 4: return new CheckBox.CheckBoxStyle();
+            case 5: return new Label.LabelStyle();
+            case 6: return new ScrollPane.ScrollPaneStyle();
+            case 7: return new List.ListStyle();
+            case 8: return new SelectBox.SelectBoxStyle();
+            case 9: return new ProgressBar.ProgressBarStyle();
+            case 10: return new Slider.SliderStyle();
+            case 11: return new SplitPane.SplitPaneStyle();
+            case 12: return new TextField.TextFieldStyle();
+            case 13: return new TextTooltip.TextTooltipStyle();
+            case 14: return new Touchpad.TouchpadStyle();
+            case 15: return new Tree.TreeStyle();
+            case 16: return new Window.WindowStyle();
+            default: throw new RuntimeException("Unknown style type " + type);
+        }
+    }
+
+    // Sets one field of a style, most specific style class first. Returns false if the style has no such field
+    private static boolean setField(Skin skin, Object style, Field field) {
+        if (style instanceof CheckBox.CheckBoxStyle && setCheckBoxField(skin, (CheckBox.CheckBoxStyle) style, field)) {
+            return true;
+        }
+        if (style instanceof ImageTextButton.ImageTextButtonStyle
+                && setImageTextButtonField(skin, (ImageTextButton.ImageTextButtonStyle) style, field)) {
+            return true;
+        }
+        if (style instanceof TextButton.TextButtonStyle && setTextButtonField(skin, (TextButton.TextButtonStyle) style, field)) {
+            return true;
+        }
+        if (style instanceof ImageButton.ImageButtonStyle && setImageButtonField(skin, (ImageButton.ImageButtonStyle) style, field)) {
+            return true;
+        }
+        if (style instanceof Button.ButtonStyle) {
+            return setButtonField(skin, (Button.ButtonStyle) style, field);
+        }
+        if (style instanceof Slider.SliderStyle && setSliderField(skin, (Slider.SliderStyle) style, field)) {
+            return true;
+        }
+        if (style instanceof ProgressBar.ProgressBarStyle) {
+            return setProgressBarField(skin, (ProgressBar.ProgressBarStyle) style, field);
+        }
+        if (style instanceof Label.LabelStyle) {
+            Label.LabelStyle s = (Label.LabelStyle) style;
+            switch (field.name) {
+                case "font": s.font = font(skin, field); return true;
+                case "fontColor": s.fontColor = color(skin, field); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof ScrollPane.ScrollPaneStyle) {
+            ScrollPane.ScrollPaneStyle s = (ScrollPane.ScrollPaneStyle) style;
+            switch (field.name) {
+                case "background": s.background = drawable(skin, field); return true;
+                case "corner": s.corner = drawable(skin, field); return true;
+                case "hScroll": s.hScroll = drawable(skin, field); return true;
+                case "hScrollKnob": s.hScrollKnob = drawable(skin, field); return true;
+                case "vScroll": s.vScroll = drawable(skin, field); return true;
+                case "vScrollKnob": s.vScrollKnob = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof List.ListStyle) {
+            List.ListStyle s = (List.ListStyle) style;
+            switch (field.name) {
+                case "font": s.font = font(skin, field); return true;
+                case "fontColorSelected": s.fontColorSelected.set(color(skin, field)); return true;
+                case "fontColorUnselected": s.fontColorUnselected.set(color(skin, field)); return true;
+                case "selection": s.selection = drawable(skin, field); return true;
+                case "down": s.down = drawable(skin, field); return true;
+                case "over": s.over = drawable(skin, field); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof SelectBox.SelectBoxStyle) {
+            SelectBox.SelectBoxStyle s = (SelectBox.SelectBoxStyle) style;
+            switch (field.name) {
+                case "font": s.font = font(skin, field); return true;
+                case "fontColor": s.fontColor.set(color(skin, field)); return true;
+                case "overFontColor": s.overFontColor = color(skin, field); return true;
+                case "disabledFontColor": s.disabledFontColor = color(skin, field); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                case "backgroundOver": s.backgroundOver = drawable(skin, field); return true;
+                case "backgroundOpen": s.backgroundOpen = drawable(skin, field); return true;
+                case "backgroundDisabled": s.backgroundDisabled = drawable(skin, field); return true;
+                case "scrollStyle": s.scrollStyle = skin.get(field.ref, ScrollPane.ScrollPaneStyle.class); return true;
+                case "listStyle": s.listStyle = skin.get(field.ref, List.ListStyle.class); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof SplitPane.SplitPaneStyle) {
+            if (field.name.equals("handle")) {
+                ((SplitPane.SplitPaneStyle) style).handle = drawable(skin, field);
+                return true;
+            }
+            return false;
+        }
+        if (style instanceof TextField.TextFieldStyle) {
+            TextField.TextFieldStyle s = (TextField.TextFieldStyle) style;
+            switch (field.name) {
+                case "font": s.font = font(skin, field); return true;
+                case "fontColor": s.fontColor = color(skin, field); return true;
+                case "focusedFontColor": s.focusedFontColor = color(skin, field); return true;
+                case "disabledFontColor": s.disabledFontColor = color(skin, field); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                case "focusedBackground": s.focusedBackground = drawable(skin, field); return true;
+                case "disabledBackground": s.disabledBackground = drawable(skin, field); return true;
+                case "cursor": s.cursor = drawable(skin, field); return true;
+                case "selection": s.selection = drawable(skin, field); return true;
+                case "messageFont": s.messageFont = font(skin, field); return true;
+                case "messageFontColor": s.messageFontColor = color(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof TextTooltip.TextTooltipStyle) {
+            TextTooltip.TextTooltipStyle s = (TextTooltip.TextTooltipStyle) style;
+            switch (field.name) {
+                case "label": s.label = skin.get(field.ref, Label.LabelStyle.class); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                case "wrapWidth": s.wrapWidth = field.number; return true;
+                default: return false;
+            }
+        }
+        if (style instanceof Touchpad.TouchpadStyle) {
+            Touchpad.TouchpadStyle s = (Touchpad.TouchpadStyle) style;
+            switch (field.name) {
+                case "background": s.background = drawable(skin, field); return true;
+                case "knob": s.knob = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof Tree.TreeStyle) {
+            Tree.TreeStyle s = (Tree.TreeStyle) style;
+            switch (field.name) {
+                case "plus": s.plus = drawable(skin, field); return true;
+                case "minus": s.minus = drawable(skin, field); return true;
+                case "plusOver": s.plusOver = drawable(skin, field); return true;
+                case "minusOver": s.minusOver = drawable(skin, field); return true;
+                case "over": s.over = drawable(skin, field); return true;
+                case "selection": s.selection = drawable(skin, field); return true;
+                case "background": s.background = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        if (style instanceof Window.WindowStyle) {
+            Window.WindowStyle s = (Window.WindowStyle) style;
+            switch (field.name) {
+                case "background": s.background = drawable(skin, field); return true;
+                case "titleFont": s.titleFont = font(skin, field); return true;
+                case "titleFontColor": s.titleFontColor.set(color(skin, field)); return true;
+                case "stageBackground": s.stageBackground = drawable(skin, field); return true;
+                default: return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean setButtonField(Skin skin, Button.ButtonStyle s, Field field) {
+        switch (field.name) {
+            case "up": s.up = drawable(skin, field); return true;
+            case "down": s.down = drawable(skin, field); return true;
+            case "over": s.over = drawable(skin, field); return true;
+            case "focused": s.focused = drawable(skin, field); return true;
+            case "disabled": s.disabled = drawable(skin, field); return true;
+            case "checked": s.checked = drawable(skin, field); return true;
+            case "checkedOver": s.checkedOver = drawable(skin, field); return true;
+            case "checkedDown": s.checkedDown = drawable(skin, field); return true;
+            case "checkedFocused": s.checkedFocused = drawable(skin, field); return true;
+            case "pressedOffsetX": s.pressedOffsetX = field.number; return true;
+            case "pressedOffsetY": s.pressedOffsetY = field.number; return true;
+            case "unpressedOffsetX": s.unpressedOffsetX = field.number; return true;
+            case "unpressedOffsetY": s.unpressedOffsetY = field.number; return true;
+            case "checkedOffsetX": s.checkedOffsetX = field.number; return true;
+            case "checkedOffsetY": s.checkedOffsetY = field.number; return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setTextButtonField(Skin skin, TextButton.TextButtonStyle s, Field field) {
+        switch (field.name) {
+            case "font": s.font = font(skin, field); return true;
+            case "fontColor": s.fontColor = color(skin, field); return true;
+            case "downFontColor": s.downFontColor = color(skin, field); return true;
+            case "overFontColor": s.overFontColor = color(skin, field); return true;
+            case "focusedFontColor": s.focusedFontColor = color(skin, field); return true;
+            case "disabledFontColor": s.disabledFontColor = color(skin, field); return true;
+            case "checkedFontColor": s.checkedFontColor = color(skin, field); return true;
+            case "checkedDownFontColor": s.checkedDownFontColor = color(skin, field); return true;
+            case "checkedOverFontColor": s.checkedOverFontColor = color(skin, field); return true;
+            case "checkedFocusedFontColor": s.checkedFocusedFontColor = color(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setImageButtonField(Skin skin, ImageButton.ImageButtonStyle s, Field field) {
+        switch (field.name) {
+            case "imageUp": s.imageUp = drawable(skin, field); return true;
+            case "imageDown": s.imageDown = drawable(skin, field); return true;
+            case "imageOver": s.imageOver = drawable(skin, field); return true;
+            case "imageDisabled": s.imageDisabled = drawable(skin, field); return true;
+            case "imageChecked": s.imageChecked = drawable(skin, field); return true;
+            case "imageCheckedDown": s.imageCheckedDown = drawable(skin, field); return true;
+            case "imageCheckedOver": s.imageCheckedOver = drawable(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setImageTextButtonField(Skin skin, ImageTextButton.ImageTextButtonStyle s, Field field) {
+        switch (field.name) {
+            case "imageUp": s.imageUp = drawable(skin, field); return true;
+            case "imageDown": s.imageDown = drawable(skin, field); return true;
+            case "imageOver": s.imageOver = drawable(skin, field); return true;
+            case "imageDisabled": s.imageDisabled = drawable(skin, field); return true;
+            case "imageChecked": s.imageChecked = drawable(skin, field); return true;
+            case "imageCheckedDown": s.imageCheckedDown = drawable(skin, field); return true;
+            case "imageCheckedOver": s.imageCheckedOver = drawable(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setCheckBoxField(Skin skin, CheckBox.CheckBoxStyle s, Field field) {
+        switch (field.name) {
+            case "checkboxOn": s.checkboxOn = drawable(skin, field); return true;
+            case "checkboxOff": s.checkboxOff = drawable(skin, field); return true;
+            case "checkboxOnOver": s.checkboxOnOver = drawable(skin, field); return true;
+            case "checkboxOver": s.checkboxOver = drawable(skin, field); return true;
+            case "checkboxOnDisabled": s.checkboxOnDisabled = drawable(skin, field); return true;
+            case "checkboxOffDisabled": s.checkboxOffDisabled = drawable(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setProgressBarField(Skin skin, ProgressBar.ProgressBarStyle s, Field field) {
+        switch (field.name) {
+            case "background": s.background = drawable(skin, field); return true;
+            case "disabledBackground": s.disabledBackground = drawable(skin, field); return true;
+            case "knob": s.knob = drawable(skin, field); return true;
+            case "disabledKnob": s.disabledKnob = drawable(skin, field); return true;
+            case "knobBefore": s.knobBefore = drawable(skin, field); return true;
+            case "knobAfter": s.knobAfter = drawable(skin, field); return true;
+            case "disabledKnobBefore": s.disabledKnobBefore = drawable(skin, field); return true;
+            case "disabledKnobAfter": s.disabledKnobAfter = drawable(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean setSliderField(Skin skin, Slider.SliderStyle s, Field field) {
+        switch (field.name) {
+            case "backgroundOver": s.backgroundOver = drawable(skin, field); return true;
+            case "backgroundDown": s.backgroundDown = drawable(skin, field); return true;
+            case "knobOver": s.knobOver = drawable(skin, field); return true;
+            case "knobDown": s.knobDown = drawable(skin, field); return true;
+            case "knobBeforeOver": s.knobBeforeOver = drawable(skin, field); return true;
+            case "knobBeforeDown": s.knobBeforeDown = drawable(skin, field); return true;
+            case "knobAfterOver": s.knobAfterOver = drawable(skin, field); return true;
+            case "knobAfterDown": s.knobAfterDown = drawable(skin, field); return true;
+            default: return false;
+        }
+    }
+
+    private static Drawable drawable(Skin skin, Field field) {
+        return skin.getDrawable(field.ref);
+    }
+
+    private static BitmapFont font(Skin skin, Field field) {
+        return skin.getFont(field.ref);
+    }
+
+    private static Color color(Skin skin, Field field) {
+        if (field.kind == NAMED_COLOR) {
+            return skin.getColor(field.ref);
+        }
+        return new Color(field.color);
+    }
+}
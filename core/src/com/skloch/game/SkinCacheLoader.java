@@ -0,0 +1,63 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Loads a skin from a SkinCache file for the AssetManager, used for any skin path ending in SkinCache.SUFFIX.
+ * The cache is read on the loading thread, and the skin is built from it on the render thread once its atlas has
+ * loaded. Like SkinLoader, the atlas has the same name as the skin. Pages of fonts that aren't in the atlas are
+ * loaded as textures alongside it, so the AssetManager owns every texture the skin uses.
+ */
+public class SkinCacheLoader extends AsynchronousAssetLoader<Skin, SkinCacheLoader.SkinCacheParameter> {
+    private SkinCache cache;
+
+    public static class SkinCacheParameter extends AssetLoaderParameters<Skin> {
+    }
+
+    public SkinCacheLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    /**
+     * Reads the cache, as it lists the font pages that need loading along with the atlas
+     */
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, SkinCacheParameter parameter) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            cache = SkinCache.read(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Couldn't read skin cache " + fileName, e);
+        }
+        Array<AssetDescriptor> dependencies = new Array<>();
+        dependencies.add(new AssetDescriptor<>(file.pathWithoutExtension() + ".atlas", TextureAtlas.class));
+        for (String pagePath : cache.getPagePaths()) {
+            dependencies.add(new AssetDescriptor<>(pagePath, Texture.class));
+        }
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, SkinCacheParameter parameter) {
+    }
+
+    @Override
+    public Skin loadSync(AssetManager manager, String fileName, FileHandle file, SkinCacheParameter parameter) {
+        TextureAtlas atlas = manager.get(file.pathWithoutExtension() + ".atlas", TextureAtlas.class);
+        Skin skin = cache.build(atlas, manager);
+        cache = null;
+        return skin;
+    }
+}
@@ -0,0 +1,40 @@
+package com.skloch.game;
+
+/**
+ * Published when the player wakes up after sleeping
+ */
+public class SleptEvent extends GameEvent {
+    public int hours;
+    public float minutesSlept;
+    public int energy;
+
+    /**
+     * Fills in the event for going to bed at a time of day, the player always wakes up at 8am
+     *
+     * @param bedTime The minutes elapsed in the day when the player went to bed
+     */
+    public void set(float bedTime) {
+        minutesSlept = EventManager.getSleepSeconds(bedTime);
+        hours = Math.round(minutesSlept / 60f);
+        energy = EventManager.getSleepEnergy(hours);
+    }
+
+    /**
+     * Changes the player's stats, used by both the game and BalanceSimulator.
+     * The hours slept are added after time passes, so the night that ends the game doesn't count towards the score.
+     *
+     * @param stats The player's stats
+     */
+    public void apply(PlayerStats stats) {
+        stats.setEnergy(energy);
+        stats.passTime(minutesSlept);
+        stats.addSleptHours(hours);
+    }
+
+    @Override
+    public void reset() {
+        hours = 0;
+        minutesSlept = 0;
+        energy = 0;
+    }
+}
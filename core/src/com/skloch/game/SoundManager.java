@@ -1,18 +1,18 @@
 package com.skloch.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Disposable;
 
 /**
- * A class handling loading, playing and disposing of sounds.
+ * A class handling playing sounds, the sounds are loaded by Assets.
  */
 public class SoundManager implements Disposable {
     public Music overworldMusic;
     public Music menuMusic;
     private final Sound footstep1;
     private final Sound footstep2;
+    private final Assets assets;
     public boolean footstepBool;
     private float footstepTimer;
     private float sfxVolume = 0.8f;
@@ -32,24 +32,27 @@ public class SoundManager implements Disposable {
     public static String BUTTON_SOUND_PATH = "Sounds/Button.wav";
 
     /**
-     * A class to handle playing sounds in the game, handles loading and playing of music and sounds
+     * A class to handle playing sounds in the game, handles playing of music and sounds
      * so a GameScreen can just call "play overworld music" without needing to know the track title.
-     * Also handles disposing sounds and music
-     */
-    public SoundManager () {
-        // Load music
-        overworldMusic = Gdx.audio.newMusic(Gdx.files.internal(OVERWORLD_MUSIC_PATH));
+     * The music and sounds are taken from the preloaded assets, and given back when disposed
+     *
+     * @param assets The game's assets, which have usually already loaded every sound
+     */
+    public SoundManager (Assets assets) {
+        this.assets = assets;
+        // Get music
+        overworldMusic = assets.acquire(OVERWORLD_MUSIC_PATH, Music.class);
         overworldMusic.setLooping(true);
-        menuMusic = Gdx.audio.newMusic(Gdx.files.internal(MENU_MUSIC_PATH));
+        menuMusic = assets.acquire(MENU_MUSIC_PATH, Music.class);
         menuMusic.setLooping(true);
 
-        // Load SFX
-        footstep1 = Gdx.audio.newSound(Gdx.files.internal(FOOTSTEP1_PATH));
-        footstep2 = Gdx.audio.newSound(Gdx.files.internal(FOOTSTEP2_PATH));
-        pauseSound = Gdx.audio.newSound(Gdx.files.internal(PAUSE_SOUND_PATH));
-        dialogueOpenSound = Gdx.audio.newSound(Gdx.files.internal(DIALOGUE_OPEN_SOUND_PATH));
-        dialogueOptionSound = Gdx.audio.newSound(Gdx.files.internal(DIALOGUE_OPTION_SOUND_PATH));
-        buttonSound = Gdx.audio.newSound(Gdx.files.internal(BUTTON_SOUND_PATH));
+        // Get SFX
+        footstep1 = assets.acquire(FOOTSTEP1_PATH, Sound.class);
+        footstep2 = assets.acquire(FOOTSTEP2_PATH, Sound.class);
+        pauseSound = assets.acquire(PAUSE_SOUND_PATH, Sound.class);
+        dialogueOpenSound = assets.acquire(DIALOGUE_OPEN_SOUND_PATH, Sound.class);
+        dialogueOptionSound = assets.acquire(DIALOGUE_OPTION_SOUND_PATH, Sound.class);
+        buttonSound = assets.acquire(BUTTON_SOUND_PATH, Sound.class);
     }
 
     /**
@@ -159,16 +162,19 @@ public class SoundManager implements Disposable {
 
 
     /**
-     * Disposes of all music and sound effects
+     * Stops the music and releases all music and sound effects, the assets dispose of them
      */
     @Override
     public void dispose () {
-        overworldMusic.dispose();
-        menuMusic.dispose();
-        footstep1.dispose();
-        footstep2.dispose();
-        pauseSound.dispose();
-        dialogueOpenSound.dispose();
-        dialogueOptionSound.dispose();
+        overworldMusic.stop();
+        menuMusic.stop();
+        assets.release(OVERWORLD_MUSIC_PATH);
+        assets.release(MENU_MUSIC_PATH);
+        assets.release(FOOTSTEP1_PATH);
+        assets.release(FOOTSTEP2_PATH);
+        assets.release(PAUSE_SOUND_PATH);
+        assets.release(DIALOGUE_OPEN_SOUND_PATH);
+        assets.release(DIALOGUE_OPTION_SOUND_PATH);
+        assets.release(BUTTON_SOUND_PATH);
     }
 }
@@ -0,0 +1,296 @@
+package com.skloch.game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records what players do (which activities they pick and when) to local files, for working out how the game
+ * is played. Reading the files is done offline by TelemetryReader.
+ * <p></p>
+ * Records are a fixed 16 bytes and are written into a ring buffer allocated outside the Java heap, so recording
+ * never allocates or blocks the render thread. A background thread drains the buffer every so often and
+ * appends the records to a file, starting a new file when it gets too big and deleting the oldest files.
+ * If the buffer ever fills up before it is drained, new records are dropped and counted rather than waiting.
+ * <p></p>
+ * The buffer has a single writer (the render thread) and a single reader (the drain thread), which only share
+ * the write and read positions, so no locks are needed.
+ * <p></p>
+ * Record layout (big endian): short type, short event id, int game minute, int value, int extra
+ */
+public class Telemetry {
+    public static final int MAGIC = 0x48485445; // "HHTE"
+    public static final short VERSION = 1;
+    public static final int RECORD_SIZE = 16;
+
+    // Record types
+    public static final short EVENT = 1; // value: hours spent, extra: energy lost
+    public static final short TIME_SKIP = 2; // value: minutes skipped
+    public static final short GAME_OVER = 3; // value: score, extra: day reached
+
+    private static final long DRAIN_INTERVAL_NANOS = 250_000_000L;
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final long DEFAULT_MAX_FILE_BYTES = 1024 * 1024;
+    private static final int DEFAULT_MAX_FILES = 8;
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer drainView;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final AtomicLong readIndex = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final File directory;
+    private final String[] eventNames;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final byte[] drainBytes;
+    private DataOutputStream output;
+    private long fileBytes;
+    private int fileNumber;
+
+    private Thread drainThread;
+    private volatile boolean running = false;
+
+    /**
+     * Makes a Telemetry that records nothing, used when telemetry is turned off
+     */
+    public Telemetry() {
+        buffer = null;
+        drainView = null;
+        capacity = mask = 0;
+        directory = null;
+        eventNames = null;
+        maxFileBytes = maxFiles = 0;
+        drainBytes = null;
+    }
+
+    /**
+     * @param directory The folder to write telemetry files to
+     * @param eventTable The event definitions, event ids in the records refer to this
+     */
+    public Telemetry(File directory, EventTable eventTable) {
+        this(directory, getEventNames(eventTable), DEFAULT_CAPACITY, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * @param directory The folder to write telemetry files to
+     * @param eventNames The name of each event id, stored in each file so it can be read without the event table
+     * @param capacity The number of records the buffer holds, rounded up to a power of two
+     * @param maxFileBytes The size a file can reach before a new one is started
+     * @param maxFiles The number of files to keep, the oldest are deleted
+     */
+    public Telemetry(File directory, String[] eventNames, int capacity, long maxFileBytes, int maxFiles) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        buffer = ByteBuffer.allocateDirect(this.capacity * RECORD_SIZE).order(ByteOrder.BIG_ENDIAN);
+        drainView = buffer.duplicate();
+        drainBytes = new byte[this.capacity * RECORD_SIZE];
+        this.directory = directory;
+        this.eventNames = eventNames;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    private static String[] getEventNames(EventTable eventTable) {
+        String[] names = new String[eventTable.size()];
+        for (int id = 0; id < names.length; id++) {
+            names[id] = eventTable.getName(id);
+        }
+        return names;
+    }
+
+    /**
+     * Starts the background thread that writes records to files
+     */
+    public void start() {
+        if (buffer == null || running) {
+            return;
+        }
+        running = true;
+        drainThread = new Thread(() -> {
+            while (running) {
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+                drain();
+            }
+        }, "Telemetry");
+        // Don't keep the game open just for this thread
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * Stops the background thread, writing out any records still in the buffer first
+     */
+    public void stop() {
+        if (buffer == null) {
+            return;
+        }
+        if (running) {
+            running = false;
+            LockSupport.unpark(drainThread);
+            try {
+                drainThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+        closeFile();
+        if (dropped.get() > 0) {
+            System.out.println("WARNING: " + dropped.get() + " telemetry records were dropped");
+        }
+    }
+
+    /**
+     * Records something that happened, should only be called from the render thread.
+     * Does nothing if telemetry is turned off.
+     *
+     * @param type EVENT, TIME_SKIP or GAME_OVER
+     * @param eventId The id of the event in the event table, or -1
+     * @param gameMinute The minutes since the start of the game
+     * @param value Depends on the type
+     * @param extra Depends on the type
+     */
+    public void record(short type, int eventId, int gameMinute, int value, int extra) {
+        if (buffer == null) {
+            return;
+        }
+        long write = writeIndex.get();
+        if (write - readIndex.get() >= capacity) {
+            // Full, drop the record rather than wait for the drain thread
+            dropped.incrementAndGet();
+            return;
+        }
+        int offset = (int) (write & mask) * RECORD_SIZE;
+        buffer.putShort(offset, type);
+        buffer.putShort(offset + 2, (short) eventId);
+        buffer.putInt(offset + 4, gameMinute);
+        buffer.putInt(offset + 8, value);
+        buffer.putInt(offset + 12, extra);
+        // Publish the record to the drain thread
+        writeIndex.lazySet(write + 1);
+    }
+
+    /**
+     * @return true if records are being kept
+     */
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * @return The number of records dropped because the buffer was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes every record in the buffer to the current file.
+     * Called by the drain thread, or directly when the thread isn't running.
+     */
+    public synchronized void drain() {
+        if (buffer == null) {
+            return;
+        }
+        long read = readIndex.get();
+        long write = writeIndex.get();
+        if (read == write) {
+            return;
+        }
+
+        // Copy out the records, which may wrap around the end of the buffer
+        int count = (int) (write - read);
+        int start = (int) (read & mask);
+        int firstPart = Math.min(count, capacity - start);
+        drainView.clear();
+        drainView.position(start * RECORD_SIZE);
+        drainView.get(drainBytes, 0, firstPart * RECORD_SIZE);
+        if (count > firstPart) {
+            drainView.position(0);
+            drainView.get(drainBytes, firstPart * RECORD_SIZE, (count - firstPart) * RECORD_SIZE);
+        }
+        // The copied space can now be written over
+        readIndex.lazySet(write);
+
+        try {
+            if (output == null || fileBytes >= maxFileBytes) {
+                openNextFile();
+            }
+            output.write(drainBytes, 0, count * RECORD_SIZE);
+            output.flush();
+            fileBytes += (long) count * RECORD_SIZE;
+        } catch (IOException e) {
+            System.out.println("WARNING: Couldn't write telemetry to " + directory);
+            closeFile();
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        closeFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Couldn't make " + directory);
+        }
+        // Carry on numbering from any files left by earlier games
+        if (fileNumber == 0) {
+            fileNumber = getHighestFileNumber() + 1;
+        } else {
+            fileNumber++;
+        }
+        File oldest = getFile(fileNumber - maxFiles);
+        if (oldest.exists() && !oldest.delete()) {
+            System.out.println("WARNING: Couldn't delete old telemetry file " + oldest);
+        }
+
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getFile(fileNumber))));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeShort(eventNames.length);
+        for (String name : eventNames) {
+            output.writeUTF(name);
+        }
+        fileBytes = output.size();
+    }
+
+    private int getHighestFileNumber() {
+        int highest = 0;
+        String[] files = directory.list();
+        if (files == null) {
+            return 0;
+        }
+        for (String name : files) {
+            if (name.startsWith("telemetry-") && name.endsWith(".bin")) {
+                try {
+                    highest = Math.max(highest, Integer.parseInt(name.substring(10, name.length() - 4)));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return highest;
+    }
+
+    private File getFile(int number) {
+        return new File(directory, "telemetry-" + number + ".bin");
+    }
+
+    private synchronized void closeFile() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            System.out.println("WARNING: Couldn't close telemetry file");
+        }
+        output = null;
+    }
+}
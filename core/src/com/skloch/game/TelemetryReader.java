@@ -0,0 +1,186 @@
+package com.skloch.game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the files written by Telemetry and prints how often each activity was done at each hour of the day,
+ * along with the spread of final scores.
+ * <p></p>
+ * Run with: gradlew core:telemetry --args="path/to/telemetry"
+ */
+public class TelemetryReader {
+    private static final int BAR_WIDTH = 40;
+    // The highest score possible is every hour of the week spent on something
+    private static final int MAX_SCORE = 7 * 24 * 100;
+
+    // Counts of each event by the hour of the day it started, keyed by event name
+    private final Map<String, int[]> eventHours = new LinkedHashMap<>();
+    private final Map<String, Integer> hoursSpent = new LinkedHashMap<>();
+    private final int[] scores = new int[MAX_SCORE / 100 + 1];
+    private int records = 0;
+    private int games = 0;
+    private int timeSkips = 0;
+
+    /**
+     * Reads every telemetry file in a folder, oldest first
+     *
+     * @param directory The folder Telemetry wrote to
+     * @throws IOException If a file can't be read or isn't a telemetry file
+     */
+    public void readDirectory(File directory) throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("telemetry-") && name.endsWith(".bin"));
+        if (files == null) {
+            throw new IOException("Couldn't list " + directory);
+        }
+        Arrays.sort(files, (a, b) -> Integer.compare(getFileNumber(a), getFileNumber(b)));
+        for (File file : files) {
+            readFile(file);
+        }
+    }
+
+    private static int getFileNumber(File file) {
+        String name = file.getName();
+        try {
+            return Integer.parseInt(name.substring(10, name.length() - 4));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Reads the records from a single telemetry file
+     *
+     * @param file The file to read
+     * @throws IOException If it can't be read or isn't a telemetry file
+     */
+    public void readFile(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != Telemetry.MAGIC) {
+                throw new IOException(file + " isn't a telemetry file");
+            }
+            short version = input.readShort();
+            if (version != Telemetry.VERSION) {
+                throw new IOException(file + " is telemetry version " + version + ", expected " + Telemetry.VERSION);
+            }
+            String[] eventNames = new String[input.readShort()];
+            for (int i = 0; i < eventNames.length; i++) {
+                eventNames[i] = input.readUTF();
+            }
+
+            byte[] record = new byte[Telemetry.RECORD_SIZE];
+            while (true) {
+                try {
+                    input.readFully(record);
+                } catch (EOFException e) {
+                    // Either the end of the file, or a record cut off when the game closed
+                    break;
+                }
+                addRecord(eventNames, record);
+            }
+        }
+    }
+
+    private void addRecord(String[] eventNames, byte[] record) {
+        short type = (short) readShort(record, 0);
+        int eventId = (short) readShort(record, 2);
+        int gameMinute = readInt(record, 4);
+        int value = readInt(record, 8);
+        records++;
+
+        if (type == Telemetry.EVENT) {
+            String name = eventId >= 0 && eventId < eventNames.length ? eventNames[eventId] : "unknown";
+            int[] hours = eventHours.computeIfAbsent(name, key -> new int[24]);
+            hours[(gameMinute / 60) % 24]++;
+            hoursSpent.merge(name, value, Integer::sum);
+        } else if (type == Telemetry.TIME_SKIP) {
+            timeSkips++;
+        } else if (type == Telemetry.GAME_OVER) {
+            games++;
+            scores[Math.max(0, Math.min(scores.length - 1, value / 100))]++;
+        }
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (readShort(bytes, offset) << 16) | readShort(bytes, offset + 2);
+    }
+
+    /**
+     * @return The number of times an event was done at each hour of the day, or null if it was never done
+     */
+    public int[] getEventHours(String name) {
+        return eventHours.get(name);
+    }
+
+    /**
+     * @return The total hours spent on an event across every game
+     */
+    public int getHoursSpent(String name) {
+        return hoursSpent.getOrDefault(name, 0);
+    }
+
+    public int getRecordCount() {
+        return records;
+    }
+
+    public int getGamesFinished() {
+        return games;
+    }
+
+    public int getTimeSkips() {
+        return timeSkips;
+    }
+
+    /**
+     * Prints a histogram for each event of the hours of the day it was started at, then the scores
+     */
+    public void print() {
+        System.out.printf("%d records, %d games finished, %d time skips%n%n", records, games, timeSkips);
+        for (Map.Entry<String, int[]> entry : eventHours.entrySet()) {
+            int[] hours = entry.getValue();
+            System.out.printf("%s (%d hours spent)%n", entry.getKey(), getHoursSpent(entry.getKey()));
+            printHistogram(hours, 0, "%02d:00");
+            System.out.println();
+        }
+        if (games > 0) {
+            System.out.println("Scores");
+            printHistogram(scores, 100, "%5d");
+        }
+    }
+
+    // Prints a bar for each non-empty bucket, labelled with the bucket number times the scale (or the bucket)
+    private static void printHistogram(int[] buckets, int scale, String labelFormat) {
+        int most = 1;
+        for (int count : buckets) {
+            most = Math.max(most, count);
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == 0) {
+                continue;
+            }
+            int length = Math.max(1, buckets[i] * BAR_WIDTH / most);
+            char[] bar = new char[length];
+            Arrays.fill(bar, '#');
+            System.out.printf("  " + labelFormat + " %-" + BAR_WIDTH + "s %d%n",
+                    scale == 0 ? i : i * scale, new String(bar), buckets[i]);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : HustleGame.TELEMETRY_DIRECTORY);
+        TelemetryReader reader = new TelemetryReader();
+        reader.readDirectory(directory);
+        reader.print();
+    }
+}
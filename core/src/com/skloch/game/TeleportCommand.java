@@ -0,0 +1,59 @@
+package com.skloch.game;
+
+/**
+ * A command to move the player to another map, optionally at a set spawn point.
+ * The spawn point is parsed once when the command is compiled.
+ */
+public class TeleportCommand implements EventCommand {
+    private final String mapPath;
+    private final boolean hasSpawn;
+    private final float spawnX;
+    private final float spawnY;
+
+    /**
+     * Teleports the player to a map, putting them at the map's default position
+     *
+     * @param mapPath The path of the map to load
+     */
+    public TeleportCommand(String mapPath) {
+        this.mapPath = mapPath;
+        this.hasSpawn = false;
+        this.spawnX = 0;
+        this.spawnY = 0;
+    }
+
+    /**
+     * Teleports the player to a map, putting them at a specific position
+     *
+     * @param mapPath The path of the map to load
+     * @param spawnX The x coordinate to put the player at
+     * @param spawnY The y coordinate to put the player at
+     */
+    public TeleportCommand(String mapPath, float spawnX, float spawnY) {
+        this.mapPath = mapPath;
+        this.hasSpawn = true;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+    }
+
+    @Override
+    public void execute(EventManager eventManager) {
+        eventManager.teleportEvent(this);
+    }
+
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    public boolean hasSpawn() {
+        return hasSpawn;
+    }
+
+    public float getSpawnX() {
+        return spawnX;
+    }
+
+    public float getSpawnY() {
+        return spawnY;
+    }
+}
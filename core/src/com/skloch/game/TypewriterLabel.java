@@ -0,0 +1,89 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A label that can reveal its text a few characters at a time, like it's being typed.
+ * <p></p>
+ * The text is laid out once when it is set. Revealing more of it only changes how many glyphs of the cached
+ * layout are drawn, so typing text out doesn't create any strings or lay anything out again each frame.
+ */
+public class TypewriterLabel extends Label {
+    private final Color drawColor = new Color();
+    private int visibleGlyphs = Integer.MAX_VALUE;
+    private int glyphCount = 0;
+
+    public TypewriterLabel(CharSequence text, Skin skin, String styleName) {
+        super(text, skin, styleName);
+    }
+
+    /**
+     * Lays out the text, and counts the glyphs in it
+     */
+    @Override
+    public void layout() {
+        super.layout();
+        glyphCount = 0;
+        Array<GlyphLayout.GlyphRun> runs = getGlyphLayout().runs;
+        for (int i = 0; i < runs.size; i++) {
+            glyphCount += runs.get(i).glyphs.size;
+        }
+    }
+
+    /**
+     * @param visibleGlyphs The number of glyphs to draw from the start of the text, newlines aren't glyphs
+     */
+    public void setVisibleGlyphs(int visibleGlyphs) {
+        this.visibleGlyphs = Math.max(0, visibleGlyphs);
+    }
+
+    /**
+     * Draws the whole text
+     */
+    public void showAllGlyphs() {
+        visibleGlyphs = Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return The number of glyphs in the text, including spaces but not newlines
+     */
+    public int getGlyphCount() {
+        validate();
+        return glyphCount;
+    }
+
+    /**
+     * @return true if every glyph is being drawn
+     */
+    public boolean isFullyVisible() {
+        return visibleGlyphs >= getGlyphCount();
+    }
+
+    /**
+     * The same as Label's draw, except only the visible glyphs of the cached text are drawn
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        Color color = drawColor.set(getColor());
+        color.a *= parentAlpha;
+        LabelStyle style = getStyle();
+        if (style.background != null) {
+            batch.setColor(color.r, color.g, color.b, color.a);
+            style.background.draw(batch, getX(), getY(), getWidth(), getHeight());
+        }
+        if (style.fontColor != null) {
+            color.mul(style.fontColor);
+        }
+        BitmapFontCache cache = getBitmapFontCache();
+        cache.tint(color);
+        cache.setPosition(getX(), getY());
+        cache.draw(batch, 0, Math.min(visibleGlyphs, glyphCount));
+    }
+}
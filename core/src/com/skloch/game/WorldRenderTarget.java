@@ -0,0 +1,141 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * A low resolution framebuffer that the map and player are drawn into, one pixel per world unit by default.
+ * The finished frame is then stretched over the window in a single draw call with nearest filtering, so
+ * the cost of drawing the world stays the same no matter how big the window is.
+ * <p></p>
+ * Call begin() before drawing the world with the usual camera, end() after, then draw() to put it on screen.
+ * The framebuffer's texture is tracked by the game's assets, so it shows up in their texture counts and leak reports.
+ */
+public class WorldRenderTarget implements Disposable {
+    private final Assets assets;
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private final Matrix4 projection;
+    private float worldWidth;
+    private float worldHeight;
+    private float scale = 1;
+
+    /**
+     * Creates an empty render target, the framebuffer is only made once begin() is called and the size
+     * of the world is known
+     *
+     * @param assets The game's assets, told about every framebuffer texture made and disposed
+     */
+    public WorldRenderTarget(Assets assets) {
+        this.assets = assets;
+        projection = new Matrix4();
+    }
+
+    /**
+     * Starts drawing into the framebuffer, making a new one if the size of the world has changed
+     * (e.g. after teleporting to a map with a different viewportScalar)
+     *
+     * @param worldWidth The width of the world visible on screen, in world units
+     * @param worldHeight The height of the world visible on screen, in world units
+     */
+    public void begin(float worldWidth, float worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+
+        int width = Math.max(1, Math.round(worldWidth * scale));
+        int height = Math.max(1, Math.round(worldHeight * scale));
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            createFrameBuffer(width, height);
+        }
+
+        frameBuffer.begin();
+        ScreenUtils.clear(0, 0, 0, 1);
+    }
+
+    /**
+     * Stops drawing into the framebuffer, drawing goes back to the window
+     */
+    public void end() {
+        frameBuffer.end();
+    }
+
+    /**
+     * Stretches the finished frame over the viewport's area of the window
+     *
+     * @param batch The spritebatch to draw with, must not have begun yet
+     * @param viewport The viewport the world is shown in, is applied before drawing
+     */
+    public void draw(SpriteBatch batch, Viewport viewport) {
+        viewport.apply();
+        projection.setToOrtho2D(0, 0, worldWidth, worldHeight);
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        batch.draw(region, 0, 0, worldWidth, worldHeight);
+        batch.end();
+    }
+
+    /**
+     * Sets the number of pixels drawn per world unit, lower values draw the world at a lower resolution
+     * @see ResolutionScaler
+     *
+     * @param scale The new scale, 1 draws one pixel per world unit
+     */
+    public void setScale(float scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * @return The number of pixels drawn per world unit
+     */
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * @return The width in pixels the world is currently drawn at
+     */
+    public int getWidth() {
+        return frameBuffer == null ? 0 : frameBuffer.getWidth();
+    }
+
+    /**
+     * @return The height in pixels the world is currently drawn at
+     */
+    public int getHeight() {
+        return frameBuffer == null ? 0 : frameBuffer.getHeight();
+    }
+
+    private void createFrameBuffer(int width, int height) {
+        disposeFrameBuffer();
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+        Texture texture = frameBuffer.getColorBufferTexture();
+        assets.track(texture);
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        region = new TextureRegion(texture);
+        // Framebuffer textures are upside down
+        region.flip(false, true);
+    }
+
+    /**
+     * Disposes of the framebuffer
+     */
+    @Override
+    public void dispose() {
+        disposeFrameBuffer();
+    }
+
+    private void disposeFrameBuffer() {
+        if (frameBuffer != null) {
+            assets.untrack(frameBuffer.getColorBufferTexture());
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+    }
+}
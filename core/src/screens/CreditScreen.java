@@ -1,7 +1,6 @@
 package screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -14,6 +13,7 @@ import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.skloch.game.HustleGame;
+import com.skloch.game.ScrollingTextView;
 
 /**
  * A scene2d window consisting of a title, a scrollable widget and an exit button.
@@ -25,6 +25,8 @@ public class CreditScreen implements Screen{
     private final Stage creditStage;
     private final OrthographicCamera camera;
     private final Viewport viewport;
+    private final ScrollPane scrollWindow;
+    public Screen previousScreen;
 
     /**
      * A scene2d window consisting of a title, a scrollable widget and an exit button.
@@ -38,8 +40,10 @@ public class CreditScreen implements Screen{
 
         // Basically all the same code as the settings menu
         this.game = game;
-        creditStage = new Stage(new FitViewport(game.WIDTH, game.HEIGHT));
-        Gdx.input.setInputProcessor(creditStage);
+        this.previousScreen = previousScreen;
+        creditStage = game.createStage(new FitViewport(game.WIDTH, game.HEIGHT));
+        // Drawn first, in the same batch as the rest of the stage
+        creditStage.addActor(game.createBlueBackground());
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(game.WIDTH, game.HEIGHT, camera);
@@ -59,11 +63,14 @@ public class CreditScreen implements Screen{
         creditTable.add(title).padTop(10);
         creditTable.row();
 
-        // Table for things inside the scrollable widget
-        Table scrollTable = new Table();
+        // Actual credits, only the lines that can be seen are drawn
+        // Credits are loaded when the game is initialised
+        ScrollingTextView text = new ScrollingTextView(game.skin, "interaction");
+        text.setText(game.credits, 520f);
+        text.setPadLeft(15);
 
         // Scrollable widget
-        ScrollPane scrollWindow = new ScrollPane(scrollTable, game.skin);
+        scrollWindow = new ScrollPane(text, game.skin);
         scrollWindow.setFadeScrollBars(false);
         // scrollWindow.setDebug(true);
 
@@ -71,12 +78,6 @@ public class CreditScreen implements Screen{
         creditTable.add(scrollWindow).padTop(20).height(350);
         creditTable.row();
 
-        // Actual credits
-        // Credits are loaded when the game is initialised
-        Label text = new Label(game.credits, game.skin, "interaction");
-        text.setWrap(true);
-        scrollTable.add(text).width(520f).padLeft(15);
-
         // Exit button
         TextButton exitButton = new TextButton("Exit", game.skin);
         creditTable.add(exitButton).bottom().width(300).padTop(10);
@@ -94,9 +95,10 @@ public class CreditScreen implements Screen{
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 game.soundManager.playButton();
-                dispose();
-                game.setScreen(previousScreen);
-                previousScreen.resume();
+                // The screen is kept to be shown again, so it isn't disposed
+                Screen returnTo = CreditScreen.this.previousScreen;
+                game.setScreen(returnTo);
+                returnTo.resume();
             }
         });
 
@@ -109,9 +111,6 @@ public class CreditScreen implements Screen{
     @Override
     public void render (float delta) {
         ScreenUtils.clear(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-
-        game.blueBackground.draw();
 
         creditStage.act(delta);
         creditStage.draw();
@@ -131,11 +130,18 @@ public class CreditScreen implements Screen{
         viewport.update(width, height);
     }
 
-    // Other required methods from Screen
+    /**
+     * Called each time the screen is switched to, the screen is reused so the credits are scrolled back to the top
+     */
     @Override
     public void show() {
+        Gdx.input.setInputProcessor(creditStage);
+        scrollWindow.setScrollY(0);
+        scrollWindow.updateVisualScroll();
     }
 
+    // Other required methods from Screen
+
     @Override
     public void hide() {
     }
@@ -148,7 +154,11 @@ public class CreditScreen implements Screen{
     public void resume() {
     }
 
+    /**
+     * Disposes of the credits stage, called by HustleGame when the game closes
+     */
     @Override
     public void dispose() {
+        creditStage.dispose();
     }
 }
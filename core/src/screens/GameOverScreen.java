@@ -38,7 +38,9 @@ public class GameOverScreen implements Screen {
      */
     public GameOverScreen (final HustleGame game, int hoursStudied, int hoursRecreational, int hoursSlept) {
         this.game = game;
-        gameOverStage = new Stage(new FitViewport(game.WIDTH, game.HEIGHT));
+        gameOverStage = game.createStage(new FitViewport(game.WIDTH, game.HEIGHT));
+        // Drawn first, in the same batch as the rest of the stage
+        gameOverStage.addActor(game.createBlueBackground());
         Gdx.input.setInputProcessor(gameOverStage);
 
         camera = new OrthographicCamera();
@@ -89,9 +91,7 @@ public class GameOverScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 game.soundManager.playButton();
-                game.soundManager.overworldMusic.stop();
-                dispose();
-                game.setScreen(new MenuScreen(game));
+                exitToMenu();
             }
         });
         
@@ -104,6 +104,15 @@ public class GameOverScreen implements Screen {
         gameOverWindow.setY((viewport.getWorldHeight() / 2) - (gameOverWindow.getHeight() / 2));
     }
 
+    /**
+     * Goes back to the menu, this screen is disposed as a new one is made at the end of every game
+     */
+    public void exitToMenu() {
+        game.soundManager.overworldMusic.stop();
+        dispose();
+        game.setScreen(game.getMenuScreen());
+    }
+
     /**
      * Displays an activity and associated value on a provided table.
      * eg) "Hours Slept", 16
@@ -127,8 +136,6 @@ public class GameOverScreen implements Screen {
     public void render(float delta) {
         ScreenUtils.clear(0, 0, 0, 1);
 
-        game.blueBackground.draw();
-
         gameOverStage.act(delta);
         gameOverStage.draw();
 
@@ -168,5 +175,6 @@ public class GameOverScreen implements Screen {
 
     @Override
     public void dispose() {
+        gameOverStage.dispose();
     }
 }
@@ -2,17 +2,18 @@ package screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputAdapter;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -23,11 +24,13 @@ import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.skloch.game.*;
 
+import java.util.List;
+
 /**
  * Handles the majority of the game logic, rendering and user inputs of the game.
  * Responsible for rendering the player and the map, and calling events.
  */
-public class GameScreen implements Screen {
+public class GameScreen implements Screen, PlayerStats {
     final HustleGame game;
     private final OrthographicCamera camera;
     private int energy = 100;
@@ -44,17 +47,28 @@ public class GameScreen implements Screen {
     public Stage uiStage;
     private final Label interactionLabel;
     private final EventManager eventManager;
+    private final EventScheduler scheduler;
+    private final GameClock clock;
+    private final GameEventBus eventBus;
     protected InputMultiplexer inputMultiplexer;
     private final Image energyBar;
     public DialogueBox dialogueBox;
     public final Image blackScreen;
     private boolean sleeping = false;
+    private boolean discardNextDelta = false;
+    private boolean gameOver = false;
     public MapManager mapManager;
+    private final WorldRenderTarget worldTarget;
+    private final ResolutionScaler resolutionScaler;
 
     public static String BLACK_SQUARE_PATH = "Sprites/black_square.png";
     public static String ENERGY_BAR_PATH = "Interface/Energy Bar/green_bar.png";
     public static String ENERGY_BAR_OUTLINE_PATH = "Interface/Energy Bar/bar_outline.png";
+    public static String BLACK_SQUARE_REGION = "black_square";
+    public static String ENERGY_BAR_REGION = "green_bar";
+    public static String ENERGY_BAR_OUTLINE_REGION = "bar_outline";
     public static String MAP_PATH = "MapAssetsV2/Maps/Accomodation.tmx";
+    private static final String[] YES_NO_OPTIONS = new String[]{"Yes", "No"};
 
     /**
      *
@@ -66,9 +80,20 @@ public class GameScreen implements Screen {
         // Important game variables
         this.game = game;
         this.game.gameScreen = this;
-        eventManager = new EventManager(this);
-
-        mapManager = new MapManager(this);
+        // Start recording or replaying input if needed, the seed for random events comes from here
+        game.input.startSession(avatarChoice, game.playerName);
+        eventManager = new EventManager(this, game.eventTable, game.input.getSeed());
+        scheduler = new EventScheduler();
+        eventBus = new GameEventBus();
+        subscribeToEvents();
+        // Achievements are checked as the player's stats change
+        game.achievements.startGame();
+        eventManager.getEventState().setListener(game.achievements);
+        // The game starts at 8am on day 1
+        clock = new GameClock(8 * 60);
+        listenToClock();
+
+        mapManager = new MapManager(this, game.assets);
 
         // Scores
         hoursStudied = hoursRecreational = hoursSlept = 0;
@@ -78,12 +103,16 @@ public class GameScreen implements Screen {
         camera = new OrthographicCamera();
         viewport = new FitViewport(getViewportSize().x, getViewportSize().y, camera);
         camera.setToOrtho(false, game.WIDTH, game.HEIGHT);
+        worldTarget = new WorldRenderTarget(game.assets);
+        // Lower the world's resolution if frames fall behind the frame rate cap, and raise it again once they keep up
+        resolutionScaler = new ResolutionScaler(Gdx.graphics::getDeltaTime,
+                ResolutionScaler.budgetForFrameRate(getFrameRateCap()));
         game.shapeRenderer.setProjectionMatrix(camera.combined);
 
         // Create a stage for the user interface to be on
-        uiStage = new Stage(new FitViewport(game.WIDTH, game.HEIGHT));
+        uiStage = game.createStage(new FitViewport(game.WIDTH, game.HEIGHT));
         // Add a black image over everything first
-        blackScreen = new Image(new Texture(Gdx.files.internal(BLACK_SQUARE_PATH)));
+        blackScreen = new Image(game.getUiRegion(BLACK_SQUARE_REGION, BLACK_SQUARE_PATH));
         blackScreen.setSize(game.WIDTH, game.HEIGHT);
         blackScreen.addAction(Actions.alpha(0f));
 
@@ -94,12 +123,14 @@ public class GameScreen implements Screen {
 
 
 
-        // Create a player class
+        // Create a player class, the atlas is usually preloaded behind the loading screen
+        TextureAtlas playerAtlas = game.assets.acquire(Player.SPRITE_ATLAS_PATH, TextureAtlas.class);
         if (avatarChoice == 1) {
-            player = new Player("avatar1");
+            player = new Player("avatar1", playerAtlas);
         } else {
-            player = new Player("avatar2");
+            player = new Player("avatar2", playerAtlas);
         }
+        player.setInput(game.input);
 
 
 
@@ -129,8 +160,8 @@ public class GameScreen implements Screen {
         // Load energy bar elements
         Group energyGroup = new Group();
         energyGroup.setDebug(true);
-        energyBar = new Image(new Texture(Gdx.files.internal(ENERGY_BAR_PATH)));
-        Image energyBarOutline = new Image(new Texture(Gdx.files.internal(ENERGY_BAR_OUTLINE_PATH)));
+        energyBar = new Image(game.getUiRegion(ENERGY_BAR_REGION, ENERGY_BAR_PATH));
+        Image energyBarOutline = new Image(game.getUiRegion(ENERGY_BAR_OUTLINE_REGION, ENERGY_BAR_OUTLINE_PATH));
         energyBarOutline.setPosition(game.WIDTH-energyBarOutline.getWidth() - 15, 15);
         energyBar.setPosition(energyBarOutline.getX()+16, energyBarOutline.getY()+16);
         energyGroup.addActor(energyBar);
@@ -158,6 +189,8 @@ public class GameScreen implements Screen {
         uiStage.addActor(dialogueBox.getWindow());
         uiStage.addActor(dialogueBox.getSelectBox().getWindow());
         setupEscapeMenu(uiStage);
+        // Show achievements as they are unlocked
+        game.achievements.setUnlockListener(this::showAchievement);
 
         // Start music
         game.soundManager.playOverworldMusic();
@@ -202,7 +235,18 @@ public class GameScreen implements Screen {
         camera.position.set(player.getCentreX(), player.getCentreY(), 0);
 
         player.setCollidables(mapManager.getCollisionObjects());
-        player.setInteractables(mapManager.getInteractObjects());
+
+        // Compile each object's event now, so interacting with it later is just a method call
+        List<GameObject> interactables = mapManager.getInteractObjects();
+        for (GameObject object : interactables) {
+            if (object.get("event") != null) {
+                object.setCommand(
+                        eventManager.compile(object.getEvent(), object.getParams()),
+                        eventManager.getPrompt(object.getEvent())
+                );
+            }
+        }
+        player.setInteractables(interactables);
 
         // Set the player to not go outside the bounds of the map
         // Assumes the bottom left corner of the map is at 0, 0
@@ -228,7 +272,6 @@ public class GameScreen implements Screen {
     public void render (float delta) {
         // Clear screen
         ScreenUtils.clear(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         viewport.setWorldSize(getViewportSize().x, getViewportSize().y);
         viewport.apply(); // Update the viewport
 
@@ -239,6 +282,15 @@ public class GameScreen implements Screen {
         // Update sound timers
         game.soundManager.processTimers(delta);
 
+        // Read this frame's input, or the recorded input if replaying
+        game.input.beginTick(Gdx.graphics.getDeltaTime());
+        if (game.input.isReplaying()) {
+            IntArray replayedKeys = game.input.getTickKeys();
+            for (int i = 0; i < replayedKeys.size; i++) {
+                handleKeyDown(replayedKeys.get(i));
+            }
+        }
+
 
         // Load timer bar - needs fixing and drawing
         //TextureAtlas blueBar = new TextureAtlas(Gdx.files.internal("Interface/BlueTimeBar/BlueBar.atlas"));
@@ -248,9 +300,22 @@ public class GameScreen implements Screen {
 
 
         // Increment the time and possibly day
-        if (!escapeMenu.isVisible() && !sleeping) {
-            passTime(Gdx.graphics.getDeltaTime());
+        // The first frame after being paused may include all the time spent minimised, so skip it
+        if (!gameOver && !escapeMenu.isVisible() && !sleeping && !discardNextDelta) {
+            passTime(game.input.getDelta());
+        }
+        // The game may have just ended, in which case this screen has been disposed
+        if (gameOver) {
+            return;
+        }
+
+        // Lower the resolution of the world if frames are taking too long
+        // Frame times mean nothing when frames are only drawn on request, so they are ignored then
+        if (!game.renderPacer.isEnabled() && !discardNextDelta) {
+            resolutionScaler.update();
         }
+        worldTarget.setScale(resolutionScaler.getScale());
+        discardNextDelta = false;
         timeLabel.setText(formatTime((int) daySeconds));
 
         // Freeze the player's movement for this frame if any menus are visible
@@ -269,6 +334,10 @@ public class GameScreen implements Screen {
             game.soundManager.footstepBool = false;
         }
 
+        // Draw the world into a low resolution framebuffer, one pixel per world unit
+        // It is then scaled up to fit the window below
+        worldTarget.begin(viewport.getWorldWidth(), viewport.getWorldHeight());
+
         // Update the map's render position
         mapManager.setCamera(camera);
         // Draw the background layer
@@ -292,6 +361,9 @@ public class GameScreen implements Screen {
         // Render map foreground layers
         mapManager.renderForeground();
 
+        worldTarget.end();
+        worldTarget.draw(game.batch, viewport);
+
 
         // Check if the interaction (press e to use) label needs to be drawn
         interactionLabel.setVisible(false);
@@ -311,6 +383,10 @@ public class GameScreen implements Screen {
         // Update UI elements
         uiStage.getViewport().apply();
         uiStage.act(delta);
+        // Waking up can pass the end of the last day, in which case this screen has just been disposed
+        if (gameOver) {
+            return;
+        }
         uiStage.draw();
 
 
@@ -326,9 +402,63 @@ public class GameScreen implements Screen {
                 delta*9
         );
         camera.update();
+
+        requestNextFrame();
+    }
+
+    /**
+     * When idle rendering is on, works out when the next frame actually needs to be drawn.
+     * Draws straight away if anything is moving, otherwise waits until the clock or the player's idle animation
+     * next changes.
+     * @see RenderPacer
+     */
+    private void requestNextFrame() {
+        RenderPacer renderPacer = game.renderPacer;
+        if (!renderPacer.isEnabled()) {
+            return;
+        }
+
+        boolean cameraMoving = Math.abs(camera.position.x - player.getCentreX()) > 0.5f
+                || Math.abs(camera.position.y - player.getCentreY()) > 0.5f;
+        if (player.isMoving() || dialogueBox.isScrollingText() || cameraMoving) {
+            renderPacer.requestFrame();
+            return;
+        }
+
+        float wait = player.getTimeToNextFrame();
+        if (!escapeMenu.isVisible() && !sleeping) {
+            // The clock is running, so draw again when the displayed minute changes
+            wait = Math.min(wait, 1 - (daySeconds % 1));
+        }
+        renderPacer.requestFrameIn(wait);
     }
 
 
+    /**
+     * Shows a message at the top of the screen for a few seconds, then removes it
+     *
+     * @param title The title of the unlocked achievement
+     * @param description What the player did to unlock it
+     */
+    public void showAchievement(String title, String description) {
+        Window toast = new Window("", game.skin);
+        toast.setMovable(false);
+        toast.setTouchable(Touchable.disabled);
+        toast.add(new Label("Achievement unlocked: " + title, game.skin, "default")).pad(10, 20, 0, 20);
+        toast.row();
+        toast.add(new Label(description, game.skin, "default")).pad(5, 20, 10, 20);
+        toast.pack();
+        toast.setPosition((game.WIDTH - toast.getWidth()) / 2f, game.HEIGHT - toast.getHeight() - 15);
+        toast.getColor().a = 0;
+        toast.addAction(Actions.sequence(
+                Actions.fadeIn(0.3f),
+                Actions.delay(3f),
+                Actions.fadeOut(0.5f),
+                Actions.removeActor()));
+        uiStage.addActor(toast);
+        game.soundManager.playDialogueOpen();
+    }
+
     /**
      * Configures everything needed to display the escape menu window when the player presses 'escape'
      * Doesn't return anything as the variable escapeMenu is used to store the window
@@ -389,7 +519,7 @@ public class GameScreen implements Screen {
             public void changed(ChangeEvent event, Actor actor) {
                 if (escapeMenu.isVisible()) {
                     game.soundManager.playButton();
-                    game.setScreen(new SettingsScreen(game, thisScreen));
+                    game.setScreen(game.getSettingsScreen(thisScreen));
                 }
             }
         });
@@ -401,7 +531,7 @@ public class GameScreen implements Screen {
                     game.soundManager.playButton();
                     game.soundManager.stopOverworldMusic();
                     dispose();
-                    game.setScreen(new MenuScreen(game));
+                    game.setScreen(game.getMenuScreen());
                 }
             }
         });
@@ -417,8 +547,12 @@ public class GameScreen implements Screen {
         viewport.update(width, height);
     }
 
+    /**
+     * Called when the window is minimised, the game isn't rendered while paused so the clock stops too
+     */
     @Override
     public void pause() {
+        discardNextDelta = true;
     }
 
     /**
@@ -444,12 +578,20 @@ public class GameScreen implements Screen {
     }
 
     /**
-     * Disposes of certain elements, called when the game is closed
+     * Disposes of everything this game used, called when the game ends or the player exits to the menu
      */
     @Override
     public void dispose () {
+        if (game.gameScreen == this) {
+            game.gameScreen = null;
+        }
+        game.achievements.setUnlockListener(null);
+        game.input.endSession();
         uiStage.dispose();
         mapManager.dispose();
+        game.assets.release(Player.SPRITE_ATLAS_PATH);
+        worldTarget.dispose();
+        eventBus.dispose();
     }
 
     /**
@@ -473,13 +615,54 @@ public class GameScreen implements Screen {
 
 
     /**
-     * Add a number of seconds to the time elapsed in the day
+     * Applies the results of events to the player's stats and the clock
+     */
+    private void subscribeToEvents() {
+        eventBus.subscribe(ActivityCompletedEvent.class, event -> event.apply(this));
+        eventBus.subscribe(SleptEvent.class, event -> event.apply(this));
+    }
+
+    /**
+     * Makes everything that depends on the time catch up whenever the clock moves, in this order:
+     * the day counter, the streaks of each event, then any scheduled events that are now due
+     */
+    private void listenToClock() {
+        clock.addListener((fromMinute, toMinute) -> {
+            int days = GameClock.getDaysCrossed(fromMinute, toMinute);
+            if (days > 0) {
+                day += days;
+                game.achievements.setStat(Achievements.DAY, day);
+                dayLabel.setText(String.format("Day %s", day));
+            }
+        });
+        clock.addListener(eventManager.getEventState());
+        clock.addListener((fromMinute, toMinute) -> {
+            if (day < 8) {
+                scheduler.advanceTo(toMinute, eventManager);
+            }
+        });
+    }
+
+    /**
+     * Add a number of seconds to the time elapsed in the day.
+     * However far the time jumps, the new time is worked out in one step and each part of the game that
+     * depends on the time is only told about the jump once.
      *
      * @param delta The time in seconds to add
      */
     public void passTime(float delta) {
+        // Only jumps in time are recorded, not the clock ticking every frame
+        if (delta >= 1) {
+            game.telemetry.record(Telemetry.TIME_SKIP, -1, getGameMinute(), (int) delta, 0);
+        }
         daySeconds += delta;
-        advanceDay();
+        int days = (int) (daySeconds / GameClock.MINUTES_PER_DAY);
+        daySeconds -= days * GameClock.MINUTES_PER_DAY;
+        clock.advanceTo((day - 1 + days) * GameClock.MINUTES_PER_DAY + (int) daySeconds);
+
+        if (day >= 8) {
+            GameOver();
+        }
     }
 
     /**
@@ -505,19 +688,6 @@ public class GameScreen implements Screen {
         }
     }
 
-    private void advanceDay() {
-        while (daySeconds >= 1440) {
-            daySeconds -= 1440;
-            day += 1;
-            eventManager.advanceDay();
-            dayLabel.setText(String.format("Day %s", day));
-        }
-
-        if (day >= 8) {
-            GameOver();
-        }
-    }
-
     /**
      *  Generates an InputAdapter to handle game specific keyboard inputs
      *
@@ -527,78 +697,107 @@ public class GameScreen implements Screen {
         return new InputAdapter() {
             @Override
             public boolean keyDown (int keycode) {
-                // SHOW ESCAPE MENU CODE
-                if (keycode == Input.Keys.ESCAPE) {
-                    if (escapeMenu.isVisible()) {
-                        game.soundManager.playButton();
-                        game.soundManager.playOverworldMusic();
-                        escapeMenu.setVisible(false);
-                    } else {
-                        // game.soundManager.pauseOverworldMusic();
-                        game.soundManager.playButton();
-                        escapeMenu.setVisible(true);
-                    }
-                    // Return true to indicate the keydown event was handled
-                    return true;
+                // Store the key so it can be recorded, keyboard presses are ignored while replaying
+                if (!game.input.keyDown(keycode)) {
+                    return false;
                 }
+                return handleKeyDown(keycode);
+            }
+        };
+    }
 
-                // SHOW OPTION MENU / ACT ON OPTION MENU CODE
-                if (keycode == Input.Keys.E || keycode == Input.Keys.ENTER || keycode == Input.Keys.SPACE) {
-                    if (!escapeMenu.isVisible()) {
-                        // If a dialogue box is visible, choose an option or advance text
-                        if (dialogueBox.isVisible()) {
-                            dialogueBox.enter(eventManager);
-                            game.soundManager.playButton();
-
-                        } else if (player.nearObject() && !sleeping) {
-                            // If the object has an event associated with it
-                            GameObject closetObject = player.getClosestObject();
-                            if (closetObject.get("event") != null) {
-                                // Show a dialogue menu asking if they want to do an interaction with the object
-                                dialogueBox.show();
-                                String[] options = new String[]{"Yes", "No"};
-                                String[] events = new String[]{closetObject.getEvent(), "exit"};
-                                String[] params = new String[]{closetObject.getParams(), ""};
-                                dialogueBox.getSelectBox().setOptions(options, events, params);
-                                if (eventManager.hasCustomObjectInteraction(closetObject.getEvent())) {
-                                    dialogueBox.setText(eventManager.getObjectInteraction(closetObject.getEvent()));
-                                } else {
-                                    dialogueBox.setText("Interact with " + closetObject.getEvent() + "?");
-                                }
-                                dialogueBox.show();
-                                dialogueBox.getSelectBox().show();
-                                game.soundManager.playDialogueOpen();
-
-                            } else if (closetObject.get("text") != null) {
-                                // Otherwise, if it is a text object, just display its text
-                                dialogueBox.show();
-                                dialogueBox.setText((String) closetObject.get("text"));
-                            }
-                        }
-                        return true;
+    /**
+     * Reacts to a key being pressed, either from the keyboard or from a replay
+     *
+     * @param keycode The key pressed
+     * @return true if the key press was used
+     */
+    private boolean handleKeyDown (int keycode) {
+        // SHOW ESCAPE MENU CODE
+        if (keycode == Input.Keys.ESCAPE) {
+            if (escapeMenu.isVisible()) {
+                game.soundManager.playButton();
+                game.soundManager.playOverworldMusic();
+                escapeMenu.setVisible(false);
+            } else {
+                // game.soundManager.pauseOverworldMusic();
+                game.soundManager.playButton();
+                escapeMenu.setVisible(true);
+            }
+            // Return true to indicate the keydown event was handled
+            return true;
+        }
+
+        // SHOW OPTION MENU / ACT ON OPTION MENU CODE
+        if (keycode == Input.Keys.E || keycode == Input.Keys.ENTER || keycode == Input.Keys.SPACE) {
+            if (!escapeMenu.isVisible()) {
+                // If a dialogue box is visible, choose an option or advance text
+                if (dialogueBox.isVisible()) {
+                    dialogueBox.enter(eventManager);
+                    game.soundManager.playButton();
+
+                } else if (player.nearObject() && !sleeping) {
+                    // If the object has an event associated with it
+                    GameObject closetObject = player.getClosestObject();
+                    if (closetObject.get("event") != null) {
+                        // Show a dialogue menu asking if they want to do an interaction with the object
+                        dialogueBox.show();
+                        EventCommand[] commands = new EventCommand[]{closetObject.getCommand(), EventCommand.EXIT};
+                        dialogueBox.getSelectBox().setOptions(YES_NO_OPTIONS, commands);
+                        dialogueBox.setText(closetObject.getPrompt());
+                        dialogueBox.show();
+                        dialogueBox.getSelectBox().show();
+                        game.soundManager.playDialogueOpen();
+
+                    } else if (closetObject.get("text") != null) {
+                        // Otherwise, if it is a text object, just display its text
+                        dialogueBox.show();
+                        dialogueBox.setText((String) closetObject.get("text"));
                     }
                 }
+                return true;
+            }
+        }
 
-                // If an option dialogue is open it should soak up all keypresses
-                if (dialogueBox.isVisible() && dialogueBox.getSelectBox().isVisible() && !escapeMenu.isVisible()) {
-                    // Up or down
-                    if (keycode == Input.Keys.W || keycode == Input.Keys.UP) {
-                        dialogueBox.getSelectBox().choiceUp();
-                    } else if (keycode == Input.Keys.S || keycode == Input.Keys.DOWN) {
-                        dialogueBox.getSelectBox().choiceDown();
-                    }
+        // If an option dialogue is open it should soak up all keypresses
+        if (dialogueBox.isVisible() && dialogueBox.getSelectBox().isVisible() && !escapeMenu.isVisible()) {
+            // Up or down
+            if (keycode == Input.Keys.W || keycode == Input.Keys.UP) {
+                dialogueBox.getSelectBox().choiceUp();
+            } else if (keycode == Input.Keys.S || keycode == Input.Keys.DOWN) {
+                dialogueBox.getSelectBox().choiceDown();
+            }
 
-                    return true;
+            return true;
 
-                }
+        }
 
 
-                return false;
-            }
-        };
+        return false;
     }
 
 
+    /**
+     * @return The controller deciding the resolution the world is drawn at, can be used to check its frame times
+     */
+    public ResolutionScaler getResolutionScaler() {
+        return resolutionScaler;
+    }
+
+    /**
+     * @return The most frames per second the game can draw, the lower of the foreground FPS cap and the display's
+     * refresh rate, as vsync is on
+     */
+    private int getFrameRateCap() {
+        int frameRate = game.foregroundFPS;
+        int refreshRate = Gdx.graphics.getDisplayMode().refreshRate;
+        if (refreshRate > 0 && (frameRate <= 0 || refreshRate < frameRate)) {
+            frameRate = refreshRate;
+        }
+        // Uncapped with no known refresh rate, assume the usual 60
+        return frameRate > 0 ? frameRate : 60;
+    }
+
     /**
      * Sets the player's energy level and updates the onscreen bar
      *
@@ -610,6 +809,7 @@ public class GameScreen implements Screen {
             this.energy = 100;
         }
         energyBar.setScaleY(this.energy / 100f);
+        game.achievements.setStat(Achievements.ENERGY, this.energy);
     }
 
     /**
@@ -622,14 +822,17 @@ public class GameScreen implements Screen {
     /**
      * Decreases the player's energy by a certain amount
      *
-     * @param energy The energy to decrement
+     * @param energy The energy to decrement, negative to restore energy up to 100
      */
     public void decreaseEnergy(int energy) {
         this.energy = this.energy - energy;
         if (this.energy < 0) {
             this.energy = 0;
+        } else if (this.energy > 100) {
+            this.energy = 100;
         }
         energyBar.setScaleY(this.energy / 100f);
+        game.achievements.setStat(Achievements.ENERGY, this.energy);
     }
 
     // Functions related to game score and requirements
@@ -640,6 +843,7 @@ public class GameScreen implements Screen {
      */
     public void addStudyHours(int hours) {
         hoursStudied += hours;
+        game.achievements.setStat(Achievements.STUDY_HOURS, hoursStudied);
     }
 
     /**
@@ -648,6 +852,7 @@ public class GameScreen implements Screen {
      */
     public void addRecreationalHours(int hours) {
         hoursRecreational += hours;
+        game.achievements.setStat(Achievements.RECREATION_HOURS, hoursRecreational);
     }
 
     /**
@@ -702,6 +907,7 @@ public class GameScreen implements Screen {
      */
     public void addSleptHours(int hours) {
         hoursSlept += hours;
+        game.achievements.setStat(Achievements.SLEPT_HOURS, hoursSlept);
     }
 
     /**
@@ -712,12 +918,76 @@ public class GameScreen implements Screen {
     }
 
     /**
-     * Ends the game, called at the end of the 7th day, switches to a screen that displays a score
+     * @return The day the game is on, starting at 1
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return The minutes elapsed since the start of the game, one second of the day clock is one game minute
+     */
+    public int getGameMinute() {
+        return clock.getMinute();
+    }
+
+    /**
+     * @return The game clock, add a listener to it to keep something up to date as time passes
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @return The scheduler used to run events at set times on the game clock
+     */
+    public EventScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return Records what the player does for offline analysis, does nothing unless telemetry is turned on
+     */
+    public Telemetry getTelemetry() {
+        return game.telemetry;
+    }
+
+    /**
+     * @return The bus events are published on, subscribe to it to react to things happening in the game
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Works out the player's score at the end of the game
+     *
+     * @param hoursStudied Total hours spent studying
+     * @param hoursRecreational Total hours spent on recreational activities
+     * @param hoursSlept Total hours slept
+     * @return The score to put on the leaderboard
+     */
+    public static int calculateScore(int hoursStudied, int hoursRecreational, int hoursSlept) {
+        return (hoursStudied + hoursRecreational + hoursSlept) * 100;
+    }
+
+    /**
+     * Ends the game, called at the end of the 7th day, switches to a screen that displays a score.
+     * This screen is disposed afterwards, as a new GameScreen is made for every game
      */
     public void GameOver() {
-        int score = (hoursStudied + hoursRecreational + hoursSlept) * 100;
+        if (gameOver) {
+            return;
+        }
+        gameOver = true;
+        game.input.endSession();
+        eventBus.dispose();
+        game.achievements.finishGame();
+        int score = calculateScore(hoursStudied, hoursRecreational, hoursSlept);
+        game.telemetry.record(Telemetry.GAME_OVER, -1, getGameMinute(), score, day);
         game.leaderboard.AddScore(game.playerName, score);
         game.setScreen(new GameOverScreen(game, hoursStudied, hoursRecreational, hoursSlept));
+        dispose();
     }
 
     private Vector2 getViewportSize() {
@@ -6,12 +6,14 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.skloch.game.Leaderboard;
+import com.skloch.game.ScrollingTextView;
 
 public class LeaderboardWindow {
     private final Window window;
     private final Skin skin;
     private final Viewport viewport;
     private final Leaderboard leaderboard;
+    private ScrollingTextView entries;
 
 
     public LeaderboardWindow(Leaderboard leaderboard, Stage parentStage, Skin skin, Viewport viewport) {
@@ -20,11 +22,14 @@ public class LeaderboardWindow {
         this.viewport = viewport;
         this.leaderboard = leaderboard;
 
-        String leaderboardText = leaderboard.GetLeaderboardText();
-        parentStage.addActor(buildWindow(leaderboardText));
+        parentStage.addActor(buildWindow());
     }
 
+    /**
+     * Shows the window with the current scores, the window may be reused after new scores have been added
+     */
     public void show() {
+        entries.refresh();
         window.setVisible(true);
         window.toFront();
     }
@@ -33,7 +38,7 @@ public class LeaderboardWindow {
         window.setVisible(false);
     }
 
-    private Window buildWindow(String leaderboardText) {
+    private Window buildWindow() {
         window.setVisible(false);
         Table table = new Table();
         window.add(table).prefHeight(600).prefWidth(800-20);
@@ -43,20 +48,28 @@ public class LeaderboardWindow {
         table.add(title).padTop(10);
         table.row();
 
-        // Table for things inside the scrollable widget
-        Table scrollTable = new Table();
+        // One row per entry, rows are only made for the entries that can be seen
+        entries = new ScrollingTextView(skin, "interaction");
+        entries.setRows(new ScrollingTextView.Rows() {
+            @Override
+            public int getRowCount() {
+                return leaderboard.GetEntryCount();
+            }
+
+            @Override
+            public String getRow(int index) {
+                return (index + 1) + ". " + leaderboard.GetName(index) + ": " + leaderboard.GetScore(index);
+            }
+        }, 820f);
+        entries.setPadLeft(20);
 
         // Scrollable widget
-        ScrollPane scrollWindow = new ScrollPane(scrollTable, skin);
+        ScrollPane scrollWindow = new ScrollPane(entries, skin);
         scrollWindow.setFadeScrollBars(false);
 
         table.add(scrollWindow).padTop(20).height(350).width(870);
         table.row();
 
-        Label text = new Label(leaderboardText, skin, "interaction");
-        text.setWrap(true);
-        scrollTable.add(text).width(820f).padLeft(20);
-
         // Exit button
         TextButton continueButton = new TextButton("Continue", skin);
         table.add(continueButton).bottom().width(300).padTop(10);
@@ -0,0 +1,92 @@
+package screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.skloch.game.HustleGame;
+
+/**
+ * The first screen, shown while the game's assets load in the background.
+ * The skin hasn't loaded yet, so it only draws a progress bar with the shape renderer.
+ * Once everything has loaded it hands over to HustleGame.assetsLoaded(), which goes to the menu
+ */
+public class LoadingScreen implements Screen {
+    private static final float BAR_WIDTH = 600;
+    private static final float BAR_HEIGHT = 30;
+
+    private final HustleGame game;
+    private final OrthographicCamera camera;
+    private final Viewport viewport;
+    private boolean loaded = false;
+
+    /**
+     * @param game An instance of HustleGame that has queued its assets
+     */
+    public LoadingScreen(HustleGame game) {
+        this.game = game;
+        camera = new OrthographicCamera();
+        viewport = new FitViewport(game.WIDTH, game.HEIGHT, camera);
+        camera.setToOrtho(false, game.WIDTH, game.HEIGHT);
+    }
+
+    /**
+     * Loads a little more, then draws how far loading has got
+     * @param delta The time in seconds since the last render.
+     */
+    @Override
+    public void render(float delta) {
+        if (loaded) {
+            return;
+        }
+        loaded = game.assets.update();
+
+        ScreenUtils.clear(0.53f, 0.81f, 0.92f, 1);
+        camera.update();
+        float x = (game.WIDTH - BAR_WIDTH) / 2f;
+        float y = (game.HEIGHT - BAR_HEIGHT) / 2f;
+        game.shapeRenderer.setProjectionMatrix(camera.combined);
+        game.shapeRenderer.begin(ShapeType.Filled);
+        game.shapeRenderer.setColor(0.2f, 0.2f, 0.2f, 1);
+        game.shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        game.shapeRenderer.setColor(0.3f, 0.8f, 0.3f, 1);
+        game.shapeRenderer.rect(x, y, BAR_WIDTH * game.assets.getProgress(), BAR_HEIGHT);
+        game.shapeRenderer.end();
+
+        if (loaded) {
+            game.assetsLoaded();
+            dispose();
+        } else {
+            // Keep drawing frames while loading, even when only redrawing on changes
+            game.renderPacer.requestFrame();
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height);
+    }
+
+    // Other required methods
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
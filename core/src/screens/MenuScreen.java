@@ -2,9 +2,7 @@ package screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.ScreenUtils;
@@ -13,6 +11,7 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.skloch.game.HustleGame;
+import com.skloch.game.ScrollingTextView;
 
 /**
  * A screen to display the game menu to the player has the buttons "Start", "Settings", "Credits, "Exit"
@@ -25,8 +24,13 @@ public class MenuScreen implements Screen {
     private final Viewport viewport;
     private final Image titleImage;
     private final LeaderboardWindow leaderboardWindow;
+    private final Table buttonTable;
+    private final Window tutorialWindow;
+    private final Table nameSelectTable;
+    private final Table avatarSelectTable;
 
     public static String TITLE_IMAGE_PATH = "title.png";
+    public static String TITLE_IMAGE_REGION = "title";
 
     /**
      * A class to display a menu screen, initially gives the player 4 options, Start, Settings, Credits, Quit
@@ -35,6 +39,7 @@ public class MenuScreen implements Screen {
      * Settings switches to SettingsScreen
      * Credits switches to CreditsScreen
      * Quit exits the game
+     * Only one MenuScreen is made, by HustleGame.getMenuScreen(), and it is reset each time it is shown
      *
      * @param game An instance of HustleGame with loaded variables
      */
@@ -42,8 +47,9 @@ public class MenuScreen implements Screen {
         this.game = game;
         this.game.menuScreen = this;
         // Create stage to draw UI on
-        menuStage = new Stage(new FitViewport(game.WIDTH, game.HEIGHT));
-        Gdx.input.setInputProcessor(menuStage);
+        menuStage = game.createStage(new FitViewport(game.WIDTH, game.HEIGHT));
+        // Drawn first, in the same batch as the rest of the stage
+        menuStage.addActor(game.createBlueBackground());
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(game.WIDTH, game.HEIGHT, camera);
@@ -51,35 +57,25 @@ public class MenuScreen implements Screen {
 
         leaderboardWindow = new LeaderboardWindow(game.leaderboard, menuStage, game.skin, viewport);
 
-        // Set the size of the background to the viewport size, only need to do this once, this is then used by all
-        // screens as an easy way of having a blue background
-        game.blueBackground.getRoot().findActor("blue image").setSize(viewport.getWorldWidth(), viewport.getWorldHeight());
-
         // Title image
-        titleImage = new Image(new Texture(Gdx.files.internal(TITLE_IMAGE_PATH)));
+        titleImage = new Image(game.getUiRegion(TITLE_IMAGE_REGION, TITLE_IMAGE_PATH));
         titleImage.setPosition((viewport.getWorldWidth() / 2f) - (titleImage.getWidth() / 2f), 500);
         menuStage.addActor(titleImage);
 
-        // Play menu music
-        game.soundManager.playMenuMusic();
-
         // Make avatar select table
-        Table avatarSelectTable = makeAvatarSelectTable();
+        avatarSelectTable = makeAvatarSelectTable();
         menuStage.addActor(avatarSelectTable);
-        avatarSelectTable.setVisible(false);
 
         // Make name select table
-        Table nameSelectTable = makeNameSelectTable(avatarSelectTable);
+        nameSelectTable = makeNameSelectTable(avatarSelectTable);
         menuStage.addActor(nameSelectTable);
-        nameSelectTable.setVisible(false);
 
         // Make tutorial window
-        Window tutorialWindow = makeTutorialWindow(nameSelectTable);
+        tutorialWindow = makeTutorialWindow(nameSelectTable);
         menuStage.addActor(tutorialWindow);
-        tutorialWindow.setVisible(false);
 
         // Make table to draw buttons and title
-        Table buttonTable = new Table();
+        buttonTable = new Table();
         buttonTable.setFillParent(true);
         buttonTable.setWidth(600);
         menuStage.addActor(buttonTable);
@@ -142,7 +138,7 @@ public class MenuScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 game.soundManager.playButton();
-                game.setScreen(new SettingsScreen(game, thisScreen));
+                game.setScreen(game.getSettingsScreen(thisScreen));
             }
         });
 
@@ -151,7 +147,7 @@ public class MenuScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 game.soundManager.playButton();
-                game.setScreen(new CreditScreen(game, thisScreen));
+                game.setScreen(game.getCreditScreen(thisScreen));
             }
         });
 
@@ -160,8 +156,7 @@ public class MenuScreen implements Screen {
                @Override
                public void changed(ChangeEvent event, Actor actor) {
                    game.soundManager.playButton();
-                   game.dispose();
-                   dispose();
+                   // Closing the app disposes the game, which disposes this screen
                    Gdx.app.exit();
                }
            }
@@ -178,12 +173,9 @@ public class MenuScreen implements Screen {
     @Override
     public void render(float delta) {
         ScreenUtils.clear(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         camera.update();
 
-        game.blueBackground.draw();
-
         // Make the stage follow actions and draw itself
         menuStage.setViewport(viewport);
         menuStage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
@@ -202,11 +194,24 @@ public class MenuScreen implements Screen {
         menuStage.getViewport().update(width, height);
     }
 
-    // Other required methods
+    /**
+     * Called each time the menu is switched to. The menu is reused, so it goes back to the main buttons with
+     * every window hidden and the menu music playing
+     */
     @Override
     public void show() {
+        Gdx.input.setInputProcessor(menuStage);
+        buttonTable.setVisible(true);
+        titleImage.setVisible(true);
+        tutorialWindow.setVisible(false);
+        nameSelectTable.setVisible(false);
+        avatarSelectTable.setVisible(false);
+        leaderboardWindow.hide();
+        game.soundManager.playMenuMusic();
     }
 
+    // Other required methods
+
     @Override
     public void hide() {
     }
@@ -228,7 +233,7 @@ public class MenuScreen implements Screen {
     }
 
     /**
-     * Dispose of all menu assets
+     * Dispose of all menu assets, called by HustleGame when the game closes
      */
     @Override
     public void dispose() {
@@ -251,20 +256,18 @@ public class MenuScreen implements Screen {
         tutTable.add(title).padTop(10);
         tutTable.row();
 
-        // Table for things inside the scrollable widget
-        Table scrollTable = new Table();
+        // Only the lines that can be seen are drawn
+        ScrollingTextView text = new ScrollingTextView(game.skin, "interaction");
+        text.setText(game.tutorialText, 820f);
+        text.setPadLeft(20);
 
         // Scrollable widget
-        ScrollPane scrollWindow = new ScrollPane(scrollTable, game.skin);
+        ScrollPane scrollWindow = new ScrollPane(text, game.skin);
         scrollWindow.setFadeScrollBars(false);
 
         tutTable.add(scrollWindow).padTop(20).height(350).width(870);
         tutTable.row();
 
-        Label text = new Label(game.tutorialText, game.skin, "interaction");
-        text.setWrap(true);
-        scrollTable.add(text).width(820f).padLeft(20);
-
         // Exit button
         TextButton continueButton = new TextButton("Continue", game.skin);
         tutTable.add(continueButton).bottom().width(300).padTop(10);
@@ -349,13 +352,13 @@ public class MenuScreen implements Screen {
         table.row();
 
         // Image buttons
-        Table buttonTable = new Table();
-        table.add(buttonTable).width(600);
+        Table avatarButtons = new Table();
+        table.add(avatarButtons).width(600);
 
         ImageButton choice1 = new ImageButton(game.skin, "avatar1");
-        buttonTable.add(choice1).left().expandX();
+        avatarButtons.add(choice1).left().expandX();
         ImageButton choice2 = new ImageButton(game.skin, "avatar2");
-        buttonTable.add(choice2).right().expandX();
+        avatarButtons.add(choice2).right().expandX();
 
         choice1.addListener(new ChangeListener() {
             @Override
@@ -364,7 +367,6 @@ public class MenuScreen implements Screen {
                 GameScreen gameScreen = new GameScreen(game, 1);
                 game.setScreen(gameScreen);
                 game.soundManager.stopMenuMusic();
-                dispose();
             }
         });
 
@@ -374,7 +376,6 @@ public class MenuScreen implements Screen {
                 game.soundManager.playButton();
                 game.setScreen(new GameScreen(game, 2));
                 game.soundManager.stopMenuMusic();
-                dispose();
             }
         });
 
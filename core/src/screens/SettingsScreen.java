@@ -2,7 +2,6 @@ package screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -36,8 +35,9 @@ public class SettingsScreen implements Screen {
         // An option screen to let the player adjust the volume of music and sound effects
         this.game = game;
         this.previousScreen = previousScreen;
-        optionStage = new Stage(new FitViewport(game.WIDTH, game.HEIGHT));
-        Gdx.input.setInputProcessor(optionStage);
+        optionStage = game.createStage(new FitViewport(game.WIDTH, game.HEIGHT));
+        // Drawn first, in the same batch as the rest of the stage
+        optionStage.addActor(game.createBlueBackground());
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(game.WIDTH, game.HEIGHT, camera);
@@ -64,10 +64,6 @@ public class SettingsScreen implements Screen {
         // optionTable.setDebug(true);
         // sliderTable.setDebug(true);
 
-        // Set to correct values
-        musicSlider.setValue(game.soundManager.getMusicVolume()*100);
-        sfxSlider.setValue(game.soundManager.getSfxVolume()*100);
-
         // Add to a smaller table to centre the labels and slider bars
         sliderTable.add(musicTitle).padRight(20);
         sliderTable.add(musicSlider).prefWidth(250);
@@ -95,9 +91,10 @@ public class SettingsScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 game.soundManager.playButton();
-                dispose();
-                game.setScreen(previousScreen);
-                previousScreen.resume();
+                // The screen is kept to be shown again, so it isn't disposed
+                Screen returnTo = SettingsScreen.this.previousScreen;
+                game.setScreen(returnTo);
+                returnTo.resume();
             }
         });
     }
@@ -110,10 +107,6 @@ public class SettingsScreen implements Screen {
     @Override
     public void render (float delta) {
         ScreenUtils.clear(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-
-        // Draw blue background
-        game.blueBackground.draw();
 
         optionStage.act(delta);
         optionStage.draw();
@@ -138,11 +131,19 @@ public class SettingsScreen implements Screen {
         viewport.update(width, height);
     }
 
-    // Other required methods
+    /**
+     * Called each time the screen is switched to, the screen is reused so the sliders are set to the current
+     * volumes here rather than when it is made
+     */
     @Override
     public void show() {
+        Gdx.input.setInputProcessor(optionStage);
+        musicSlider.setValue(game.soundManager.getMusicVolume()*100);
+        sfxSlider.setValue(game.soundManager.getSfxVolume()*100);
     }
 
+    // Other required methods
+
     @Override
     public void hide() {
     }
@@ -156,7 +157,7 @@ public class SettingsScreen implements Screen {
     }
 
     /**
-     * Disposes of the option settings stage
+     * Disposes of the option settings stage, called by HustleGame when the game closes
      */
     @Override
     public void dispose() {
@@ -0,0 +1,91 @@
+package com.skloch.game;
+
+/**
+ * Times a compiled event script against the same rules written in Java, to check compiled scripts stay cheap.
+ * Kept out of the unit tests as timings depend on the machine it runs on.
+ * <p></p>
+ * Run with: gradlew desktop:benchmarkScripts
+ */
+public class ScriptBenchmark {
+    private static final int RUNS = 200_000;
+
+    // The same rules as studying in the computer science building, for 2 hours.
+    // The message includes the energy left so it has to be built on every run. A message made only of constants
+    // is worked out when the script compiles, which would leave the script nothing to do that the Java does
+    private static final String STUDY_SCRIPT =
+            "if minute <= 8 * 60 { say \"It's too early in the morning to study, go to bed!\" }\n" +
+            "else if energy < 20 { say \"You are too tired to study right now!\" }\n" +
+            "else if energy < 2 * 20 { say \"You don't have the energy to study for this long!\" }\n" +
+            "else {\n" +
+            "    say \"You studied for \" + 2 + \" hours!\\nYou lost \" + 2 * 20 + \" energy, \" + (energy - 2 * 20) + \" left\"\n" +
+            "    energy -= 2 * 20\n" +
+            "    study += 2\n" +
+            "    time += 2\n" +
+            "}";
+
+    /**
+     * A pretend game for the scripts to run against
+     */
+    private static class BenchmarkContext implements ScriptContext {
+        int energy;
+        int minute;
+        String text;
+
+        @Override public int getEnergy() { return energy; }
+        @Override public int getHour() { return minute / 60; }
+        @Override public int getMinute() { return minute; }
+        @Override public int getDay() { return 1; }
+        @Override public String getMeal() { return "lunch"; }
+        @Override public int random(int min, int max) { return min; }
+        @Override public void say(String text) { this.text = text; }
+        @Override public void ask(String text, String[] options, EventScript[] branches) { this.text = text; }
+        @Override public void changeEnergy(int amount) { energy += amount; }
+        @Override public void passHours(int hours) { minute += hours * 60; }
+        @Override public void addStudyHours(int hours) {}
+        @Override public void addRecreationHours(int hours) {}
+        @Override public void exit() {}
+    }
+
+    public static void main(String[] args) {
+        EventScript script = ScriptCompiler.compile("study", STUDY_SCRIPT);
+        EventScript handWritten = context -> {
+            int hours = 2;
+            int energyCost = 20;
+            if (context.getMinute() <= 8 * 60) {
+                context.say("It's too early in the morning to study, go to bed!");
+            } else if (context.getEnergy() < energyCost) {
+                context.say("You are too tired to study right now!");
+            } else if (context.getEnergy() < hours * energyCost) {
+                context.say("You don't have the energy to study for this long!");
+            } else {
+                // The constant part is joined at compile time, as the script compiler does
+                context.say("You studied for 2 hours!\nYou lost 40 energy, "
+                        + (context.getEnergy() - hours * energyCost) + " left");
+                context.changeEnergy(-hours * energyCost);
+                context.addStudyHours(hours);
+                context.passHours(hours);
+            }
+        };
+
+        // Warm up both so the JIT has compiled them
+        time(script);
+        time(handWritten);
+        long scriptNanos = time(script);
+        long handWrittenNanos = time(handWritten);
+
+        System.out.printf("Compiled script: %.1fns per run, hand written: %.1fns per run%n",
+                scriptNanos / (double) RUNS, handWrittenNanos / (double) RUNS);
+    }
+
+    private static long time(EventScript script) {
+        BenchmarkContext context = new BenchmarkContext();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            // Alternate between studying and being too tired so every branch is used
+            context.energy = (i & 1) == 0 ? 100 : 10;
+            context.minute = 12 * 60;
+            script.run(context);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,89 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * An asset build step that turns each skin's JSON file into a SkinCache, which the game loads instead of the JSON.
+ * <p></p>
+ * SkinCache.fromJson() reads the fonts from their .fnt files, resolves colors and tinted drawables, and stores each
+ * style as its list of fields with styles that inherit from a parent already merged. Then times reading the JSON
+ * and font files against reading the caches, which is the part of loading a skin the cache replaces.
+ * <p></p>
+ * Run with: gradlew desktop:cacheSkins, after desktop:packUi if the UI atlas is being repacked
+ */
+public class SkinCacheWriter {
+    private static final int BENCHMARK_RUNS = 50;
+
+    public static void main(String[] args) throws IOException {
+        Array<String> skins = new Array<>();
+        skins.add(HustleGame.PRIMARY_SKIN);
+        skins.add(HustleGame.SECONDARY_SKIN);
+        if (new File(HustleGame.PACKED_SKIN).exists()) {
+            skins.add(HustleGame.PACKED_SKIN);
+        }
+
+        for (String skin : skins) {
+            SkinCache cache = SkinCache.fromJson(new FileHandle(new File(skin)));
+            File cacheFile = new File(SkinCache.getCachePath(skin));
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+                cache.write(out);
+            }
+            System.out.println("Cached " + skin + " as " + cacheFile + " (" + cacheFile.length() / 1024 + " KB, "
+                    + cache.fonts.size + " fonts, " + cache.styles.size + " styles)");
+        }
+
+        benchmark(skins);
+    }
+
+    // Times the work each way of loading does before it needs the OpenGL context.
+    // The caches are checked against their sources first, as the game does
+    private static void benchmark(Array<String> skins) throws IOException {
+        FileHandleResolver resolver = path -> new FileHandle(new File(path));
+        long jsonNanos = 0;
+        long cacheNanos = 0;
+        for (int run = 0; run < BENCHMARK_RUNS; run++) {
+            for (String skin : skins) {
+                long start = System.nanoTime();
+                readJson(new FileHandle(new File(skin)));
+                jsonNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                File cacheFile = new File(SkinCache.getCachePath(skin));
+                if (!SkinCache.isFresh(new FileHandle(cacheFile), resolver)) {
+                    throw new RuntimeException(cacheFile + " is out of date straight after being written");
+                }
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+                    SkinCache.read(in);
+                }
+                cacheNanos += System.nanoTime() - start;
+            }
+        }
+        System.out.printf("Reading %d skins: JSON and fonts %.2f ms, caches %.2f ms (average of %d runs)%n",
+                skins.size, jsonNanos / 1e6 / BENCHMARK_RUNS, cacheNanos / 1e6 / BENCHMARK_RUNS, BENCHMARK_RUNS);
+    }
+
+    // What loading a skin from JSON reads before it needs OpenGL, the JSON and each font's .fnt file
+    private static void readJson(FileHandle skinFile) {
+        JsonValue fonts = new JsonReader().parse(skinFile).get(BitmapFont.class.getName());
+        if (fonts == null) {
+            return;
+        }
+        for (JsonValue entry = fonts.child; entry != null; entry = entry.next) {
+            new BitmapFont.BitmapFontData(skinFile.parent().child(entry.getString("file")), entry.getBoolean("flip", false));
+        }
+    }
+}
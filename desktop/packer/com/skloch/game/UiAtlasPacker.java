@@ -0,0 +1,80 @@
+package com.skloch.game;
+
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import screens.GameScreen;
+import screens.MenuScreen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An asset build step that packs the UI into one texture, so the HUD and dialogue box can be drawn without
+ * switching textures.
+ * <p></p>
+ * Packs the primary skin's images, the pages of every font it uses and the HUD images that used to be loaded as
+ * separate textures into Interface/ui.atlas, then writes Interface/ui.json, a copy of the primary skin that
+ * uses the new atlas. Skin looks up each font's page in the atlas by the font file's name, so fonts are drawn
+ * from the atlas too. HustleGame uses the packed skin if it exists, and the original files if not.
+ * <p></p>
+ * Run with: gradlew desktop:packUi
+ */
+public class UiAtlasPacker {
+    private static final String SKIN_SOURCE_DIRECTORY = "Interface/BlockyInterface_data";
+
+    public static void main(String[] args) throws IOException {
+        File staging = Files.createTempDirectory("ui_atlas").toFile();
+
+        // The skin's images and font pages keep their names, so the skin can find them
+        File[] skinImages = new File(SKIN_SOURCE_DIRECTORY).listFiles((dir, name) -> name.endsWith(".png"));
+        if (skinImages == null) {
+            throw new RuntimeException("Couldn't find the skin images in " + SKIN_SOURCE_DIRECTORY);
+        }
+        for (File image : skinImages) {
+            copy(image, new File(staging, image.getName()));
+        }
+
+        // Standalone images get the region names the game asks for
+        Map<String, String> images = new LinkedHashMap<>();
+        images.put(HustleGame.WHITE_SQUARE_REGION, HustleGame.WHITE_SQUARE_PATH);
+        images.put(GameScreen.BLACK_SQUARE_REGION, GameScreen.BLACK_SQUARE_PATH);
+        images.put(GameScreen.ENERGY_BAR_REGION, GameScreen.ENERGY_BAR_PATH);
+        images.put(GameScreen.ENERGY_BAR_OUTLINE_REGION, GameScreen.ENERGY_BAR_OUTLINE_PATH);
+        images.put(MenuScreen.TITLE_IMAGE_REGION, MenuScreen.TITLE_IMAGE_PATH);
+        // The skin's avatar1 button image was never saved in its data folder, the original is in Sprites
+        images.put("avatar1", "Sprites/avatar1.png");
+        for (Map.Entry<String, String> image : images.entrySet()) {
+            copy(new File(image.getValue()), new File(staging, image.getKey() + ".png"));
+        }
+
+        File skinFile = new File(HustleGame.PACKED_SKIN);
+        File outputDirectory = skinFile.getParentFile();
+        String atlasName = skinFile.getName().substring(0, skinFile.getName().lastIndexOf('.'));
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 2048;
+        settings.maxHeight = 2048;
+        settings.duplicatePadding = true;
+        settings.combineSubdirectories = false;
+        TexturePacker.process(settings, staging.getPath(), outputDirectory.getPath(), atlasName);
+
+        // The packed skin sits next to the primary skin, so the paths to its font files still work
+        copy(new File(HustleGame.PRIMARY_SKIN), skinFile);
+        System.out.println("Packed " + (skinImages.length + images.size()) + " images into " + outputDirectory);
+
+        for (File file : staging.listFiles()) {
+            file.delete();
+        }
+        staging.delete();
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        if (!from.exists()) {
+            throw new RuntimeException("Couldn't find UI image " + from);
+        }
+        Files.copy(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -3,6 +3,7 @@ package com.skloch.game;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
 import com.skloch.game.HustleGame;
 
 // Please note that on macOS your application needs to be started with the -XstartOnFirstThread JVM argument
@@ -10,17 +11,76 @@ public class DesktopLauncher {
 	public static void main (String[] arg) {
 		int WIDTH = 1280;
 		int HEIGHT = 720;
+		int FOREGROUND_FPS = 60;
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
 		config.setWindowSizeLimits(1280/2, 720/2, 1920, 1080);
 		config.setTitle("Heslington Hustle");
 		config.setWindowedMode(WIDTH, HEIGHT);
 		config.useVsync(true);
-		config.setForegroundFPS(60);
+		config.setForegroundFPS(FOREGROUND_FPS);
+		// Stop the game when minimised, but keep drawing (slowly) if the window is just unfocused
+		config.setPauseWhenMinimized(true);
+		config.setPauseWhenLostFocus(false);
 
 		config.setWindowIcon(Files.FileType.Internal, "Icons/icon_16x16.png");
 		config.setWindowIcon(Files.FileType.Internal, "Icons/icon_32x32.png");
 		config.setWindowIcon(Files.FileType.Internal, "Icons/icon_128x128.png");
 
-		new Lwjgl3Application(new HustleGame(WIDTH, HEIGHT), config);
+		// Pass --idle-rendering to only redraw the screen when something changes
+		// Pass --background-fps=N to change the frame rate used while the window is unfocused
+		// Pass --record=file to record the next game to a file, or --replay=file to play one back
+		// Add --replay-fast to play it back as fast as possible
+		// Pass --telemetry to record which activities are done when to the telemetry folder, see TelemetryReader
+		// Pass --render-stats to print how many draw calls each frame takes and how long switching screen takes
+		boolean idleRendering = false;
+		int backgroundFPS = 10;
+		GameInput input = new GameInput();
+		boolean fastReplay = false;
+		boolean telemetry = false;
+		boolean renderStats = false;
+		for (String argument : arg) {
+			if (argument.equals("--idle-rendering")) {
+				idleRendering = true;
+			} else if (argument.startsWith("--background-fps=")) {
+				try {
+					backgroundFPS = Integer.parseInt(argument.substring("--background-fps=".length()));
+				} catch (NumberFormatException e) {
+					System.out.println("WARNING: Invalid background fps " + argument);
+				}
+			} else if (argument.startsWith("--record=")) {
+				input = new GameInput(GameInput.Mode.RECORD, argument.substring("--record=".length()));
+			} else if (argument.startsWith("--replay=")) {
+				input = new GameInput(GameInput.Mode.REPLAY, argument.substring("--replay=".length()));
+			} else if (argument.equals("--replay-fast")) {
+				fastReplay = true;
+			} else if (argument.equals("--telemetry")) {
+				telemetry = true;
+			} else if (argument.equals("--render-stats")) {
+				renderStats = true;
+			}
+		}
+		input.setFastReplay(fastReplay);
+
+		HustleGame game = new HustleGame(WIDTH, HEIGHT, idleRendering);
+		game.backgroundFPS = backgroundFPS;
+		game.foregroundFPS = FOREGROUND_FPS;
+		game.input = input;
+		game.telemetryEnabled = telemetry;
+		game.renderStatsEnabled = renderStats;
+
+		// Let the game know when the window goes into the background
+		config.setWindowListener(new Lwjgl3WindowAdapter() {
+			@Override
+			public void focusLost() {
+				game.setFocused(false);
+			}
+
+			@Override
+			public void focusGained() {
+				game.setFocused(true);
+			}
+		});
+
+		new Lwjgl3Application(game, config);
 	}
 }
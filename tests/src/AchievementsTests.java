@@ -0,0 +1,133 @@
+import com.badlogic.gdx.Gdx;
+import com.skloch.game.Achievements;
+import com.skloch.game.EventState;
+import com.skloch.game.EventTable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class AchievementsTests {
+    private static final String EVENTS = "{\"events\": [{\"name\": \"study\"}, {\"name\": \"ducks\"}]}";
+    private static final String ACHIEVEMENTS = "{\"achievements\": [" +
+            "{\"name\": \"streak\", \"conditions\": [{\"stat\": \"maxStreak\", \"event\": \"study\", \"atLeast\": 3}]}," +
+            "{\"name\": \"ducks\", \"conditions\": [{\"stat\": \"total\", \"event\": \"ducks\", \"atLeast\": 2}]}," +
+            "{\"name\": \"both\", \"conditions\": [{\"stat\": \"studyHours\", \"atLeast\": 5}, {\"stat\": \"recreationHours\", \"atLeast\": 5}]}," +
+            "{\"name\": \"rested\", \"keep\": true, \"conditions\": [{\"stat\": \"energy\", \"atLeast\": 20}]}" +
+            "]}";
+
+    private EventTable table;
+    private Achievements achievements;
+    private EventState state;
+
+    @Before
+    public void setUp() {
+        table = new EventTable(EVENTS);
+        achievements = new Achievements(table, ACHIEVEMENTS, true);
+        state = new EventState(table.size());
+        state.setListener(achievements);
+    }
+
+    @Test
+    public void testAchievementsFileLoads() {
+        Achievements real = new Achievements(new EventTable(Gdx.files.internal(EventTable.EVENTS_PATH)),
+                Gdx.files.internal(Achievements.ACHIEVEMENTS_PATH).readString(), true);
+        assertTrue(real.size() > 0);
+    }
+
+    @Test
+    public void testStreakAchievement() {
+        int study = table.getId("study");
+        for (int day = 0; day < 2; day++) {
+            state.perform(study);
+            state.advanceDay();
+        }
+        assertFalse(achievements.isUnlocked(achievements.getId("streak")));
+        state.perform(study);
+        assertTrue(achievements.isUnlocked(achievements.getId("streak")));
+    }
+
+    @Test
+    public void testTotalAchievement() {
+        state.perform(table.getId("ducks"));
+        assertFalse(achievements.isUnlocked(achievements.getId("ducks")));
+        state.perform(table.getId("ducks"));
+        assertTrue(achievements.isUnlocked(achievements.getId("ducks")));
+    }
+
+    @Test
+    public void testAllConditionsNeeded() {
+        achievements.setStat(Achievements.STUDY_HOURS, 10);
+        assertFalse(achievements.isUnlocked(achievements.getId("both")));
+        achievements.setStat(Achievements.RECREATION_HOURS, 5);
+        assertTrue(achievements.isUnlocked(achievements.getId("both")));
+    }
+
+    @Test
+    public void testKeepAchievement() {
+        achievements.setStat(Achievements.ENERGY, 30);
+        assertFalse("Keep achievements should only unlock at the end of the game",
+                achievements.isUnlocked(achievements.getId("rested")));
+        achievements.finishGame();
+        assertTrue(achievements.isUnlocked(achievements.getId("rested")));
+    }
+
+    @Test
+    public void testKeepAchievementFails() {
+        achievements.setStat(Achievements.ENERGY, 10);
+        achievements.setStat(Achievements.ENERGY, 100);
+        achievements.finishGame();
+        assertFalse(achievements.isUnlocked(achievements.getId("rested")));
+    }
+
+    @Test
+    public void testOnlyDependentsAreChecked() {
+        assertEquals(1, achievements.getDependentCount(Achievements.ENERGY));
+        assertEquals(1, achievements.getDependentCount(Achievements.STUDY_HOURS));
+        assertEquals(0, achievements.getDependentCount(Achievements.DAY));
+    }
+
+    @Test
+    public void testUnlocksStayUnlockedNextGame() {
+        achievements.setStat(Achievements.STUDY_HOURS, 5);
+        achievements.setStat(Achievements.RECREATION_HOURS, 5);
+        achievements.startGame();
+        assertTrue(achievements.isUnlocked(achievements.getId("both")));
+    }
+
+    @Test
+    public void testDailyStatsResetOnNewDay() {
+        Achievements daily = new Achievements(table, "{\"achievements\": [" +
+                "{\"name\": \"day_off\", \"conditions\": [{\"stat\": \"today\", \"event\": \"study\", \"atMost\": 0}," +
+                " {\"stat\": \"day\", \"atLeast\": 2}]}," +
+                "{\"name\": \"lapsed\", \"conditions\": [{\"stat\": \"streak\", \"event\": \"study\", \"atMost\": 0}," +
+                " {\"stat\": \"total\", \"event\": \"study\", \"atLeast\": 1}]}" +
+                "]}", true);
+        EventState dailyState = new EventState(table.size());
+        dailyState.setListener(daily);
+        int study = table.getId("study");
+
+        dailyState.perform(study);
+        daily.setStat(Achievements.DAY, 2);
+        assertFalse(daily.isUnlocked(daily.getId("day_off")));
+        // Today's count goes back to 0 when the day changes, not when study is next done
+        dailyState.advanceDay();
+        assertTrue(daily.isUnlocked(daily.getId("day_off")));
+
+        assertFalse(daily.isUnlocked(daily.getId("lapsed")));
+        // A whole day without studying ends the streak
+        dailyState.advanceDay();
+        assertTrue(daily.isUnlocked(daily.getId("lapsed")));
+    }
+
+    @Test
+    public void testUnlockListenerIsTold() {
+        String[] told = new String[1];
+        achievements.setUnlockListener((title, description) -> told[0] = title);
+        state.perform(table.getId("ducks"));
+        state.perform(table.getId("ducks"));
+        assertEquals("ducks", told[0]);
+    }
+}
@@ -0,0 +1,79 @@
+import com.skloch.game.ActivityRules;
+import com.skloch.game.EventTable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class ActivityRulesTests {
+    private static final String STUDY = "{"
+            + "\"name\": \"study\","
+            + "\"energyCost\": 20,"
+            + "\"earliestHour\": 8,"
+            + "\"latestHour\": 22,"
+            + "\"studyHours\": 1,"
+            + "\"options\": [2, 3, 4],"
+            + "\"notEnoughText\": \"Not enough\""
+            + "}";
+
+    private static final String CHAT = "{"
+            + "\"name\": \"chat\","
+            + "\"energyCost\": 10,"
+            + "\"minHours\": 1,"
+            + "\"maxHours\": 3,"
+            + "\"recreationHours\": 1,"
+            + "\"topics\": [\"Dogs\", \"Cats\", \"Exams\"]"
+            + "}";
+
+    private static final String EAT = "{"
+            + "\"name\": \"eat\","
+            + "\"energyCost\": 10,"
+            + "\"minHours\": 1,"
+            + "\"maxHours\": 3"
+            + "}";
+
+    private static final int NOON = 12 * 60;
+
+    private final EventTable table = new EventTable("{\"events\": [" + STUDY + "," + CHAT + "," + EAT + "]}");
+    private final ActivityRules rules = new ActivityRules(table);
+    private final int study = table.getId("study");
+    private final int chat = table.getId("chat");
+    private final int eat = table.getId("eat");
+
+    @Test
+    public void testClosedOutsideOpeningHours() {
+        assertEquals(ActivityRules.CLOSED, rules.decide(study, 7 * 60, 100, 2, true, bound -> 0));
+        assertEquals(ActivityRules.CLOSED, rules.decide(study, 22 * 60, 100, 2, true, bound -> 0));
+        assertFalse(rules.canStart(study, 7 * 60, 100));
+        assertTrue(rules.canStart(study, NOON, 100));
+    }
+
+    @Test
+    public void testTooTiredForAnHour() {
+        assertEquals(ActivityRules.TOO_TIRED, rules.decide(study, NOON, 19, 0, true, bound -> 0));
+        assertFalse(rules.canStart(study, NOON, 19));
+        // Being closed is checked first
+        assertEquals(ActivityRules.CLOSED, rules.decide(study, 7 * 60, 0, 0, true, bound -> 0));
+    }
+
+    @Test
+    public void testAsksForHoursThenTopic() {
+        assertEquals(ActivityRules.ASK_HOURS, rules.decide(study, NOON, 100, 0, true, bound -> 0));
+        assertEquals(ActivityRules.ASK_TOPIC, rules.decide(chat, NOON, 100, 0, false, bound -> 0));
+    }
+
+    @Test
+    public void testNotEnoughEnergyForChosenHours() {
+        assertEquals(ActivityRules.NOT_ENOUGH_ENERGY, rules.decide(study, NOON, 50, 3, true, bound -> 0));
+        assertEquals(2, rules.decide(study, NOON, 50, 2, true, bound -> 0));
+    }
+
+    @Test
+    public void testRollsHoursWhenNotChosen() {
+        // The roll is added to the minimum hours, and can be up to the maximum
+        assertEquals(1, rules.decide(eat, NOON, 100, 0, true, bound -> 0));
+        assertEquals(3, rules.decide(eat, NOON, 100, 0, true, bound -> bound - 1));
+        assertEquals(2, rules.decide(chat, NOON, 100, 0, true, bound -> 1));
+    }
+}
@@ -0,0 +1,190 @@
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.skloch.game.Assets;
+import com.skloch.game.GameClock;
+import com.skloch.game.HustleGame;
+import com.skloch.game.Leaderboard;
+import com.skloch.game.WorldRenderTarget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import screens.GameOverScreen;
+import screens.GameScreen;
+
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(GdxTestRunner.class)
+public class AssetLeakTests {
+    private Assets assets;
+
+    @Before
+    public void setUp() {
+        assets = new Assets();
+    }
+
+    @After
+    public void tearDown() {
+        assets.dispose();
+    }
+
+    // The tests' OpenGL is a mock, so shaders and framebuffers are made to look like they worked.
+    // This lets the real SpriteBatch, map renderer and world framebuffer be made
+    private static void pretendGraphicsWork() {
+        GL20 gl = Gdx.gl;
+        Gdx.gl20 = gl;
+        when(gl.glCreateShader(anyInt())).thenReturn(1);
+        when(gl.glCreateProgram()).thenReturn(1);
+        doAnswer(call -> {
+            IntBuffer status = call.getArgument(2);
+            status.put(0, 1);
+            return null;
+        }).when(gl).glGetShaderiv(anyInt(), eq(GL20.GL_COMPILE_STATUS), any(IntBuffer.class));
+        doAnswer(call -> {
+            IntBuffer status = call.getArgument(2);
+            status.put(0, 1);
+            return null;
+        }).when(gl).glGetProgramiv(anyInt(), eq(GL20.GL_LINK_STATUS), any(IntBuffer.class));
+        when(gl.glCheckFramebufferStatus(anyInt())).thenReturn(GL20.GL_FRAMEBUFFER_COMPLETE);
+    }
+
+    // Starts the game the same way DesktopLauncher does, and draws the loading screen until it reaches the menu
+    private static HustleGame startGame() {
+        HustleGame game = new HustleGame(1280, 720);
+        game.create();
+        // Scores go to the test leaderboard rather than the player's
+        game.leaderboard = new Leaderboard(true);
+        while (game.getScreen() != game.menuScreen) {
+            game.render();
+        }
+        return game;
+    }
+
+    // Starts a game like the menu's avatar buttons do, plays until the end of the last day, then goes back to the
+    // menu from the game over screen
+    private static void playAndExit(HustleGame game) {
+        GameScreen gameScreen = new GameScreen(game, 1);
+        game.setScreen(gameScreen);
+        game.render();
+
+        gameScreen.passTime(7 * GameClock.MINUTES_PER_DAY);
+        assertTrue(game.getScreen() instanceof GameOverScreen);
+        assertNull(game.gameScreen);
+        game.render();
+
+        ((GameOverScreen) game.getScreen()).exitToMenu();
+        assertSame(game.menuScreen, game.getScreen());
+        game.render();
+    }
+
+    // How many times each asset is currently acquired, so a leaked reference to an asset that is never unloaded
+    // still shows up
+    private static Map<String, Integer> referenceCounts(Assets assets) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String path : assets.getAcquiredPaths()) {
+            counts.put(path, assets.getReferenceCount(path));
+        }
+        return counts;
+    }
+
+    @Test
+    public void testNewGameCyclesDontGrowLiveSet() {
+        pretendGraphicsWork();
+        HustleGame game = startGame();
+        playAndExit(game);
+        Map<String, Integer> references = referenceCounts(game.assets);
+        int loaded = game.assets.getLoadedCount();
+        int textures = game.assets.getTextureCount();
+        long textureBytes = game.assets.getTextureBytes();
+
+        for (int i = 0; i < 5; i++) {
+            playAndExit(game);
+        }
+
+        assertEquals(references, referenceCounts(game.assets));
+        assertEquals(loaded, game.assets.getLoadedCount());
+        assertEquals(textures, game.assets.getTextureCount());
+        assertEquals(textureBytes, game.assets.getTextureBytes());
+
+        // Closing the game releases everything that is left
+        game.dispose();
+        assertEquals(0, game.assets.reportLeaks());
+    }
+
+    @Test
+    public void testClosingMidGameReleasesEverything() {
+        pretendGraphicsWork();
+        HustleGame game = startGame();
+        Map<String, Integer> menuReferences = referenceCounts(game.assets);
+
+        GameScreen gameScreen = new GameScreen(game, 1);
+        game.setScreen(gameScreen);
+        game.render();
+        gameScreen.passTime(GameClock.MINUTES_PER_DAY);
+        game.render();
+        assertNotEquals(menuReferences, referenceCounts(game.assets));
+
+        // Closing the window while the game is still going
+        game.dispose();
+        assertNull(game.gameScreen);
+        assertEquals(0, game.assets.reportLeaks());
+    }
+
+    @Test
+    public void testFrameBufferTextureIsTracked() {
+        pretendGraphicsWork();
+        WorldRenderTarget target = new WorldRenderTarget(assets);
+        target.begin(320, 180);
+        target.end();
+        assertEquals(1, assets.getTextureCount());
+        assertTrue(assets.getTextureBytes() >= 320 * 180 * 3);
+        assertEquals(1, assets.reportLeaks());
+
+        // Changing size replaces the framebuffer rather than adding another
+        target.begin(160, 90);
+        target.end();
+        assertEquals(1, assets.getTextureCount());
+
+        target.dispose();
+        assertEquals(0, assets.getTextureCount());
+        assertEquals(0, assets.reportLeaks());
+    }
+
+    @Test
+    public void testUnreleasedAssetIsReported() {
+        assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        assertEquals(1, assets.reportLeaks());
+        assertTrue(assets.getAcquiredPaths().contains(HustleGame.WHITE_SQUARE_PATH, false));
+
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+        assertEquals(0, assets.reportLeaks());
+    }
+
+    @Test
+    public void testReportShowsAcquireSite() {
+        assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        String report = assets.report();
+        assertTrue(report.contains(HustleGame.WHITE_SQUARE_PATH));
+        assertTrue(report.contains("AssetLeakTests.testReportShowsAcquireSite"));
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+    }
+
+    @Test
+    public void testTextureBytesCountLoadedTextures() {
+        assertEquals(0, assets.getTextureCount());
+        assertEquals(0, assets.getTextureBytes());
+
+        Texture texture = assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        assertEquals(1, assets.getTextureCount());
+        assertTrue(assets.getTextureBytes() >= (long) texture.getWidth() * texture.getHeight());
+
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+        assertEquals(0, assets.getTextureCount());
+    }
+}
@@ -0,0 +1,62 @@
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.skloch.game.Assets;
+import com.skloch.game.HustleGame;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class AssetManagerTests {
+    @Test
+    public void testManifestFilesExist() {
+        for (AssetDescriptor<?> asset : Assets.getManifest()) {
+            assertTrue(asset.fileName + " does not exist", Gdx.files.internal(asset.fileName).exists());
+        }
+    }
+
+    @Test
+    public void testManifestHasNoDuplicates() {
+        Array<AssetDescriptor<?>> manifest = Assets.getManifest();
+        for (int i = 0; i < manifest.size; i++) {
+            for (int j = i + 1; j < manifest.size; j++) {
+                assertNotEquals(manifest.get(i).fileName, manifest.get(j).fileName);
+            }
+        }
+    }
+
+    @Test
+    public void testAcquireCountsReferences() {
+        Assets assets = new Assets();
+        Texture first = assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        Texture second = assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        assertSame(first, second);
+        assertEquals(2, assets.getReferenceCount(HustleGame.WHITE_SQUARE_PATH));
+
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+        assertEquals(1, assets.getReferenceCount(HustleGame.WHITE_SQUARE_PATH));
+        assertTrue(assets.isLoaded(HustleGame.WHITE_SQUARE_PATH));
+        assets.dispose();
+    }
+
+    @Test
+    public void testUnloadedWhenLastReferenceReleased() {
+        Assets assets = new Assets();
+        assets.acquire(HustleGame.WHITE_SQUARE_PATH, Texture.class);
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+        assertEquals(0, assets.getReferenceCount(HustleGame.WHITE_SQUARE_PATH));
+        assertFalse(assets.isLoaded(HustleGame.WHITE_SQUARE_PATH));
+        assets.dispose();
+    }
+
+    @Test
+    public void testReleaseWithoutAcquireIsIgnored() {
+        Assets assets = new Assets();
+        assets.release(HustleGame.WHITE_SQUARE_PATH);
+        assertEquals(0, assets.getReferenceCount(HustleGame.WHITE_SQUARE_PATH));
+        assets.dispose();
+    }
+}
@@ -1,4 +1,10 @@
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.skloch.game.EventTable;
 import com.skloch.game.HustleGame;
 import com.skloch.game.Player;
 import com.skloch.game.SoundManager;
@@ -7,6 +13,8 @@ import org.junit.runner.RunWith;
 import screens.GameScreen;
 import screens.MenuScreen;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(GdxTestRunner.class)
@@ -17,6 +25,33 @@ public class AssetTests {
                 Gdx.files.internal(HustleGame.PRIMARY_SKIN).exists());
     }
 
+    @Test
+    public void testPackedSkinExists() {
+        assertTrue("Packed skin file does not exist, run gradlew desktop:packUi",
+                Gdx.files.internal(HustleGame.PACKED_SKIN).exists());
+    }
+
+    @Test
+    public void testPackedSkinDrawsFromOneTexture() {
+        // Everything the HUD and dialogue box draw is on one page, so they can be drawn without switching textures
+        Skin skin = new Skin(Gdx.files.internal(HustleGame.PACKED_SKIN));
+        TextureAtlas atlas = skin.getAtlas();
+        assertEquals("Packed UI atlas has more than one page", 1, atlas.getTextures().size);
+        Texture page = atlas.getTextures().first();
+
+        for (BitmapFont font : skin.getAll(BitmapFont.class).values()) {
+            for (TextureRegion region : font.getRegions()) {
+                assertSame("A font page is not in the packed UI atlas", page, region.getTexture());
+            }
+        }
+        String[] images = {HustleGame.WHITE_SQUARE_REGION, GameScreen.BLACK_SQUARE_REGION,
+                GameScreen.ENERGY_BAR_REGION, GameScreen.ENERGY_BAR_OUTLINE_REGION, MenuScreen.TITLE_IMAGE_REGION};
+        for (String image : images) {
+            assertSame(image + " is not in the packed UI atlas", page, skin.getRegion(image).getTexture());
+        }
+        skin.dispose();
+    }
+
     @Test
     public void testSecondarySkinExists() {
         assertTrue("Primary skin file does not exist",
@@ -119,4 +154,10 @@ public class AssetTests {
         assertTrue("Button sound file does not exist",
                 Gdx.files.internal(SoundManager.BUTTON_SOUND_PATH).exists());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEventsExists() {
+        assertTrue("Events file does not exist",
+                Gdx.files.internal(EventTable.EVENTS_PATH).exists());
+    }
+}
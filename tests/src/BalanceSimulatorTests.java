@@ -0,0 +1,102 @@
+import com.badlogic.gdx.Gdx;
+import com.skloch.game.ActivityCompletedEvent;
+import com.skloch.game.BalanceSimulator;
+import com.skloch.game.EventTable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class BalanceSimulatorTests {
+    private EventTable table;
+    private BalanceSimulator simulator;
+
+    @Before
+    public void setUp() {
+        table = new EventTable(Gdx.files.internal(EventTable.EVENTS_PATH));
+        simulator = new BalanceSimulator(table, 10);
+    }
+
+    @Test
+    public void testSleepingEveryDay() {
+        // Going to bed at 8am sleeps for 24 hours, seven times. Like the game, the night that ends the game is
+        // added after the score has been worked out, so only six count
+        BalanceSimulator.Playthrough playthrough = new BalanceSimulator.Playthrough(table, 10);
+        int score = simulator.play(playthrough, BalanceSimulator.createStrategy("sleep", table), new SplittableRandom(1));
+        assertEquals(6 * 24 * 100, score);
+        assertEquals(8, playthrough.getDay());
+        assertEquals(7 * 24, playthrough.getSleptHours());
+    }
+
+    @Test
+    public void testActivityRunningIntoTheEndCounts() {
+        BalanceSimulator.Playthrough playthrough = new BalanceSimulator.Playthrough(table, 10);
+        // 11pm on the last day
+        playthrough.passTime(6 * 24 * 60 + 15 * 60);
+        assertEquals(7, playthrough.getDay());
+        assertFalse(playthrough.isOver());
+
+        // Time is passed after the hours are added, the same as in the game
+        ActivityCompletedEvent activity = new ActivityCompletedEvent();
+        activity.set(table, table.getId("comp_sci"), 2);
+        activity.apply(playthrough);
+        assertTrue(playthrough.isOver());
+        assertEquals(2 * 100, playthrough.getScore());
+        assertEquals(60, playthrough.getEnergy());
+    }
+
+    @Test
+    public void testEnergyStaysInRange() {
+        BalanceSimulator.Playthrough playthrough = new BalanceSimulator.Playthrough(table, 10);
+        playthrough.decreaseEnergy(-50);
+        assertEquals(100, playthrough.getEnergy());
+        playthrough.decreaseEnergy(150);
+        assertEquals(0, playthrough.getEnergy());
+    }
+
+    @Test
+    public void testStudyingGainsStudyHours() {
+        BalanceSimulator.Playthrough playthrough = new BalanceSimulator.Playthrough(table, 10);
+        simulator.play(playthrough, BalanceSimulator.createStrategy("study", table), new SplittableRandom(1));
+        assertTrue(playthrough.getStudyHours() > 0);
+        assertEquals(0, playthrough.getRecreationHours());
+    }
+
+    @Test
+    public void testResultsDoNotDependOnThreads() {
+        BalanceSimulator.Strategy strategy = BalanceSimulator.createStrategy("random", table);
+        BalanceSimulator.Results single = simulator.simulate(strategy, 20_000, 42, new ForkJoinPool(1));
+        BalanceSimulator.Results parallel = simulator.simulate(strategy, 20_000, 42, new ForkJoinPool(4));
+
+        assertEquals(20_000, single.getRuns());
+        assertEquals(single.getMeanScore(), parallel.getMeanScore(), 0);
+        assertEquals(single.getPercentile(0.1), parallel.getPercentile(0.1));
+        assertEquals(single.getPercentile(0.9), parallel.getPercentile(0.9));
+    }
+
+    @Test
+    public void testDominance() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        BalanceSimulator.Results sleep = simulator.simulate(BalanceSimulator.createStrategy("sleep", table), 1000, 1, pool);
+        BalanceSimulator.Results study = simulator.simulate(BalanceSimulator.createStrategy("study", table), 1000, 1, pool);
+        BalanceSimulator.Results random = simulator.simulate(BalanceSimulator.createStrategy("random", table), 1000, 1, pool);
+
+        // Studying until exhausted every day always scores less than only sleeping
+        assertTrue(sleep.dominates(study));
+        assertFalse(study.dominates(sleep));
+        assertFalse(sleep.dominates(sleep));
+        // Playing randomly sometimes beats sleeping and sometimes doesn't
+        assertFalse(sleep.dominates(random));
+        assertFalse(random.dominates(sleep));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStrategy() {
+        BalanceSimulator.createStrategy("cheat", table);
+    }
+}
@@ -0,0 +1,82 @@
+import com.skloch.game.EventScheduler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventSchedulerTests {
+    private EventScheduler scheduler;
+    private List<String> ran;
+
+    @Before
+    public void setUp() {
+        scheduler = new EventScheduler();
+        ran = new ArrayList<>();
+    }
+
+    @Test
+    public void testOnlyDueEventsRun() {
+        scheduler.schedule(60, events -> ran.add("a"));
+        scheduler.schedule(120, events -> ran.add("b"));
+
+        assertEquals(1, scheduler.advanceTo(90, null));
+        assertEquals(1, ran.size());
+        assertEquals(120, scheduler.getNextDueMinute());
+    }
+
+    @Test
+    public void testEventsRunInOrder() {
+        scheduler.schedule(300, events -> ran.add("c"));
+        scheduler.schedule(100, events -> ran.add("a"));
+        scheduler.schedule(200, events -> ran.add("b1"));
+        scheduler.schedule(200, events -> ran.add("b2"));
+
+        scheduler.advanceTo(1000, null);
+        assertArrayEquals(new String[]{"a", "b1", "b2", "c"}, ran.toArray());
+        assertEquals(0, scheduler.size());
+        assertEquals(-1, scheduler.getNextDueMinute());
+    }
+
+    @Test
+    public void testDailyEventRunsOnceAfterLongSkip() {
+        scheduler.scheduleDaily(9 * 60, events -> ran.add("lecture"));
+
+        // Skip three whole days in one go
+        scheduler.advanceTo(3 * EventScheduler.MINUTES_PER_DAY + 10 * 60, null);
+        assertEquals(1, ran.size());
+        // Next lecture is 9am the following day
+        assertEquals(4 * EventScheduler.MINUTES_PER_DAY + 9 * 60, scheduler.getNextDueMinute());
+    }
+
+    @Test
+    public void testDailyEventStartsTomorrowIfTimeHasPassed() {
+        scheduler.advanceTo(10 * 60, null);
+        scheduler.scheduleDaily(9 * 60, events -> ran.add("lecture"));
+        assertEquals(EventScheduler.MINUTES_PER_DAY + 9 * 60, scheduler.getNextDueMinute());
+    }
+
+    @Test
+    public void testCancelledEventDoesNotRun() {
+        EventScheduler.ScheduledEvent event = scheduler.schedule(60, events -> ran.add("a"));
+        assertTrue(scheduler.cancel(event));
+        scheduler.advanceTo(120, null);
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    public void testAdvancingWhileRunningIsBatched() {
+        // An event that passes more time, like studying, should not start a second drain
+        scheduler.schedule(10, events -> {
+            ran.add("study");
+            assertEquals(0, scheduler.advanceTo(250, null));
+        });
+        scheduler.schedule(200, events -> ran.add("arrive"));
+
+        assertEquals(2, scheduler.advanceTo(10, null));
+        assertArrayEquals(new String[]{"study", "arrive"}, ran.toArray());
+        assertEquals(250, scheduler.getCurrentMinute());
+    }
+}
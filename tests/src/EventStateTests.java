@@ -0,0 +1,106 @@
+import com.skloch.game.EventState;
+import com.skloch.game.GameClock;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EventStateTests {
+    private EventState state;
+
+    @Before
+    public void setUp() {
+        state = new EventState(4);
+    }
+
+    @Test
+    public void testPerformCountsOncePerDayForStreak() {
+        state.perform(1);
+        state.perform(1);
+        assertEquals(1, state.getStreak(1));
+        assertEquals(2, state.getTimesPerformedToday(1));
+        assertEquals(2, state.getTimesPerformedTotal(1));
+        assertEquals(1, state.getEventsDoneToday());
+    }
+
+    @Test
+    public void testStreakGrowsOverDays() {
+        for (int day = 0; day < 3; day++) {
+            state.perform(2);
+            state.advanceDay();
+        }
+        assertEquals(3, state.getStreak(2));
+        assertEquals(3, state.getMaxStreak(2));
+        assertEquals(0, state.getTimesPerformedToday(2));
+    }
+
+    @Test
+    public void testMissedDayEndsStreak() {
+        state.perform(0);
+        state.advanceDay();
+        state.perform(0);
+        state.advanceDay();
+        // Skip a day
+        state.advanceDay();
+        assertEquals(0, state.getStreak(0));
+        assertEquals(2, state.getMaxStreak(0));
+        assertEquals(2, state.getTimesPerformedTotal(0));
+
+        state.perform(0);
+        assertEquals(1, state.getStreak(0));
+    }
+
+    @Test
+    public void testStreakSurvivesUntilEndOfDay() {
+        state.perform(3);
+        state.advanceDay();
+        // Not done yet today, but the streak from yesterday still counts
+        assertEquals(1, state.getStreak(3));
+        state.perform(3);
+        assertEquals(2, state.getStreak(3));
+    }
+
+    @Test
+    public void testEventsAreIndependent() {
+        state.perform(0);
+        state.advanceDay();
+        state.perform(1);
+        state.advanceDay();
+        assertEquals(0, state.getStreak(0));
+        assertEquals(1, state.getStreak(1));
+        assertEquals(0, state.getTimesPerformedTotal(2));
+    }
+
+    @Test
+    public void testSkippingDaysMatchesSteppingThem() {
+        EventState stepped = new EventState(4);
+        for (EventState s : new EventState[]{state, stepped}) {
+            s.perform(0);
+            s.perform(1);
+        }
+        stepped.advanceDay();
+        stepped.perform(1);
+        state.advance(9 * 60, GameClock.MINUTES_PER_DAY + 9 * 60);
+        state.perform(1);
+
+        // Jump from 10am on day 2 to 8am on day 5, crossing three midnights at once
+        stepped.advanceDay();
+        stepped.advanceDay();
+        stepped.advanceDay();
+        state.advance(GameClock.MINUTES_PER_DAY + 10 * 60, 4 * GameClock.MINUTES_PER_DAY + 8 * 60);
+        for (int id = 0; id < 4; id++) {
+            assertEquals(stepped.getStreak(id), state.getStreak(id));
+            assertEquals(stepped.getMaxStreak(id), state.getMaxStreak(id));
+            assertEquals(stepped.getTimesPerformedToday(id), state.getTimesPerformedToday(id));
+        }
+        assertEquals(0, state.getStreak(1));
+        assertEquals(2, state.getMaxStreak(1));
+    }
+
+    @Test
+    public void testAdvanceWithinADayKeepsCounts() {
+        state.perform(2);
+        state.advance(8 * 60, 23 * 60);
+        assertEquals(1, state.getTimesPerformedToday(2));
+    }
+}
@@ -0,0 +1,209 @@
+import com.badlogic.gdx.Gdx;
+import com.skloch.game.EventTable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class EventTableTests {
+    private static final String STUDY = "{"
+            + "\"name\": \"study\","
+            + "\"prompt\": \"Would you like to study?\","
+            + "\"energyCost\": 20,"
+            + "\"earliestHour\": 8,"
+            + "\"latestHour\": 22,"
+            + "\"studyHours\": 1,"
+            + "\"options\": [2, 3, 4],"
+            + "\"optionText\": \"%1$d Hours (%2$d)\","
+            + "\"askText\": \"Study for how long?\","
+            + "\"earlyText\": \"Too early\","
+            + "\"tiredText\": \"Too tired\","
+            + "\"notEnoughText\": \"Not enough\","
+            + "\"doneText\": \"You studied for %1$d hours!\""
+            + "}";
+
+    private static final String CHAT = "{"
+            + "\"name\": \"chat\","
+            + "\"energyCost\": 10,"
+            + "\"minHours\": 1,"
+            + "\"maxHours\": 3,"
+            + "\"recreationHours\": 1,"
+            + "\"topics\": [\"Dogs\", \"Cats\", \"Exams\"],"
+            + "\"topicChoices\": 5"
+            + "}";
+
+    private static EventTable table(String... events) {
+        return new EventTable("{\"events\": [" + String.join(",", events) + "]}");
+    }
+
+    @Test
+    public void testReadsEveryField() {
+        EventTable events = table(STUDY);
+        int id = events.getId("study");
+        assertEquals(0, id);
+        assertEquals(1, events.size());
+        assertEquals("study", events.getName(id));
+        assertEquals("Would you like to study?", events.getPrompt(id));
+        assertTrue(events.isActivity(id));
+        assertEquals(20, events.getEnergyCost(id));
+        assertEquals(1, events.getMinHours(id));
+        assertEquals(1, events.getMaxHours(id));
+        assertEquals(1, events.getStudyHours(id));
+        assertEquals(0, events.getRecreationHours(id));
+        assertArrayEquals(new int[]{2, 3, 4}, events.getOptionHours(id));
+        assertEquals("Study for how long?", events.getAskText(id));
+        assertEquals("Too early", events.getEarlyText(id));
+        assertEquals("Too tired", events.getTiredText(id));
+        assertEquals("Not enough", events.getNotEnoughText(id));
+        assertEquals("You studied for %1$d hours!", events.getDoneText(id));
+        assertNull(events.getScript(id));
+    }
+
+    @Test
+    public void testReadsHoursAndTopics() {
+        EventTable events = table(STUDY, CHAT);
+        int id = events.getId("chat");
+        assertEquals(1, id);
+        assertEquals(1, events.getMinHours(id));
+        assertEquals(3, events.getMaxHours(id));
+        assertEquals(1, events.getRecreationHours(id));
+        assertArrayEquals(new String[]{"Dogs", "Cats", "Exams"}, events.getTopics(id));
+        // Can't offer more topics than there are
+        assertEquals(3, events.getTopicChoices(id));
+    }
+
+    @Test
+    public void testDefaults() {
+        EventTable events = table("{\"name\": \"bench\"}");
+        int id = events.getId("bench");
+        assertEquals("Interact with bench?", events.getPrompt(id));
+        assertTrue(events.isActivity(id));
+        assertEquals(0, events.getEnergyCost(id));
+        assertEquals(1, events.getMinHours(id));
+        assertEquals(1, events.getMaxHours(id));
+        assertEquals(0, events.getOptionHours(id).length);
+        assertEquals(0, events.getOptionLabels(id).length);
+        assertEquals(0, events.getTopics(id).length);
+        assertEquals(0, events.getTopicChoices(id));
+        assertNull(events.getNotEnoughText(id));
+        assertEquals("You lost %2$d energy!", events.getDoneText(id));
+    }
+
+    @Test
+    public void testHoursSetsMinAndMax() {
+        EventTable events = table("{\"name\": \"nap\", \"hours\": 2}");
+        assertEquals(2, events.getMinHours(0));
+        assertEquals(2, events.getMaxHours(0));
+    }
+
+    @Test
+    public void testScriptsAndSpecialEvents() {
+        EventTable events = table(
+                "{\"name\": \"tree\", \"type\": \"script\", \"script\": \"say \\\"Hello\\\"\"}",
+                "{\"name\": \"accomodation\", \"type\": \"special\"}");
+        assertFalse(events.isActivity(events.getId("tree")));
+        assertEquals("say \"Hello\"", events.getScript(events.getId("tree")));
+        assertFalse(events.isActivity(events.getId("accomodation")));
+    }
+
+    @Test
+    public void testUnknownEventHasNoId() {
+        assertEquals(-1, table(STUDY).getId("rch"));
+    }
+
+    @Test
+    public void testOptionLabelsShowHoursAndEnergy() {
+        EventTable events = table(STUDY);
+        assertArrayEquals(new String[]{"2 Hours (40)", "3 Hours (60)", "4 Hours (80)"},
+                events.getOptionLabels(events.getId("study")));
+    }
+
+    @Test
+    public void testDefaultOptionLabels() {
+        EventTable events = table("{\"name\": \"gym\", \"options\": [1, 2]}");
+        assertArrayEquals(new String[]{"1 Hours", "2 Hours"}, events.getOptionLabels(0));
+    }
+
+    @Test
+    public void testOpensAfterEarliestHour() {
+        EventTable events = table(STUDY);
+        int id = events.getId("study");
+        assertFalse(events.isOpen(id, 0));
+        assertFalse(events.isOpen(id, 8 * 60 - 1));
+        // Not open until after the hour has started, the same as the old "seconds > 8*60" checks
+        assertFalse(events.isOpen(id, 8 * 60));
+        assertTrue(events.isOpen(id, 8 * 60 + 1));
+    }
+
+    @Test
+    public void testClosesAtLatestHour() {
+        EventTable events = table(STUDY);
+        int id = events.getId("study");
+        assertTrue(events.isOpen(id, 22 * 60 - 1));
+        assertFalse(events.isOpen(id, 22 * 60));
+        assertFalse(events.isOpen(id, 23 * 60));
+    }
+
+    @Test
+    public void testOpenAllDayByDefault() {
+        EventTable events = table("{\"name\": \"bench\"}");
+        assertTrue(events.isOpen(0, 0));
+        assertTrue(events.isOpen(0, 24 * 60 - 1));
+        assertFalse(events.isOpen(0, 24 * 60));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsMissingName() {
+        table("{\"prompt\": \"Who am I?\"}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsDuplicateNames() {
+        table(STUDY, STUDY);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsMaxHoursBelowMinHours() {
+        table("{\"name\": \"chat\", \"minHours\": 3, \"maxHours\": 1}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsZeroHours() {
+        table("{\"name\": \"chat\", \"hours\": 0}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsNegativeEnergyCost() {
+        table("{\"name\": \"spa\", \"energyCost\": -10}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsNeverOpen() {
+        table("{\"name\": \"bar\", \"earliestHour\": 20, \"latestHour\": 18}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsOptionsThatArentNumbers() {
+        table("{\"name\": \"study\", \"options\": [\"two\", \"three\"]}");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRejectsZeroHourOptions() {
+        table("{\"name\": \"study\", \"options\": [0, 2]}");
+    }
+
+    @Test
+    public void testGameEventsLoad() {
+        EventTable events = new EventTable(Gdx.files.internal(EventTable.EVENTS_PATH));
+        for (String name : new String[]{"comp_sci", "rch", "chat", "eat", "cook", "ducks", "basketball",
+                "chest", "accomodation", "tree", "teleport"}) {
+            assertNotEquals(name + " is missing", -1, events.getId(name));
+        }
+        int compSci = events.getId("comp_sci");
+        assertArrayEquals(new String[]{"2 Hours (40)", "3 Hours (60)", "4 Hours (80)"},
+                events.getOptionLabels(compSci));
+        assertFalse(events.isOpen(compSci, 8 * 60));
+        assertTrue(events.isOpen(compSci, 8 * 60 + 1));
+    }
+}
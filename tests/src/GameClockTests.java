@@ -0,0 +1,49 @@
+import com.skloch.game.GameClock;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameClockTests {
+    @Test
+    public void testListenersToldOncePerJump() {
+        GameClock clock = new GameClock(8 * 60);
+        List<int[]> jumps = new ArrayList<>();
+        clock.addListener((fromMinute, toMinute) -> jumps.add(new int[]{fromMinute, toMinute}));
+
+        // Sleeping for several days is still a single call
+        clock.advanceTo(5 * GameClock.MINUTES_PER_DAY);
+        assertEquals(1, jumps.size());
+        assertArrayEquals(new int[]{8 * 60, 5 * GameClock.MINUTES_PER_DAY}, jumps.get(0));
+    }
+
+    @Test
+    public void testClockNeverGoesBackwards() {
+        GameClock clock = new GameClock(100);
+        int[] calls = {0};
+        clock.addListener((fromMinute, toMinute) -> calls[0]++);
+        clock.advanceTo(100);
+        clock.advanceTo(50);
+        assertEquals(0, calls[0]);
+        assertEquals(100, clock.getMinute());
+    }
+
+    @Test
+    public void testListenersInOrder() {
+        GameClock clock = new GameClock(0);
+        StringBuilder order = new StringBuilder();
+        clock.addListener((fromMinute, toMinute) -> order.append("a"));
+        clock.addListener((fromMinute, toMinute) -> order.append("b"));
+        clock.advanceTo(1);
+        assertEquals("ab", order.toString());
+    }
+
+    @Test
+    public void testDaysCrossed() {
+        assertEquals(0, GameClock.getDaysCrossed(8 * 60, 23 * 60));
+        assertEquals(1, GameClock.getDaysCrossed(23 * 60, GameClock.MINUTES_PER_DAY));
+        assertEquals(3, GameClock.getDaysCrossed(GameClock.MINUTES_PER_DAY - 1, 3 * GameClock.MINUTES_PER_DAY + 1));
+    }
+}
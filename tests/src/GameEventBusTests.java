@@ -0,0 +1,104 @@
+import com.skloch.game.ActivityCompletedEvent;
+import com.skloch.game.GameEventBus;
+import com.skloch.game.SleptEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class GameEventBusTests {
+    private GameEventBus eventBus;
+
+    @Before
+    public void setUp() {
+        eventBus = new GameEventBus();
+    }
+
+    @Test
+    public void testSyncSubscriberRunsBeforePublishReturns() {
+        AtomicInteger energyLost = new AtomicInteger();
+        eventBus.subscribe(ActivityCompletedEvent.class, event -> energyLost.addAndGet(event.energyLost));
+
+        ActivityCompletedEvent event = eventBus.obtain(ActivityCompletedEvent.class);
+        event.energyLost = 40;
+        eventBus.publish(event);
+
+        assertEquals(40, energyLost.get());
+        eventBus.dispose();
+    }
+
+    @Test
+    public void testSubscribersOnlyReceiveTheirType() {
+        AtomicInteger slept = new AtomicInteger();
+        eventBus.subscribe(SleptEvent.class, event -> slept.incrementAndGet());
+
+        eventBus.publish(eventBus.obtain(ActivityCompletedEvent.class));
+        assertEquals(0, slept.get());
+        eventBus.publish(eventBus.obtain(SleptEvent.class));
+        assertEquals(1, slept.get());
+        eventBus.dispose();
+    }
+
+    @Test
+    public void testAsyncSubscriberRunsOnAnotherThread() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicReference<String> name = new AtomicReference<>();
+        eventBus.subscribe(ActivityCompletedEvent.class, event -> {
+            thread.set(Thread.currentThread());
+            name.set(event.name);
+            handled.countDown();
+        }, true);
+
+        ActivityCompletedEvent event = eventBus.obtain(ActivityCompletedEvent.class);
+        event.name = "comp_sci";
+        eventBus.publish(event);
+
+        assertTrue("Async subscriber was never run", handled.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertEquals("comp_sci", name.get());
+        eventBus.dispose();
+    }
+
+    @Test
+    public void testAsyncEventsArriveInOrder() throws InterruptedException {
+        int count = 1000;
+        CountDownLatch handled = new CountDownLatch(count);
+        AtomicInteger expected = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        eventBus.subscribe(ActivityCompletedEvent.class, event -> {
+            if (event.hours != expected.getAndIncrement()) {
+                outOfOrder.incrementAndGet();
+            }
+            handled.countDown();
+        }, true);
+
+        for (int i = 0; i < count; i++) {
+            ActivityCompletedEvent event = eventBus.obtain(ActivityCompletedEvent.class);
+            event.hours = i;
+            eventBus.publish(event);
+        }
+
+        assertTrue("Not every event was handled", handled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, outOfOrder.get());
+        eventBus.dispose();
+    }
+
+    @Test
+    public void testEventsAreReusedAndReset() {
+        ActivityCompletedEvent first = eventBus.obtain(ActivityCompletedEvent.class);
+        first.name = "eat";
+        first.hours = 1;
+        eventBus.publish(first);
+
+        ActivityCompletedEvent second = eventBus.obtain(ActivityCompletedEvent.class);
+        assertNull(second.name);
+        assertEquals(0, second.hours);
+        eventBus.dispose();
+    }
+}
@@ -0,0 +1,79 @@
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Array;
+import com.skloch.game.LineBreaker;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class LineBreakerTests {
+    private static final String FONT_PATH = "Interface/PixeloidMono edited(1).fnt";
+
+    private BitmapFont.BitmapFontData fontData;
+    private float charWidth;
+
+    @Before
+    public void setUp() {
+        fontData = new BitmapFont.BitmapFontData(Gdx.files.internal(FONT_PATH), false);
+        charWidth = fontData.getGlyph('a').xadvance;
+    }
+
+    @Test
+    public void testShortTextIsOnePage() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 20, 3);
+        Array<String> pages = breaker.getPages("Would you like to study?");
+        assertEquals(1, pages.size);
+        assertEquals("Would you like to\nstudy?", pages.get(0));
+    }
+
+    @Test
+    public void testLinesFitWidth() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 10, 3);
+        Array<String> pages = breaker.getPages("the quick brown fox jumps over the lazy dog again and again");
+        for (String page : pages) {
+            for (String line : page.split("\n")) {
+                assertTrue("Line too long: " + line, line.length() <= 10);
+            }
+        }
+        assertEquals(2, pages.size);
+    }
+
+    @Test
+    public void testLongWordIsSplit() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 4, 3);
+        assertEquals("abcd\nefgh\nij", breaker.getPages("abcdefghij").get(0));
+    }
+
+    @Test
+    public void testExistingBreaksAreKept() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 20, 2);
+        Array<String> pages = breaker.getPages("one\ntwo\nthree");
+        assertEquals(2, pages.size);
+        assertEquals("one\ntwo", pages.get(0));
+        assertEquals("three", pages.get(1));
+    }
+
+    @Test
+    public void testRepeatedTextIsCached() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 20, 3);
+        Array<String> first = breaker.getPages("Would you like to study?");
+        assertSame(first, breaker.getPages("Would you like to study?"));
+        assertEquals(1, breaker.getCachedCount());
+    }
+
+    @Test
+    public void testCacheDropsLeastRecentlyUsed() {
+        LineBreaker breaker = new LineBreaker(fontData, charWidth * 20, 3);
+        Array<String> kept = breaker.getPages("kept");
+        for (int i = 0; i < 100; i++) {
+            breaker.getPages("text " + i);
+            // Keep using the first text so it stays in the cache
+            breaker.getPages("kept");
+        }
+        assertSame(kept, breaker.getPages("kept"));
+        assertTrue(breaker.getCachedCount() < 100);
+    }
+}
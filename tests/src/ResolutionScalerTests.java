@@ -0,0 +1,129 @@
+import com.skloch.game.ResolutionScaler;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResolutionScalerTests {
+    private static final float BUDGET = 1 / 50f;
+
+    /**
+     * A frame time source that always returns the same time, which can be changed mid-test
+     */
+    private static class SimulatedFrameTimes implements ResolutionScaler.FrameTimeSource {
+        float frameTime;
+
+        @Override
+        public float getFrameTime() {
+            return frameTime;
+        }
+    }
+
+    private void runFrames(ResolutionScaler scaler, int frames) {
+        for (int i = 0; i < frames; i++) {
+            scaler.update();
+        }
+    }
+
+    @Test
+    public void startsAtFullScale() {
+        ResolutionScaler scaler = new ResolutionScaler(new SimulatedFrameTimes(), BUDGET);
+        assertEquals(ResolutionScaler.MAX_SCALE, scaler.getScale(), 0.0001f);
+    }
+
+    @Test
+    public void lowersScaleWhenOverBudget() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        frameTimes.frameTime = 1 / 20f;
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, BUDGET);
+
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        assertEquals("Scale was not lowered after a slow history",
+                ResolutionScaler.MAX_SCALE - ResolutionScaler.SCALE_STEP, scaler.getScale(), 0.0001f);
+
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE * 20);
+        assertEquals("Scale went below the minimum",
+                ResolutionScaler.MIN_SCALE, scaler.getScale(), 0.0001f);
+    }
+
+    @Test
+    public void raisesScaleOnlyAfterSustainedHeadroom() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        frameTimes.frameTime = 1 / 20f;
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, BUDGET);
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        float loweredScale = scaler.getScale();
+
+        frameTimes.frameTime = 1 / 120f;
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE * (ResolutionScaler.WINDOWS_BEFORE_RAISE - 1));
+        assertEquals("Scale was raised too early", loweredScale, scaler.getScale(), 0.0001f);
+
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        assertTrue("Scale was not raised after sustained headroom", scaler.getScale() > loweredScale);
+    }
+
+    @Test
+    public void recoversAtTheFrameRateCapAfterADrop() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, ResolutionScaler.budgetForFrameRate(60));
+        // One slow history, e.g. while the map loads
+        frameTimes.frameTime = 1 / 20f;
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        assertTrue("Scale was not lowered after a slow history", scaler.getScale() < ResolutionScaler.MAX_SCALE);
+
+        // Capped at 60 FPS, so frames never come in under 1/60 s however little there is to draw
+        frameTimes.frameTime = 1 / 60f;
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE * ResolutionScaler.WINDOWS_BEFORE_RAISE);
+        assertEquals("Scale did not recover at the frame rate cap",
+                ResolutionScaler.MAX_SCALE, scaler.getScale(), 0.0001f);
+    }
+
+    @Test
+    public void lowersScaleWhenFallingBehindTheFrameRateCap() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, ResolutionScaler.budgetForFrameRate(60));
+        frameTimes.frameTime = 1 / 40f;
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        assertTrue("Scale was not lowered at 40 FPS with a 60 FPS cap", scaler.getScale() < ResolutionScaler.MAX_SCALE);
+    }
+
+    @Test
+    public void holdsScaleBetweenThresholds() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        // Under budget, but not by enough to count as headroom
+        frameTimes.frameTime = BUDGET * 0.9f;
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, BUDGET);
+        runFrames(scaler, ResolutionScaler.HISTORY_SIZE * 10);
+        assertEquals("Scale changed inside the hysteresis band", 0, scaler.getScaleChanges());
+    }
+
+    @Test
+    public void doesNotOscillateOnAlternatingLoad() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, BUDGET);
+        // Alternate between a slow and a fast history
+        for (int i = 0; i < 20; i++) {
+            frameTimes.frameTime = (i % 2 == 0) ? 1 / 30f : 1 / 120f;
+            runFrames(scaler, ResolutionScaler.HISTORY_SIZE);
+        }
+        // Every slow history lowers the scale, but the fast ones never last long enough to raise it
+        assertEquals(ResolutionScaler.MIN_SCALE, scaler.getScale(), 0.0001f);
+    }
+
+    @Test
+    public void historyIsExposedOldestFirst() {
+        SimulatedFrameTimes frameTimes = new SimulatedFrameTimes();
+        ResolutionScaler scaler = new ResolutionScaler(frameTimes, BUDGET);
+        for (int i = 1; i <= 5; i++) {
+            scaler.addFrameTime(i / 1000f);
+        }
+
+        float[] history = new float[ResolutionScaler.HISTORY_SIZE];
+        int count = scaler.getFrameTimeHistory(history);
+        assertEquals(5, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals((i + 1) / 1000f, history[i], 0.00001f);
+        }
+        assertEquals(3 / 1000f, scaler.getAverageFrameTime(), 0.00001f);
+    }
+}
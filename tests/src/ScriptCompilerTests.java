@@ -0,0 +1,177 @@
+import com.skloch.game.EventScript;
+import com.skloch.game.ScriptCompiler;
+import com.skloch.game.ScriptContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScriptCompilerTests {
+    /**
+     * A pretend game for scripts to run against, records what the script did
+     */
+    private static class TestContext implements ScriptContext {
+        int energy = 100;
+        int minute = 12 * 60;
+        int hoursPassed;
+        int studyHours;
+        int recreationHours;
+        int randomCalls;
+        String text;
+        String[] options;
+        EventScript[] branches;
+        boolean exited;
+
+        @Override public int getEnergy() { return energy; }
+        @Override public int getHour() { return minute / 60; }
+        @Override public int getMinute() { return minute; }
+        @Override public int getDay() { return 1; }
+        @Override public String getMeal() { return "lunch"; }
+        @Override public int random(int min, int max) { randomCalls++; return max; }
+        @Override public void say(String text) { this.text = text; }
+        @Override public void changeEnergy(int amount) { energy += amount; }
+        @Override public void passHours(int hours) { hoursPassed += hours; minute += hours * 60; }
+        @Override public void addStudyHours(int hours) { studyHours += hours; }
+        @Override public void addRecreationHours(int hours) { recreationHours += hours; }
+        @Override public void exit() { exited = true; }
+
+        @Override
+        public void ask(String text, String[] options, EventScript[] branches) {
+            this.text = text;
+            this.options = options;
+            this.branches = branches;
+        }
+    }
+
+    // The same rules as studying in the computer science building, for 2 hours
+    private static final String STUDY_SCRIPT =
+            "if minute <= 8 * 60 { say \"It's too early in the morning to study, go to bed!\" }\n" +
+            "else if energy < 20 { say \"You are too tired to study right now!\" }\n" +
+            "else if energy < 2 * 20 { say \"You don't have the energy to study for this long!\" }\n" +
+            "else {\n" +
+            "    say \"You studied for \" + 2 + \" hours!\\nYou lost \" + 2 * 20 + \" energy\"\n" +
+            "    energy -= 2 * 20\n" +
+            "    study += 2\n" +
+            "    time += 2\n" +
+            "}";
+
+    private TestContext context;
+
+    @Before
+    public void setUp() {
+        context = new TestContext();
+    }
+
+    @Test
+    public void testSay() {
+        ScriptCompiler.compile("test", "say \"Hello\"").run(context);
+        assertEquals("Hello", context.text);
+    }
+
+    @Test
+    public void testStatChanges() {
+        ScriptCompiler.compile("test", "energy -= 30 study += 2 fun += 1 time += 3").run(context);
+        assertEquals(70, context.energy);
+        assertEquals(2, context.studyHours);
+        assertEquals(1, context.recreationHours);
+        assertEquals(3, context.hoursPassed);
+    }
+
+    @Test
+    public void testBranches() {
+        EventScript script = ScriptCompiler.compile("test",
+                "if energy >= 50 && hour < 18 { say \"Awake\" } else if energy > 10 { say \"Tired\" } else { say \"Asleep\" }");
+        script.run(context);
+        assertEquals("Awake", context.text);
+        context.energy = 20;
+        script.run(context);
+        assertEquals("Tired", context.text);
+        context.energy = 5;
+        script.run(context);
+        assertEquals("Asleep", context.text);
+    }
+
+    @Test
+    public void testAskRunsChosenBranch() {
+        ScriptCompiler.compile("test", "ask \"Eat \" + meal + \"?\" { \"Yes\": { energy -= 10 } \"No\": { exit } }")
+                .run(context);
+        assertEquals("Eat lunch?", context.text);
+        assertArrayEquals(new String[]{"Yes", "No"}, context.options);
+
+        context.branches[0].run(context);
+        assertEquals(90, context.energy);
+        context.branches[1].run(context);
+        assertTrue(context.exited);
+    }
+
+    @Test
+    public void testRandomIsNotFolded() {
+        EventScript script = ScriptCompiler.compile("test", "energy -= random(1, 5) * 2");
+        script.run(context);
+        script.run(context);
+        assertEquals(2, context.randomCalls);
+        assertEquals(80, context.energy);
+    }
+
+    @Test
+    public void testConstantsAreFolded() {
+        // Only worked out when compiling, so dividing by zero is caught straight away
+        try {
+            ScriptCompiler.compile("test", "if energy > 0 { say \"\" + (4 - 2 * 2) / (3 - 3) }");
+            fail("Division by zero was not caught when compiling");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Division by zero"));
+        }
+
+        // A constant false condition removes the branch, so random() is never called
+        ScriptCompiler.compile("test", "if 2 > 3 || 0 { energy -= random(1, 2) }").run(context);
+        assertEquals(0, context.randomCalls);
+        assertEquals(100, context.energy);
+    }
+
+    @Test
+    public void testErrorsGiveLine() {
+        try {
+            ScriptCompiler.compile("broken", "say \"Fine\"\nenergy *= 2");
+            fail("Bad script compiled");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("'broken'"));
+            assertTrue(e.getMessage().contains("line 2"));
+        }
+    }
+
+    @Test
+    public void testTypeErrors() {
+        try {
+            ScriptCompiler.compile("test", "energy -= meal");
+            fail("Subtracted a string");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Expected a number"));
+        }
+    }
+
+    @Test
+    public void testStudyScriptMatchesHandler() {
+        EventScript script = ScriptCompiler.compile("study", STUDY_SCRIPT);
+        script.run(context);
+        assertEquals("You studied for 2 hours!\nYou lost 40 energy", context.text);
+        assertEquals(60, context.energy);
+        assertEquals(2, context.studyHours);
+
+        // Opens just after 8am, like EventTable.isOpen
+        context.minute = 8 * 60;
+        script.run(context);
+        assertEquals("It's too early in the morning to study, go to bed!", context.text);
+        context.minute = 8 * 60 + 1;
+        context.energy = 100;
+        script.run(context);
+        assertEquals(60, context.energy);
+    }
+
+    @Test
+    public void testTimeVariables() {
+        context.minute = 14 * 60 + 30;
+        ScriptCompiler.compile("test", "say \"\" + hour + \":\" + minute % 60").run(context);
+        assertEquals("14:30", context.text);
+    }
+}
@@ -0,0 +1,43 @@
+import com.skloch.game.ScrollingTextView;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScrollingTextViewTests {
+    private static final float ROW_HEIGHT = 20;
+
+    @Test
+    public void testTopOfListShowsFirstRows() {
+        // 1000 rows, 200 pixels of them showing at the top
+        float height = 1000 * ROW_HEIGHT;
+        assertEquals(0, ScrollingTextView.getFirstVisibleRow(height, height, ROW_HEIGHT));
+        assertEquals(10, ScrollingTextView.getLastVisibleRow(height, height - 200, ROW_HEIGHT, 1000));
+    }
+
+    @Test
+    public void testScrolledListShowsOnlyRowsInView() {
+        float height = 1000 * ROW_HEIGHT;
+        float top = height - 500 * ROW_HEIGHT - 5;
+        int first = ScrollingTextView.getFirstVisibleRow(height, top, ROW_HEIGHT);
+        int last = ScrollingTextView.getLastVisibleRow(height, top - 200, ROW_HEIGHT, 1000);
+        assertEquals(500, first);
+        assertEquals(510, last);
+    }
+
+    @Test
+    public void testBottomOfListStopsAtLastRow() {
+        float height = 1000 * ROW_HEIGHT;
+        assertEquals(999, ScrollingTextView.getLastVisibleRow(height, -50, ROW_HEIGHT, 1000));
+    }
+
+    @Test
+    public void testVisibleRowCountDoesntDependOnLength() {
+        for (int rows = 100; rows <= 100000; rows *= 10) {
+            float height = rows * ROW_HEIGHT;
+            float top = height / 2;
+            int first = ScrollingTextView.getFirstVisibleRow(height, top, ROW_HEIGHT);
+            int last = ScrollingTextView.getLastVisibleRow(height, top - 350, ROW_HEIGHT, rows);
+            assertEquals(18, last - first + 1);
+        }
+    }
+}
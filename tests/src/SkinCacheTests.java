@@ -0,0 +1,355 @@
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.skloch.game.HustleGame;
+import com.skloch.game.SkinCache;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.*;
+
+@RunWith(GdxTestRunner.class)
+public class SkinCacheTests {
+    private static final String FONT_PATH = "Interface/PixeloidMono edited(1).fnt";
+
+    private SkinCache roundTrip(SkinCache cache) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        cache.write(new DataOutputStream(bytes));
+        return SkinCache.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testFontMetricsSurvive() throws IOException {
+        SkinCache cache = new SkinCache();
+        SkinCache.FontEntry font = new SkinCache.FontEntry();
+        font.name = "interaction";
+        font.file = FONT_PATH;
+        font.data = new BitmapFont.BitmapFontData(Gdx.files.internal(FONT_PATH), false);
+        font.data.getGlyph('A').setKerning('V', -2);
+        cache.fonts.add(font);
+
+        SkinCache.FontEntry read = roundTrip(cache).fonts.get(0);
+        assertEquals("interaction", read.name);
+        assertEquals(FONT_PATH, read.file);
+        assertArrayEquals(font.data.imagePaths, read.data.imagePaths);
+        assertEquals(font.data.lineHeight, read.data.lineHeight, 0);
+        assertEquals(font.data.capHeight, read.data.capHeight, 0);
+        assertEquals(font.data.down, read.data.down, 0);
+        assertEquals(font.data.spaceXadvance, read.data.spaceXadvance, 0);
+
+        for (char c = 'a'; c <= 'z'; c++) {
+            BitmapFont.Glyph expected = font.data.getGlyph(c);
+            BitmapFont.Glyph actual = read.data.getGlyph(c);
+            assertEquals(expected.srcX, actual.srcX);
+            assertEquals(expected.srcY, actual.srcY);
+            assertEquals(expected.width, actual.width);
+            assertEquals(expected.xadvance, actual.xadvance);
+            assertEquals(expected.yoffset, actual.yoffset);
+        }
+        assertEquals(-2, read.data.getGlyph('A').getKerning('V'));
+    }
+
+    @Test
+    public void testColorsAndStylesSurvive() throws IOException {
+        SkinCache cache = new SkinCache();
+        SkinCache.ColorEntry color = new SkinCache.ColorEntry();
+        color.name = "title_yellow";
+        color.color.set(0.99215686f, 0.85490197f, 0.050980393f, 1);
+        cache.colors.add(color);
+
+        SkinCache.StyleEntry style = new SkinCache.StyleEntry();
+        style.type = SkinCache.getStyleType(Label.LabelStyle.class.getName());
+        style.name = "title";
+        SkinCache.Field font = new SkinCache.Field();
+        font.name = "font";
+        font.kind = SkinCache.FONT;
+        font.ref = "Title_font";
+        style.fields.add(font);
+        SkinCache.Field fontColor = new SkinCache.Field();
+        fontColor.name = "fontColor";
+        fontColor.kind = SkinCache.COLOR;
+        fontColor.color.set(0.22f, 0.22f, 0.22f, 1);
+        style.fields.add(fontColor);
+        cache.styles.add(style);
+
+        SkinCache read = roundTrip(cache);
+        assertEquals("title_yellow", read.colors.get(0).name);
+        assertEquals(color.color, read.colors.get(0).color);
+
+        SkinCache.StyleEntry readStyle = read.styles.get(0);
+        assertEquals(Label.LabelStyle.class, SkinCache.STYLE_TYPES[readStyle.type]);
+        assertEquals("title", readStyle.name);
+        assertEquals(2, readStyle.fields.size);
+        assertEquals("Title_font", readStyle.fields.get(0).ref);
+        assertEquals(SkinCache.COLOR, readStyle.fields.get(1).kind);
+        assertEquals(new Color(0.22f, 0.22f, 0.22f, 1), readStyle.fields.get(1).color);
+    }
+
+    @Test
+    public void testEveryStyleTypeIsKnown() {
+        for (int i = 0; i < SkinCache.STYLE_TYPES.length; i++) {
+            assertEquals(i, SkinCache.getStyleType(SkinCache.STYLE_TYPES[i].getName()));
+        }
+        assertEquals(-1, SkinCache.getStyleType("com.example.MadeUpStyle"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherFiles() throws IOException {
+        SkinCache.read(new DataInputStream(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 0, 0, 0, 1})));
+    }
+
+    @Test
+    public void testCachePathReplacesExtension() {
+        assertEquals("Interface/BlockyInterface" + SkinCache.SUFFIX,
+                SkinCache.getCachePath("Interface/BlockyInterface.json"));
+    }
+
+    @Test
+    public void testSourcesSurvive() throws IOException {
+        SkinCache cache = new SkinCache();
+        cache.addSource(Gdx.files.internal(FONT_PATH));
+        SkinCache.FontEntry font = new SkinCache.FontEntry();
+        font.name = "interaction";
+        font.file = FONT_PATH;
+        font.inAtlas = false;
+        font.data = new BitmapFont.BitmapFontData(Gdx.files.internal(FONT_PATH), false);
+        cache.fonts.add(font);
+
+        SkinCache read = roundTrip(cache);
+        assertEquals(FONT_PATH, read.sources.get(0).path);
+        assertEquals(SkinCache.hash(Gdx.files.internal(FONT_PATH)), read.sources.get(0).hash);
+        assertFalse(read.fonts.get(0).inAtlas);
+        assertArrayEquals(font.data.imagePaths, read.getPagePaths().toArray(String.class));
+    }
+
+    @Test
+    public void testEverySourceIsRecorded() {
+        SkinCache cache = SkinCache.fromJson(Gdx.files.internal(HustleGame.PRIMARY_SKIN));
+        assertTrue(hasSource(cache, HustleGame.PRIMARY_SKIN));
+        assertTrue(hasSource(cache, "Interface/BlockyInterface.atlas"));
+        for (SkinCache.FontEntry font : cache.fonts) {
+            assertTrue(font.file, hasSource(cache, font.file));
+            // Every font is packed into the skin's atlas, so no pages are loaded separately
+            assertTrue(font.name, font.inAtlas);
+        }
+        assertEquals(0, cache.getPagePaths().size);
+    }
+
+    @Test
+    public void testStaleWhenAnySourceChanges() throws IOException {
+        FileHandle source = Gdx.files.local("skin_cache_test.fnt");
+        FileHandle cacheFile = Gdx.files.local("skin_cache_test" + SkinCache.SUFFIX);
+        try {
+            source.writeString("info face=test", false);
+            SkinCache cache = new SkinCache();
+            cache.addSource(source);
+            try (DataOutputStream out = new DataOutputStream(cacheFile.write(false))) {
+                cache.write(out);
+            }
+            // Sources are found the same way the game finds them
+            InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+            assertTrue(SkinCache.isFresh(cacheFile, resolver));
+
+            source.writeString("info face=changed", false);
+            assertFalse(SkinCache.isFresh(cacheFile, resolver));
+
+            source.delete();
+            assertFalse(SkinCache.isFresh(cacheFile, resolver));
+        } finally {
+            source.delete();
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void testPrimarySkinMatchesJson() throws Exception {
+        assertCacheMatchesJson(HustleGame.PRIMARY_SKIN);
+    }
+
+    @Test
+    public void testSecondarySkinMatchesJson() throws Exception {
+        assertCacheMatchesJson(HustleGame.SECONDARY_SKIN);
+    }
+
+    private static boolean hasSource(SkinCache cache, String path) {
+        for (SkinCache.SourceEntry source : cache.sources) {
+            if (source.path.equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Builds the skin from JSON and from a cache of it, then checks every color, font and style field is the same
+    private void assertCacheMatchesJson(String skinPath) throws Exception {
+        FileHandle skinFile = Gdx.files.internal(skinPath);
+        Skin fromJson = new Skin(skinFile);
+        SkinCache cache = roundTrip(SkinCache.fromJson(skinFile));
+        AssetManager pages = new AssetManager();
+        for (String page : cache.getPagePaths()) {
+            pages.load(page, Texture.class);
+        }
+        pages.finishLoading();
+        Skin fromCache = cache.build(new TextureAtlas(skinFile.sibling(skinFile.nameWithoutExtension() + ".atlas")), pages);
+
+        ObjectMap<String, Color> colors = fromJson.getAll(Color.class);
+        if (colors != null) {
+            for (ObjectMap.Entry<String, Color> entry : colors) {
+                assertEquals(entry.key, entry.value, fromCache.getColor(entry.key));
+            }
+        }
+        for (ObjectMap.Entry<String, BitmapFont> entry : fromJson.getAll(BitmapFont.class)) {
+            assertFontsMatch(entry.key, entry.value, fromCache.getFont(entry.key));
+        }
+
+        for (Class<?> type : SkinCache.STYLE_TYPES) {
+            assertStylesMatch(type, fromJson, fromCache);
+        }
+
+        fromJson.dispose();
+        fromCache.dispose();
+        pages.dispose();
+    }
+
+    private static <T> void assertStylesMatch(Class<T> type, Skin fromJson, Skin fromCache) throws IllegalAccessException {
+        ObjectMap<String, T> expected = fromJson.getAll(type);
+        ObjectMap<String, T> actual = fromCache.getAll(type);
+        if (expected == null) {
+            assertTrue(type.getName(), actual == null || actual.size == 0);
+            return;
+        }
+        assertEquals(type.getName(), expected.size, actual.size);
+        for (ObjectMap.Entry<String, T> entry : expected) {
+            T style = actual.get(entry.key);
+            assertNotNull(entry.key, style);
+            for (Field field : type.getFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String where = type.getSimpleName() + " " + entry.key + "." + field.getName();
+                assertValuesMatch(where, fromJson, field.get(entry.value), fromCache, field.get(style));
+            }
+        }
+    }
+
+    private static void assertValuesMatch(String where, Skin expectedSkin, Object expected, Skin actualSkin, Object actual) {
+        if (expected == null) {
+            assertNull(where, actual);
+            return;
+        }
+        assertNotNull(where, actual);
+        assertEquals(where, expected.getClass(), actual.getClass());
+        if (expected instanceof Drawable) {
+            assertDrawablesMatch(where, (Drawable) expected, (Drawable) actual);
+        } else if (expected instanceof Color || expected instanceof Number || expected instanceof Boolean) {
+            assertEquals(where, expected, actual);
+        } else {
+            // A font, or another style like a select box's list style, which must have the same name in both skins
+            assertEquals(where, expectedSkin.find(expected), actualSkin.find(actual));
+        }
+    }
+
+    private static void assertDrawablesMatch(String where, Drawable expected, Drawable actual) {
+        assertEquals(where, expected.getMinWidth(), actual.getMinWidth(), 0);
+        assertEquals(where, expected.getMinHeight(), actual.getMinHeight(), 0);
+        assertEquals(where, expected.getLeftWidth(), actual.getLeftWidth(), 0);
+        assertEquals(where, expected.getRightWidth(), actual.getRightWidth(), 0);
+        assertEquals(where, expected.getTopHeight(), actual.getTopHeight(), 0);
+        assertEquals(where, expected.getBottomHeight(), actual.getBottomHeight(), 0);
+        if (expected instanceof NinePatchDrawable) {
+            NinePatch expectedPatch = ((NinePatchDrawable) expected).getPatch();
+            NinePatch actualPatch = ((NinePatchDrawable) actual).getPatch();
+            assertEquals(where, expectedPatch.getColor(), actualPatch.getColor());
+            assertEquals(where, expectedPatch.getTotalWidth(), actualPatch.getTotalWidth(), 0);
+            assertEquals(where, expectedPatch.getTotalHeight(), actualPatch.getTotalHeight(), 0);
+            assertEquals(where, expectedPatch.getMiddleWidth(), actualPatch.getMiddleWidth(), 0);
+            assertEquals(where, expectedPatch.getMiddleHeight(), actualPatch.getMiddleHeight(), 0);
+            assertEquals(where, expectedPatch.getTexture().getWidth(), actualPatch.getTexture().getWidth());
+        } else if (expected instanceof SpriteDrawable) {
+            Sprite expectedSprite = ((SpriteDrawable) expected).getSprite();
+            Sprite actualSprite = ((SpriteDrawable) actual).getSprite();
+            assertEquals(where, expectedSprite.getColor(), actualSprite.getColor());
+            assertRegionsMatch(where, expectedSprite, actualSprite);
+        } else if (expected instanceof TextureRegionDrawable) {
+            assertRegionsMatch(where, ((TextureRegionDrawable) expected).getRegion(),
+                    ((TextureRegionDrawable) actual).getRegion());
+        }
+    }
+
+    private static void assertRegionsMatch(String where, TextureRegion expected, TextureRegion actual) {
+        assertEquals(where, expected.getRegionX(), actual.getRegionX());
+        assertEquals(where, expected.getRegionY(), actual.getRegionY());
+        assertEquals(where, expected.getRegionWidth(), actual.getRegionWidth());
+        assertEquals(where, expected.getRegionHeight(), actual.getRegionHeight());
+        assertEquals(where, expected.getTexture().getWidth(), actual.getTexture().getWidth());
+    }
+
+    private static void assertFontsMatch(String name, BitmapFont expected, BitmapFont actual) {
+        assertNotNull(name, actual);
+        BitmapFont.BitmapFontData expectedData = expected.getData();
+        BitmapFont.BitmapFontData actualData = actual.getData();
+        assertEquals(name, expectedData.fontFile.path(), actualData.fontFile.path());
+        assertArrayEquals(name, expectedData.imagePaths, actualData.imagePaths);
+        assertEquals(name, expectedData.markupEnabled, actualData.markupEnabled);
+        assertEquals(name, expectedData.flipped, actualData.flipped);
+        assertEquals(name, expectedData.lineHeight, actualData.lineHeight, 0);
+        assertEquals(name, expectedData.capHeight, actualData.capHeight, 0);
+        assertEquals(name, expectedData.ascent, actualData.ascent, 0);
+        assertEquals(name, expectedData.descent, actualData.descent, 0);
+        assertEquals(name, expectedData.down, actualData.down, 0);
+        assertEquals(name, expectedData.scaleX, actualData.scaleX, 0);
+        assertEquals(name, expectedData.scaleY, actualData.scaleY, 0);
+        assertEquals(name, expectedData.spaceXadvance, actualData.spaceXadvance, 0);
+        assertEquals(name, expectedData.xHeight, actualData.xHeight, 0);
+        assertEquals(name, expected.getRegions().size, actual.getRegions().size);
+        for (int i = 0; i < expected.getRegions().size; i++) {
+            assertRegionsMatch(name, expected.getRegions().get(i), actual.getRegions().get(i));
+        }
+
+        for (char c = 32; c < 127; c++) {
+            BitmapFont.Glyph expectedGlyph = expectedData.getGlyph(c);
+            BitmapFont.Glyph actualGlyph = actualData.getGlyph(c);
+            String where = name + " '" + c + "'";
+            if (expectedGlyph == null) {
+                assertNull(where, actualGlyph);
+                continue;
+            }
+            assertNotNull(where, actualGlyph);
+            assertEquals(where, expectedGlyph.srcX, actualGlyph.srcX);
+            assertEquals(where, expectedGlyph.srcY, actualGlyph.srcY);
+            assertEquals(where, expectedGlyph.width, actualGlyph.width);
+            assertEquals(where, expectedGlyph.height, actualGlyph.height);
+            assertEquals(where, expectedGlyph.xoffset, actualGlyph.xoffset);
+            assertEquals(where, expectedGlyph.yoffset, actualGlyph.yoffset);
+            assertEquals(where, expectedGlyph.xadvance, actualGlyph.xadvance);
+            assertEquals(where, expectedGlyph.u, actualGlyph.u, 0);
+            assertEquals(where, expectedGlyph.v, actualGlyph.v, 0);
+            for (char other = 32; other < 127; other++) {
+                assertEquals(where, expectedGlyph.getKerning(other), actualGlyph.getKerning(other));
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import com.skloch.game.Telemetry;
+import com.skloch.game.TelemetryReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class TelemetryTests {
+    private static final String[] EVENTS = {"study", "ducks"};
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("telemetry_test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testRecordsAreReadBack() throws IOException {
+        Telemetry telemetry = new Telemetry(directory, EVENTS, 64, 1024 * 1024, 4);
+        telemetry.start();
+        // Study at 9am twice, feed the ducks at 2pm on day 2
+        telemetry.record(Telemetry.EVENT, 0, 9 * 60, 3, 30);
+        telemetry.record(Telemetry.EVENT, 0, 9 * 60 + 1440, 2, 20);
+        telemetry.record(Telemetry.EVENT, 1, 14 * 60 + 1440, 1, 10);
+        telemetry.record(Telemetry.TIME_SKIP, -1, 23 * 60, 480, 0);
+        telemetry.record(Telemetry.GAME_OVER, -1, 7 * 1440, 4500, 8);
+        telemetry.stop();
+
+        TelemetryReader reader = new TelemetryReader();
+        reader.readDirectory(directory);
+        assertEquals(5, reader.getRecordCount());
+        assertEquals(2, reader.getEventHours("study")[9]);
+        assertEquals(1, reader.getEventHours("ducks")[14]);
+        assertEquals(5, reader.getHoursSpent("study"));
+        assertEquals(1, reader.getTimeSkips());
+        assertEquals(1, reader.getGamesFinished());
+    }
+
+    @Test
+    public void testRecordsWrapAroundBuffer() throws IOException {
+        Telemetry telemetry = new Telemetry(directory, EVENTS, 8, 1024 * 1024, 4);
+        // Drain by hand part way through so the later records wrap around the end of the buffer
+        for (int i = 0; i < 5; i++) {
+            telemetry.record(Telemetry.EVENT, 0, 60, 1, 0);
+        }
+        telemetry.drain();
+        for (int i = 0; i < 7; i++) {
+            telemetry.record(Telemetry.EVENT, 1, 120, 1, 0);
+        }
+        telemetry.stop();
+
+        TelemetryReader reader = new TelemetryReader();
+        reader.readDirectory(directory);
+        assertEquals(5, reader.getEventHours("study")[1]);
+        assertEquals(7, reader.getEventHours("ducks")[2]);
+        assertEquals(0, telemetry.getDropped());
+    }
+
+    @Test
+    public void testFullBufferDropsRecords() {
+        Telemetry telemetry = new Telemetry(directory, EVENTS, 8, 1024 * 1024, 4);
+        for (int i = 0; i < 10; i++) {
+            telemetry.record(Telemetry.EVENT, 0, 0, 1, 0);
+        }
+        assertEquals(2, telemetry.getDropped());
+        telemetry.stop();
+    }
+
+    @Test
+    public void testOldFilesAreDeleted() throws IOException {
+        // Each file only has room for one drain, so every drain starts a new file
+        Telemetry telemetry = new Telemetry(directory, EVENTS, 8, 1, 3);
+        for (int i = 0; i < 5; i++) {
+            telemetry.record(Telemetry.EVENT, 0, 0, 1, 0);
+            telemetry.drain();
+        }
+        telemetry.stop();
+
+        assertEquals(3, directory.listFiles().length);
+        TelemetryReader reader = new TelemetryReader();
+        reader.readDirectory(directory);
+        assertEquals(3, reader.getRecordCount());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        Telemetry telemetry = new Telemetry();
+        telemetry.start();
+        telemetry.record(Telemetry.EVENT, 0, 0, 1, 0);
+        telemetry.stop();
+        assertFalse(telemetry.isEnabled());
+    }
+}